@@ -0,0 +1,137 @@
+package com.shipment.app.fragments;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import android.os.Bundle;
+import android.os.SystemClock;
+import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.navigation.NavController;
+import androidx.navigation.Navigation;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import com.shipment.app.MainActivity;
+import com.shipment.app.R;
+import com.shipment.app.ShipmentApplication;
+import com.shipment.app.viewmodels.OrderDetailsViewModel;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Opens and closes order details repeatedly and checks that the screens and their view
+ * models are collected afterwards. A view model still registered with the repository, or a
+ * request callback outliving the screen, keeps every instance alive and fails the test.
+ */
+@RunWith(AndroidJUnit4.class)
+public class OrderDetailsLeakTest {
+    private static final int OPENINGS = 20;
+    // The last screen can still be referenced briefly by the framework
+    private static final int MAX_RETAINED = 1;
+    private static final long MAX_HEAP_GROWTH_BYTES = 4 * 1024 * 1024;
+    private static final long INIT_TIMEOUT_MS = 30_000;
+
+    @Test
+    public void closedOrderDetailsAreCollected() {
+        assumeTrue("App services did not initialize", awaitInitialization());
+
+        List<WeakReference<Object>> viewModels = new ArrayList<>();
+        List<WeakReference<Object>> fragments = new ArrayList<>();
+        try (ActivityScenario<MainActivity> scenario = ActivityScenario.launch(MainActivity.class)) {
+            // Warm up once so lazily created singletons do not count as growth
+            openAndClose(scenario, null, null);
+            long heapBefore = usedHeapAfterGc();
+
+            for (int i = 0; i < OPENINGS; i++) {
+                openAndClose(scenario, viewModels, fragments);
+            }
+
+            int retainedViewModels = countRetained(viewModels);
+            int retainedFragments = countRetained(fragments);
+            long heapGrowth = usedHeapAfterGc() - heapBefore;
+
+            assertTrue(retainedViewModels + " of " + OPENINGS + " OrderDetailsViewModels retained",
+                retainedViewModels <= MAX_RETAINED);
+            assertTrue(retainedFragments + " of " + OPENINGS + " OrderDetailsFragments retained",
+                retainedFragments <= MAX_RETAINED);
+            assertTrue("Heap grew by " + heapGrowth + " bytes over " + OPENINGS + " openings",
+                heapGrowth < MAX_HEAP_GROWTH_BYTES);
+        }
+    }
+
+    private static void openAndClose(ActivityScenario<MainActivity> scenario,
+                                     List<WeakReference<Object>> viewModels,
+                                     List<WeakReference<Object>> fragments) {
+        scenario.onActivity(activity -> {
+            Bundle args = new Bundle();
+            args.putString("orderId", "leak-test-order");
+            Navigation.findNavController(activity, R.id.nav_host_fragment)
+                .navigate(R.id.navigation_order_details, args);
+        });
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        scenario.onActivity(activity -> {
+            Fragment details = activity.getSupportFragmentManager()
+                .findFragmentById(R.id.nav_host_fragment)
+                .getChildFragmentManager()
+                .getPrimaryNavigationFragment();
+            assertTrue("Order details not shown", details instanceof OrderDetailsFragment);
+            if (viewModels != null) {
+                // Already created by the fragment, so any factory returns that instance
+                viewModels.add(new WeakReference<>(
+                    new ViewModelProvider(details).get(OrderDetailsViewModel.class)));
+                fragments.add(new WeakReference<>(details));
+            }
+            NavController navController = Navigation.findNavController(activity, R.id.nav_host_fragment);
+            navController.popBackStack();
+        });
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+    }
+
+    private static boolean awaitInitialization() {
+        long deadline = SystemClock.uptimeMillis() + INIT_TIMEOUT_MS;
+        while (SystemClock.uptimeMillis() < deadline) {
+            ShipmentApplication app = ShipmentApplication.getInstance();
+            if (app != null && app.isInitialized()) {
+                return true;
+            }
+            SystemClock.sleep(100);
+        }
+        return false;
+    }
+
+    private static int countRetained(List<WeakReference<Object>> references) {
+        int retained = 0;
+        for (int attempt = 0; attempt < 5; attempt++) {
+            collectGarbage();
+            retained = 0;
+            for (WeakReference<Object> reference : references) {
+                if (reference.get() != null) {
+                    retained++;
+                }
+            }
+            if (retained <= MAX_RETAINED) {
+                break;
+            }
+        }
+        return retained;
+    }
+
+    private static long usedHeapAfterGc() {
+        collectGarbage();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void collectGarbage() {
+        // Runs finalizers too, then lets reference queues drain before the next check
+        Runtime.getRuntime().gc();
+        System.runFinalization();
+        Runtime.getRuntime().gc();
+        SystemClock.sleep(200);
+    }
+}
@@ -0,0 +1,163 @@
+package com.shipment.app.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.os.Bundle;
+import android.os.Parcel;
+import android.util.Log;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.shipment.app.api.responses.VerificationResponse;
+import com.shipment.app.fragments.OrderDetailsFragmentArgs;
+import com.shipment.app.models.Order;
+import java.util.Locale;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Measures what large orders and verification results cost when parceled, which is what
+ * would land in a Bundle if a screen saved or passed them instead of an id. Sizes are
+ * logged under {@value #TAG} so they can be compared across model changes.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ParcelSizeTest {
+    private static final String TAG = "ParcelSizeTest";
+    private static final int ITEMS = 200;
+    private static final int TIMELINE_EVENTS = 100;
+    private static final String[] STATUSES = {"pending", "confirmed", "processing", "shipped", "delivered"};
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void largeOrderRoundTripsAndIsMeasured() {
+        Order order = gson.fromJson(largeOrderJson(), Order.class);
+
+        Bundle bundle = new Bundle();
+        bundle.putParcelable("order", order);
+        int size = SavedStateGuard.sizeOf(bundle);
+        Log.i(TAG, "Order with " + ITEMS + " items and " + TIMELINE_EVENTS + " timeline events: "
+            + size + " bytes (" + size / ITEMS + " per item)");
+
+        Order copy = unparcel(order);
+        assertEquals(order.getId(), copy.getId());
+        assertEquals(ITEMS, copy.getItems().size());
+        assertEquals(TIMELINE_EVENTS, copy.getTimeline().size());
+        // Far past what arguments may carry, which is why navigation passes only the id
+        assertTrue(size > SavedStateGuard.MAX_ARGUMENT_BYTES);
+    }
+
+    @Test
+    public void verificationResultIsMeasured() {
+        JsonObject data = new JsonObject();
+        data.addProperty("isAuthentic", true);
+        data.addProperty("verifiedAt", "2024-03-01T12:00:00.000Z");
+        data.addProperty("store", "store-1");
+        JsonObject product = product(0);
+        product.addProperty("manufacturer", "Corner Store Workshop");
+        product.addProperty("tokenId", "1042");
+        product.addProperty("price", 19.99);
+        data.add("product", product);
+        data.add("order", gson.fromJson(largeOrderJson(), JsonObject.class));
+        JsonObject result = new JsonObject();
+        result.add("verificationResult", data);
+        JsonObject body = new JsonObject();
+        body.addProperty("success", true);
+        body.add("data", result);
+
+        VerificationResponse.VerificationData verification =
+            gson.fromJson(body, VerificationResponse.class).getVerificationResult();
+
+        // VerificationData is not Parcelable; its order and product are what a screen would keep
+        Bundle bundle = new Bundle();
+        bundle.putParcelable("order", verification.getOrder());
+        bundle.putParcelable("product", verification.getProduct());
+        int size = SavedStateGuard.sizeOf(bundle);
+        Log.i(TAG, "Verification result with a " + ITEMS + "-item order: " + size + " bytes");
+
+        assertEquals(ITEMS, verification.getOrder().getItems().size());
+        assertTrue(size > SavedStateGuard.MAX_ARGUMENT_BYTES);
+    }
+
+    @Test
+    public void orderDetailsArgumentsStaySmall() {
+        Bundle args = new OrderDetailsFragmentArgs.Builder("0b6f3c2e-8d4a-4f1e-9c7b-2a5d8e1f4c3b")
+            .build()
+            .toBundle();
+        int size = SavedStateGuard.sizeOf(args);
+        Log.i(TAG, "Order details arguments: " + size + " bytes");
+
+        assertTrue(size < 1024);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Order unparcel(Order order) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeParcelable(order, 0);
+            parcel.setDataPosition(0);
+            return parcel.readParcelable(Order.class.getClassLoader());
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private String largeOrderJson() {
+        JsonArray items = new JsonArray();
+        for (int i = 0; i < ITEMS; i++) {
+            JsonObject item = new JsonObject();
+            item.addProperty("quantity", 1 + i % 4);
+            item.addProperty("unit_price", "19.99");
+            item.addProperty("total_price", "39.98");
+            JsonObject product = product(i);
+            JsonArray images = new JsonArray();
+            for (int image = 0; image < 3; image++) {
+                images.add("/uploads/products/" + product.get("id").getAsString() + "/" + image + ".webp");
+            }
+            product.add("images", images);
+            item.add("product", product);
+            items.add(item);
+        }
+
+        JsonArray timeline = new JsonArray();
+        for (int i = 0; i < TIMELINE_EVENTS; i++) {
+            JsonObject event = new JsonObject();
+            event.addProperty("status", STATUSES[i % STATUSES.length]);
+            event.addProperty("time", String.format(Locale.US, "2024-03-01T%02d:%02d:00.000Z", i / 60, i % 60));
+            timeline.add(event);
+        }
+
+        JsonObject store = new JsonObject();
+        store.addProperty("id", "store-1");
+        store.addProperty("name", "Corner Store");
+        JsonObject user = new JsonObject();
+        user.addProperty("id", "user-1");
+        user.addProperty("first_name", "Sam");
+        user.addProperty("last_name", "Rivera");
+        user.addProperty("email", "sam@example.com");
+
+        JsonObject order = new JsonObject();
+        order.addProperty("id", "0b6f3c2e-8d4a-4f1e-9c7b-2a5d8e1f4c3b");
+        order.addProperty("status", "shipped");
+        order.addProperty("version", 12);
+        order.addProperty("total_fiat_amount", "5997.00");
+        order.addProperty("created_at", "2024-03-01T00:00:00.000Z");
+        order.addProperty("updated_at", "2024-03-01T02:00:00.000Z");
+        order.add("items", items);
+        order.add("timeline", timeline);
+        order.add("merchantStore", store);
+        order.add("orderPlacer", user);
+        return order.toString();
+    }
+
+    private static JsonObject product(int index) {
+        JsonObject product = new JsonObject();
+        product.addProperty("id", String.format(Locale.US, "00000000-0000-4000-8000-%012d", index));
+        product.addProperty("name", "Product " + index);
+        product.addProperty("description", "Hand-finished item number " + index
+            + ", packed and shipped from the store's own workshop.");
+        return product;
+    }
+}
@@ -3,6 +3,7 @@ package com.shipment.app;
 import android.content.Intent;
 import android.os.Bundle;
 import android.view.View;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.lifecycle.ViewModelProvider;
@@ -11,22 +12,40 @@ import androidx.navigation.Navigation;
 import androidx.navigation.fragment.NavHostFragment;
 import androidx.navigation.ui.AppBarConfiguration;
 import androidx.navigation.ui.NavigationUI;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.MemoryCategory;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
+import com.shipment.app.adapters.RowViewPool;
+import com.shipment.app.metrics.FrameMonitor;
+import com.shipment.app.metrics.MetricsRegistry;
+import com.shipment.app.utils.SavedStateGuard;
 import com.shipment.app.viewmodels.AuthViewModel;
 
 public class MainActivity extends AppCompatActivity {
+    // Roughly one screen of each list's rows
+    private static final int PREWARM_ORDER_ROWS = 8;
+    private static final int PREWARM_SUMMARY_ROWS = 4;
+    private static final int PREWARM_TIMELINE_ROWS = 6;
+
     private NavController navController;
     private BottomNavigationView bottomNavigationView;
     private AppBarConfiguration appBarConfiguration;
     private androidx.appcompat.app.AlertDialog loadingDialog;
     private ShipmentApplication.InitializationCallback initCallback;
     private AuthViewModel authViewModel;
+    private RowViewPool rowViewPool;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
+        // Inflate list rows in the background while the app initializes
+        rowViewPool = new RowViewPool(this);
+        rowViewPool.prewarm(R.layout.item_order, PREWARM_ORDER_ROWS);
+        rowViewPool.prewarm(R.layout.item_order_summary, PREWARM_SUMMARY_ROWS);
+        rowViewPool.prewarm(R.layout.item_timeline, PREWARM_TIMELINE_ROWS);
+
         // Setup toolbar first to avoid ActionBar errors
         androidx.appcompat.widget.Toolbar toolbar = findViewById(R.id.toolbar);
         if (toolbar != null) {
@@ -45,6 +64,11 @@ public class MainActivity extends AppCompatActivity {
             return;
         }
 
+        // Frame timings do not depend on network services, so start before init completes
+        FrameMonitor.install(this, app.getFrameCollector());
+        getSupportFragmentManager().registerFragmentLifecycleCallbacks(
+            new SavedStateGuard(MetricsRegistry.getInstance()), true);
+
         showLoadingDialog();
         
         initCallback = new ShipmentApplication.InitializationCallback() {
@@ -71,6 +95,21 @@ public class MainActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * Row views and recycled holders shared by the list screens of this activity.
+     */
+    @NonNull
+    public RowViewPool getRowViewPool() {
+        return rowViewPool;
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        // Undo the reduced image cache set while the app was in the background
+        Glide.get(this).setMemoryCategory(MemoryCategory.NORMAL);
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
@@ -145,6 +184,10 @@ public class MainActivity extends AppCompatActivity {
             });
 
             android.util.Log.d("MainActivity", "UI setup completed successfully");
+            ShipmentApplication app = ShipmentApplication.getInstance();
+            if (app != null) {
+                app.reportFirstUiReady();
+            }
         } catch (Exception e) {
             android.util.Log.e("MainActivity", "Error setting up UI", e);
             handleInitializationError("Error setting up UI: " + e.getMessage());
@@ -5,23 +5,28 @@ import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import androidx.multidex.MultiDexApplication;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.MemoryCategory;
 import com.shipment.app.api.ApiService;
+import com.shipment.app.di.AppContainer;
+import com.shipment.app.metrics.DeviceClass;
+import com.shipment.app.metrics.FrameCollector;
+import com.shipment.app.metrics.MetricsRegistry;
+import com.shipment.app.metrics.MetricsUploader;
+import com.shipment.app.metrics.RegistryFrameCollector;
+import com.shipment.app.metrics.Timer;
 import com.shipment.app.repositories.AuthRepository;
 import com.shipment.app.repositories.OrderRepository;
 import com.shipment.app.services.WebSocketService;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import okhttp3.Request;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class ShipmentApplication extends MultiDexApplication {
     private static final int MAX_INIT_RETRIES = 3;
@@ -30,10 +35,11 @@ public class ShipmentApplication extends MultiDexApplication {
     @SuppressWarnings("StaticFieldLeak")
     private static volatile ShipmentApplication instance;
     private ConnectivityManager connectivityManager;
-    private AuthRepository authRepository;
-    private OrderRepository orderRepository;
-    private ApiService apiService;
-    private WebSocketService webSocketService;
+    private AppContainer container;
+    private MetricsUploader metricsUploader;
+    private final MetricsRegistry metricsRegistry = MetricsRegistry.getInstance();
+    private final AtomicBoolean firstUiReported = new AtomicBoolean(false);
+    private FrameCollector frameCollector = new RegistryFrameCollector(metricsRegistry);
     private final AtomicBoolean isInitialized = new AtomicBoolean(false);
     private final AtomicBoolean isInitializing = new AtomicBoolean(false);
     private int initRetryCount = 0;
@@ -49,6 +55,8 @@ public class ShipmentApplication extends MultiDexApplication {
     public void onCreate() {
         super.onCreate();
         instance = this;
+        metricsRegistry.timer("startup.process_to_app_create")
+            .recordMillis(SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime());
         startInitialization();
     }
 
@@ -95,127 +103,25 @@ public class ShipmentApplication extends MultiDexApplication {
     }
 
     private boolean initializeServices() {
+        Timer initTimer = metricsRegistry.timer("startup.init_services");
+        long initStart = initTimer.start();
         try {
             connectivityManager = (ConnectivityManager) getSystemService(Context.CONNECTIVITY_SERVICE);
             if (connectivityManager == null) {
                 return false;
             }
 
-            // Initialize network components with auth token interceptor
-            OkHttpClient client = new OkHttpClient.Builder()
-                .addInterceptor(new HttpLoggingInterceptor().setLevel(HttpLoggingInterceptor.Level.BODY))
-                // Add auth token interceptor that handles initialization timing
-                .addInterceptor(chain -> {
-                    Request original = chain.request();
-                    Request.Builder builder = original.newBuilder();
-                    
-                    // Get token at request time, not initialization time
-                    try {
-                        if (authRepository != null) {
-                            String token = authRepository.getAuthToken();
-                            if (token != null && !token.isEmpty()) {
-                                builder.header("Authorization", "Bearer " + token);
-                                builder.header("Accept", "application/json");
-                                android.util.Log.d("ShipmentApplication", "Adding auth token to request: " + original.url());
-                                android.util.Log.d("ShipmentApplication", "Request headers: " + original.headers());
-                            }
-                        }
-                    } catch (Exception e) {
-                        // Log but don't fail the request if we can't get the token
-                        android.util.Log.w("ShipmentApplication", "Could not get auth token for request: " + original.url(), e);
-                    }
-                    
-                    Request request = builder
-                        .method(original.method(), original.body())
-                        .header("Cookie", "") // Enable cookie handling
-                        .build();
-                    android.util.Log.d("ShipmentApplication", "Final request headers: " + request.headers());
-                    
-                    return chain.proceed(request);
-                })
-                // Add network check interceptor
-                .addInterceptor(chain -> {
-                    if (!isNetworkAvailable()) {
-                        throw new IOException("No internet connection");
-                    }
-                    Request request = chain.request();
-                    int retryCount = 0;
-                    int maxRetries = 3;
-                    long retryDelay = 1000; // Start with 1 second delay
-                    IOException lastException;
-                    
-                    do {
-                        try {
-                            return chain.proceed(request);
-                        } catch (IOException e) {
-                            lastException = e;
-                            if (retryCount == maxRetries) throw e;
-                            
-                            retryCount++;
-                            android.util.Log.w("ShipmentApplication", 
-                                "Retry attempt " + retryCount + " for request: " + request.url());
-                            
-                            // Exponential backoff
-                            try {
-                                Thread.sleep(retryDelay);
-                                retryDelay *= 2; // Double the delay for next retry
-                            } catch (InterruptedException ie) {
-                                Thread.currentThread().interrupt();
-                                throw e;
-                            }
-                        }
-                    } while (retryCount < maxRetries);
-                    
-                    throw lastException;
-                })
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
-                .retryOnConnectionFailure(true)
-                .followRedirects(true)
-                .followSslRedirects(true)
-                .cookieJar(new okhttp3.CookieJar() {
-                    private final java.util.concurrent.ConcurrentHashMap<String, java.util.List<okhttp3.Cookie>> cookieStore = new java.util.concurrent.ConcurrentHashMap<>();
-
-                    @Override
-                    public void saveFromResponse(@NonNull okhttp3.HttpUrl url, @NonNull java.util.List<okhttp3.Cookie> cookies) {
-                        cookieStore.put(url.host(), cookies);
-                    }
-
-                    @Override
-                    public java.util.List<okhttp3.Cookie> loadForRequest(@NonNull okhttp3.HttpUrl url) {
-                        java.util.List<okhttp3.Cookie> cookies = cookieStore.get(url.host());
-                        return cookies != null ? cookies : new java.util.ArrayList<>();
-                    }
-                })
-                .build();
-
-            apiService = new Retrofit.Builder()
-                .baseUrl(getBaseUrl())
-                .client(client)
-                .addConverterFactory(GsonConverterFactory.create())
-                .build()
-                .create(ApiService.class);
-
-            // Initialize WebSocket service first
-            webSocketService = WebSocketService.getInstance(getBaseUrl());
-
-            // Initialize repositories with proper sequence and context
-            authRepository = new AuthRepository(this, apiService);
-            orderRepository = new OrderRepository(apiService);
-
-            // Listen for auth changes to manage WebSocket connection
-            authRepository.addAuthStateListener(new AuthRepository.AuthStateListener() {
-                @Override
-                public void onAuthStateChanged(boolean isAuthenticated, String token) {
-                    if (isAuthenticated && token != null) {
-                        webSocketService.connect(token);
-                    } else {
-                        webSocketService.disconnect();
-                    }
-                }
-            });
+            if (container == null) {
+                container = new AppContainer(this, metricsRegistry);
+            }
+
+            if (metricsUploader == null) {
+                metricsUploader = new MetricsUploader(container.getApiService(), metricsRegistry,
+                    DeviceClass.detect(this));
+                metricsUploader.start();
+            }
 
+            initTimer.stop(initStart);
             return true;
         } catch (Exception e) {
             android.util.Log.e("ShipmentApplication", "Failed to initialize services", e);
@@ -223,28 +129,67 @@ public class ShipmentApplication extends MultiDexApplication {
         }
     }
 
+    /**
+     * Records time from process start to the first usable screen. Only the first call
+     * per process counts, so activity recreation does not skew the startup histogram.
+     */
+    public void reportFirstUiReady() {
+        if (firstUiReported.compareAndSet(false, true)) {
+            metricsRegistry.timer("startup.process_to_first_ui")
+                .recordMillis(SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime());
+        }
+    }
+
     @NonNull
-    public AuthRepository getAuthRepository() {
-        if (!isInitialized()) {
-            throw new IllegalStateException("Application not initialized");
+    public FrameCollector getFrameCollector() {
+        return frameCollector;
+    }
+
+    /**
+     * Replaces the frame collector for activities created afterwards, e.g. with an
+     * {@link com.shipment.app.metrics.InMemoryFrameCollector} in tests.
+     */
+    @VisibleForTesting
+    public void setFrameCollector(@NonNull FrameCollector frameCollector) {
+        this.frameCollector = frameCollector;
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // The UI just went to the background, a good moment to ship pending metrics
+        if (level == TRIM_MEMORY_UI_HIDDEN && metricsUploader != null) {
+            metricsUploader.flushNow();
+        }
+        // Glide trims its own caches on these callbacks. While no UI is visible, also keep
+        // them at half size so the process is cheaper to keep around; MainActivity
+        // restores the category when it starts again.
+        if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            Glide.get(this).setMemoryCategory(MemoryCategory.LOW);
         }
-        return authRepository;
     }
 
     @NonNull
-    public OrderRepository getOrderRepository() {
+    public AppContainer getContainer() {
         if (!isInitialized()) {
             throw new IllegalStateException("Application not initialized");
         }
-        return orderRepository;
+        return container;
+    }
+
+    @NonNull
+    public AuthRepository getAuthRepository() {
+        return getContainer().getAuthRepository();
+    }
+
+    @NonNull
+    public OrderRepository getOrderRepository() {
+        return getContainer().getOrderRepository();
     }
 
     @NonNull
     public ApiService getApiService() {
-        if (!isInitialized()) {
-            throw new IllegalStateException("Application not initialized");
-        }
-        return apiService;
+        return getContainer().getApiService();
     }
 
     public void registerInitCallback(InitializationCallback callback) {
@@ -319,7 +264,8 @@ public class ShipmentApplication extends MultiDexApplication {
 
     @NonNull
     public String getBaseUrl() {
-        return BuildConfig.DEBUG ? "http://192.168.0.4:3001" : "https://shipment.app";
+        // Host, port and scheme come from the build type's properties
+        return ApiService.getBaseUrl();
     }
 
     @NonNull
@@ -330,10 +276,7 @@ public class ShipmentApplication extends MultiDexApplication {
 
     @NonNull
     public WebSocketService getWebSocketService() {
-        if (!isInitialized()) {
-            throw new IllegalStateException("Application not initialized");
-        }
-        return webSocketService;
+        return getContainer().getWebSocketService();
     }
 
     @Override
@@ -343,15 +286,16 @@ public class ShipmentApplication extends MultiDexApplication {
         synchronized (initCallbacks) {
             initCallbacks.clear();
         }
-        if (webSocketService != null) {
-            webSocketService.disconnect();
+        if (container != null) {
+            container.getWebSocketService().disconnect();
+        }
+        if (metricsUploader != null) {
+            metricsUploader.shutdown();
+            metricsUploader = null;
         }
         instance = null;
         connectivityManager = null;
-        authRepository = null;
-        orderRepository = null;
-        apiService = null;
-        webSocketService = null;
+        container = null;
         isInitialized.set(false);
         isInitializing.set(false);
     }
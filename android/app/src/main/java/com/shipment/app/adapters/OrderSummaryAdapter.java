@@ -1,23 +1,38 @@
 package com.shipment.app.adapters;
 
-import android.view.LayoutInflater;
+import android.content.Context;
+import android.graphics.drawable.Drawable;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
 import com.shipment.app.R;
+import com.shipment.app.glide.ProductImage;
 import com.shipment.app.models.OrderSummaryItem;
-import java.math.BigDecimal;
-import java.text.NumberFormat;
-import java.util.Locale;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
-public class OrderSummaryAdapter extends ListAdapter<OrderSummaryItem, OrderSummaryAdapter.ViewHolder> {
+/**
+ * Product lines of an order. Images load at a fixed size, the size of the image view,
+ * and the adapter is also the model provider for a {@code RecyclerViewPreloader}. The
+ * preloader issues the same requests as {@link ViewHolder#bind} for rows about to scroll
+ * in, so those rows find their images in the memory cache.
+ */
+public class OrderSummaryAdapter extends ListAdapter<OrderSummaryItem, OrderSummaryAdapter.ViewHolder>
+        implements ListPreloader.PreloadModelProvider<ProductImage> {
+    // Small enough to map to the smallest server variant, which arrives almost at once
+    private static final int THUMBNAIL_SIZE_PX = 96;
+
     private static final DiffUtil.ItemCallback<OrderSummaryItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<OrderSummaryItem>() {
         @Override
         public boolean areItemsTheSame(@NonNull OrderSummaryItem oldItem, @NonNull OrderSummaryItem newItem) {
@@ -34,22 +49,83 @@ public class OrderSummaryAdapter extends ListAdapter<OrderSummaryItem, OrderSumm
         }
     };
 
-    public OrderSummaryAdapter() {
+    private final RequestManager glide;
+    private final int imageSizePx;
+    private final RowViewPool rowViewPool;
+
+    /**
+     * @param imageSizePx width and height of the product image view, which every image
+     *                    request and the preloader's size provider use
+     */
+    public OrderSummaryAdapter(@NonNull RequestManager glide, int imageSizePx,
+                               @NonNull RowViewPool rowViewPool) {
         super(DIFF_CALLBACK);
+        this.glide = glide;
+        this.imageSizePx = imageSizePx;
+        this.rowViewPool = rowViewPool;
+    }
+
+    /**
+     * Fetches the thumbnail variant a row would show first, so it is cached before the
+     * details screen opens.
+     */
+    public static void preloadImage(@NonNull Context context, @NonNull String imageUrl) {
+        thumbnailRequest(Glide.with(context), new ProductImage(imageUrl)).preload();
+    }
+
+    @NonNull
+    private static RequestBuilder<Drawable> thumbnailRequest(@NonNull RequestManager glide,
+                                                             @NonNull ProductImage image) {
+        return glide.load(image).override(THUMBNAIL_SIZE_PX).centerCrop();
+    }
+
+    /**
+     * The request for a row's image. Size and transformation are set explicitly rather
+     * than taken from the view, so preloaded requests produce the same cache key.
+     */
+    @NonNull
+    private RequestBuilder<Drawable> imageRequest(@NonNull ProductImage image) {
+        return glide.load(image)
+            .override(imageSizePx)
+            .centerCrop()
+            .thumbnail(thumbnailRequest(glide, image))
+            .placeholder(R.drawable.placeholder_product)
+            .error(R.drawable.error_product);
+    }
+
+    @NonNull
+    @Override
+    public List<ProductImage> getPreloadItems(int position) {
+        if (position >= getItemCount()) {
+            return Collections.emptyList();
+        }
+        String imageUrl = getItem(position).getImageUrl();
+        return imageUrl != null
+            ? Collections.singletonList(new ProductImage(imageUrl))
+            : Collections.emptyList();
+    }
+
+    @Nullable
+    @Override
+    public RequestBuilder<?> getPreloadRequestBuilder(@NonNull ProductImage image) {
+        return imageRequest(image);
     }
 
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = LayoutInflater.from(parent.getContext())
-            .inflate(R.layout.item_order_summary, parent, false);
-        return new ViewHolder(view);
+        return new ViewHolder(rowViewPool.obtain(R.layout.item_order_summary, parent));
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return R.layout.item_order_summary;
     }
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
         OrderSummaryItem item = getItem(position);
-        holder.bind(item);
+        holder.bind(item, this);
     }
 
     static class ViewHolder extends RecyclerView.ViewHolder {
@@ -57,7 +133,6 @@ public class OrderSummaryAdapter extends ListAdapter<OrderSummaryItem, OrderSumm
         private final TextView productName;
         private final TextView productPrice;
         private final TextView totalPrice;
-        private final NumberFormat currencyFormatter;
 
         ViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -65,29 +140,22 @@ public class OrderSummaryAdapter extends ListAdapter<OrderSummaryItem, OrderSumm
             productName = itemView.findViewById(R.id.product_name);
             productPrice = itemView.findViewById(R.id.product_price);
             totalPrice = itemView.findViewById(R.id.total_price);
-            currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
         }
 
-        void bind(OrderSummaryItem item) {
+        // Takes the adapter per bind, since pooled holders may come from another screen
+        void bind(OrderSummaryItem item, OrderSummaryAdapter adapter) {
             productName.setText(item.getName());
-            
-            // Format price with quantity
-            String priceWithQuantity = String.format("%s × %d",
-                currencyFormatter.format(item.getPrice()),
-                item.getQuantity());
-            productPrice.setText(priceWithQuantity);
-
-            // Format total price with prefix
-            String total = String.format("Total: %s",
-                currencyFormatter.format(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()))));
-            totalPrice.setText(total);
-
-            // Load product image
-            Glide.with(itemView.getContext())
-                .load(item.getImageUrl())
-                .placeholder(R.drawable.placeholder_product)
-                .error(R.drawable.error_product)
-                .into(productImage);
+            productPrice.setText(item.getFormattedPrice());
+            totalPrice.setText(item.getFormattedTotal());
+
+            // Load product image, showing a low-resolution variant until the sized one arrives
+            String imageUrl = item.getImageUrl();
+            if (imageUrl == null) {
+                adapter.glide.clear(productImage);
+                productImage.setImageResource(R.drawable.error_product);
+                return;
+            }
+            adapter.imageRequest(new ProductImage(imageUrl)).into(productImage);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,55 +1,108 @@
 package com.shipment.app.adapters;
 
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
-import java.math.BigDecimal;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
+import com.google.android.material.card.MaterialCardView;
 import com.shipment.app.R;
+import com.shipment.app.metrics.MetricsRegistry;
+import com.shipment.app.metrics.Timer;
 import com.shipment.app.models.Order;
-import com.shipment.app.models.OrderItem;
-import java.text.NumberFormat;
-import java.text.SimpleDateFormat;
+import com.shipment.app.models.OrderRow;
+import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
 
-public class OrdersAdapter extends ListAdapter<Order, OrdersAdapter.OrderViewHolder> {
+public class OrdersAdapter extends ListAdapter<OrderRow, OrdersAdapter.OrderViewHolder> {
     private final OnOrderClickListener listener;
-    private final SimpleDateFormat displayFormat;
-    private final SimpleDateFormat parseFormat;
-    private final NumberFormat currencyFormatter;
+    // Rebinds only the checked state when the selection changes
+    private static final Object PAYLOAD_SELECTION = new Object();
 
-    public OrdersAdapter(OnOrderClickListener listener) {
+    private final RowViewPool rowViewPool;
+    private final Timer bindTimer = MetricsRegistry.getInstance().timer("orders.bind");
+    private Set<String> selectedIds = Collections.emptySet();
+
+    public OrdersAdapter(OnOrderClickListener listener, @NonNull RowViewPool rowViewPool) {
         super(new OrderDiffCallback());
         this.listener = listener;
-        this.displayFormat = new SimpleDateFormat("MMMM dd, yyyy", Locale.getDefault());
-        this.parseFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
-        this.currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
+        this.rowViewPool = rowViewPool;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return R.layout.item_order;
     }
 
     @NonNull
     @Override
     public OrderViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.item_order, parent, false);
-        return new OrderViewHolder(view);
+        return new OrderViewHolder(rowViewPool.obtain(R.layout.item_order, parent));
     }
 
     @Override
     public void onBindViewHolder(@NonNull OrderViewHolder holder, int position) {
-        holder.bind(getItem(position));
+        long start = bindTimer.start();
+        OrderRow row = getItem(position);
+        holder.adapter = this;
+        holder.bind(row);
+        holder.bindSelection(selectedIds.contains(row.getId()));
+        bindTimer.stop(start);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull OrderViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        if (payloads.size() == 1 && payloads.get(0) == PAYLOAD_SELECTION) {
+            holder.adapter = this;
+            holder.bindSelection(selectedIds.contains(getItem(position).getId()));
+        } else {
+            onBindViewHolder(holder, position);
+        }
+    }
+
+    /**
+     * The pool outlives this adapter's screen, so a pooled holder must not keep it.
+     */
+    @Override
+    public void onViewRecycled(@NonNull OrderViewHolder holder) {
+        holder.adapter = null;
     }
 
-    class OrderViewHolder extends RecyclerView.ViewHolder {
+    /**
+     * Updates which rows are shown as checked, rebinding only rows whose state changed.
+     */
+    public void setSelectedIds(@NonNull Set<String> selectedIds) {
+        Set<String> previous = this.selectedIds;
+        this.selectedIds = selectedIds;
+        for (int position = 0; position < getItemCount(); position++) {
+            String id = getItem(position).getId();
+            if (previous.contains(id) != selectedIds.contains(id)) {
+                notifyItemChanged(position, PAYLOAD_SELECTION);
+            }
+        }
+    }
+
+    public boolean isSelecting() {
+        return !selectedIds.isEmpty();
+    }
+
+    /**
+     * Static, with the adapter set on every bind and cleared on recycle: a holder from the
+     * shared pool may have been created by another screen's adapter.
+     */
+    static class OrderViewHolder extends RecyclerView.ViewHolder {
+        private OrdersAdapter adapter;
         private final TextView orderNumber;
         private final TextView orderDate;
         private final TextView orderTotal;
         private final TextView itemsCount;
         private final TextView orderStatus;
+        private final MaterialCardView card;
 
         OrderViewHolder(@NonNull View itemView) {
             super(itemView);
@@ -58,154 +111,61 @@ public class OrdersAdapter extends ListAdapter<Order, OrdersAdapter.OrderViewHol
             orderTotal = itemView.findViewById(R.id.order_total);
             itemsCount = itemView.findViewById(R.id.items_count);
             orderStatus = itemView.findViewById(R.id.order_status);
+            card = (MaterialCardView) itemView;
 
             itemView.setOnClickListener(v -> {
                 int position = getAdapterPosition();
-                if (position != RecyclerView.NO_POSITION) {
-                    listener.onOrderClick(getItem(position));
+                if (adapter != null && position != RecyclerView.NO_POSITION) {
+                    adapter.listener.onOrderClick(adapter.getItem(position).getOrder());
                 }
             });
+            itemView.setOnLongClickListener(v -> {
+                int position = getAdapterPosition();
+                return adapter != null && position != RecyclerView.NO_POSITION
+                    && adapter.listener.onOrderLongClick(adapter.getItem(position).getOrder());
+            });
         }
 
-        void bind(Order order) {
-            // Display first item and additional items count if any
-            List<OrderItem> items = order.getItems();
-            if (!items.isEmpty()) {
-                OrderItem firstItem = items.get(0);
-                if (items.size() == 1) {
-                    orderNumber.setText(itemView.getContext().getString(
-                        R.string.order_items_format,
-                        firstItem.getProduct().getName()
-                    ));
-                } else {
-                    orderNumber.setText(itemView.getContext().getString(
-                        R.string.order_items_with_more_format,
-                        firstItem.getProduct().getName(),
-                        items.size() - 1
-                    ));
-                }
-            } else {
-                orderNumber.setText(""); // Empty state
-            }
-
-            try {
-                String dateStr = order.getCreatedAt();
-                java.util.Date date = parseFormat.parse(dateStr);
-                orderDate.setText(displayFormat.format(date));
-            } catch (Exception e) {
-                // If date parsing fails, display the raw date string
-                orderDate.setText(order.getCreatedAt());
-            }
-            try {
-                BigDecimal amount = new BigDecimal(order.getTotalFiatAmount());
-                orderTotal.setText(currencyFormatter.format(amount));
-            } catch (NumberFormatException e) {
-                // If amount parsing fails, display raw amount
-                orderTotal.setText(order.getTotalFiatAmount());
-            }
-            itemsCount.setText(itemView.getContext().getString(R.string.items_count, order.getItems().size()));
-
-            // Set status with icon and background
-            orderStatus.setText(getStatusString(order.getStatus()));
-            orderStatus.setBackgroundResource(getStatusBackgroundResource(order.getStatus()));
-            orderStatus.setCompoundDrawablesWithIntrinsicBounds(
-                getStatusIconResource(order.getStatus()), 0, 0, 0);
-        }
-
-        private int getStatusBackgroundResource(String status) {
-            switch (status.toLowerCase()) {
-                case "pending":
-                    return R.drawable.status_pending;
-                case "confirmed":
-                    return R.drawable.status_confirmed;
-                case "processing":
-                    return R.drawable.status_processing;
-                case "packed":
-                    return R.drawable.status_packed;
-                case "shipped":
-                    return R.drawable.status_shipped;
-                case "delivered":
-                    return R.drawable.status_delivered;
-                case "cancelled":
-                    return R.drawable.status_cancelled;
-                case "refunded":
-                    return R.drawable.status_cancelled;
-                default:
-                    return R.drawable.status_pending;
-            }
+        void bindSelection(boolean selected) {
+            card.setChecked(selected);
         }
 
-        private int getStatusIconResource(String status) {
-            switch (status.toLowerCase()) {
-                case "pending":
-                    return R.drawable.ic_pending;
-                case "confirmed":
-                    return R.drawable.ic_confirmed;
-                case "processing":
-                    return R.drawable.ic_processing;
-                case "packed":
-                    return R.drawable.ic_packed;
-                case "shipped":
-                    return R.drawable.ic_shipped;
-                case "delivered":
-                    return R.drawable.ic_delivered;
-                case "cancelled":
-                    return R.drawable.ic_cancelled;
-                case "refunded":
-                    return R.drawable.ic_cancelled;
-                default:
-                    return R.drawable.ic_pending;
-            }
-        }
+        void bind(OrderRow row) {
+            // Everything is pre-formatted by OrderRowMapper off the main thread
+            orderNumber.setText(row.getTitle());
+            orderDate.setText(row.getFormattedDate());
+            orderTotal.setText(row.getFormattedTotal());
+            itemsCount.setText(row.getItemsCountText());
 
-        private String getStatusString(String status) {
-            switch (status.toLowerCase()) {
-                case "pending":
-                    return itemView.getContext().getString(R.string.status_pending);
-                case "confirmed":
-                    return itemView.getContext().getString(R.string.status_confirmed);
-                case "processing":
-                    return itemView.getContext().getString(R.string.status_processing);
-                case "packed":
-                    return itemView.getContext().getString(R.string.status_packed);
-                case "shipped":
-                    return itemView.getContext().getString(R.string.status_shipped);
-                case "delivered":
-                    return itemView.getContext().getString(R.string.status_delivered);
-                case "cancelled":
-                    return itemView.getContext().getString(R.string.status_cancelled);
-                case "refunded":
-                    return itemView.getContext().getString(R.string.status_refunded);
-                default:
-                    return itemView.getContext().getString(R.string.status_pending);
-            }
+            // Set status with icon and background
+            orderStatus.setText(row.getStatusLabel());
+            orderStatus.setBackgroundResource(row.getStatusBackgroundRes());
+            orderStatus.setCompoundDrawablesWithIntrinsicBounds(row.getStatusIconRes(), 0, 0, 0);
         }
     }
 
-    private static class OrderDiffCallback extends DiffUtil.ItemCallback<Order> {
+    private static class OrderDiffCallback extends DiffUtil.ItemCallback<OrderRow> {
         @Override
-        public boolean areItemsTheSame(@NonNull Order oldItem, @NonNull Order newItem) {
+        public boolean areItemsTheSame(@NonNull OrderRow oldItem, @NonNull OrderRow newItem) {
             return oldItem.getId().equals(newItem.getId());
         }
 
         @Override
-        public boolean areContentsTheSame(@NonNull Order oldItem, @NonNull Order newItem) {
-            try {
-                BigDecimal oldAmount = new BigDecimal(oldItem.getTotalFiatAmount());
-                BigDecimal newAmount = new BigDecimal(newItem.getTotalFiatAmount());
-                return oldItem.getStatus().equals(newItem.getStatus()) &&
-                       oldAmount.compareTo(newAmount) == 0 &&
-                       oldItem.getItems().size() == newItem.getItems().size();
-            } catch (NumberFormatException e) {
-                // If amount parsing fails, fall back to string comparison
-                return oldItem.getStatus().equals(newItem.getStatus()) &&
-                       oldItem.getTotalFiatAmount().equals(newItem.getTotalFiatAmount()) &&
-                       oldItem.getItems().size() == newItem.getItems().size();
-            }
+        public boolean areContentsTheSame(@NonNull OrderRow oldItem, @NonNull OrderRow newItem) {
+            return oldItem.getStatus() == newItem.getStatus() &&
+                   Objects.equals(oldItem.getFormattedTotal(), newItem.getFormattedTotal()) &&
+                   Objects.equals(oldItem.getItemsCountText(), newItem.getItemsCountText()) &&
+                   Objects.equals(oldItem.getTitle(), newItem.getTitle()) &&
+                   Objects.equals(oldItem.getFormattedDate(), newItem.getFormattedDate());
         }
     }
 
     public interface OnOrderClickListener {
         void onOrderClick(Order order);
+
+        /**
+         * Returns true if the long click was consumed, e.g. to start multi-select.
+         */
+        boolean onOrderLongClick(Order order);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.shipment.app.adapters;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import androidx.annotation.LayoutRes;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.asynclayoutinflater.view.AsyncLayoutInflater;
+import androidx.recyclerview.widget.RecyclerView;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Row views shared by the list screens of one activity.
+ * <ul>
+ *     <li>{@link #prewarm} inflates rows on a background thread while the app starts, so
+ *     the first screen of a list binds instead of inflating.</li>
+ *     <li>{@link #getRecycledViewPool()} is set on every list, and each list's layout
+ *     manager recycles its children on detach, so holders of a screen that goes away are
+ *     reused by the next.</li>
+ * </ul>
+ * Adapters use their row layout as view type, which keeps types apart in the shared pool.
+ * Views hold the activity's context, so the pool must not outlive it.
+ */
+@MainThread
+public class RowViewPool {
+    private final AsyncLayoutInflater asyncInflater;
+    // Stand-in parent so inflated rows get layout params with their margins
+    private final ViewGroup inflationParent;
+    private final RecyclerView.RecycledViewPool recycledViewPool = new RecyclerView.RecycledViewPool();
+    private final Map<Integer, ArrayDeque<View>> prewarmed = new HashMap<>();
+
+    public RowViewPool(@NonNull Context context) {
+        asyncInflater = new AsyncLayoutInflater(context);
+        inflationParent = new FrameLayout(context);
+    }
+
+    /**
+     * Inflates {@code count} rows of {@code layout} off the main thread and lets the
+     * shared pool keep that many scrapped holders of it.
+     */
+    public void prewarm(@LayoutRes int layout, int count) {
+        recycledViewPool.setMaxRecycledViews(layout, count);
+        for (int i = 0; i < count; i++) {
+            asyncInflater.inflate(layout, inflationParent, (view, resid, parent) ->
+                prewarmedViews(resid).add(view));
+        }
+    }
+
+    /**
+     * Returns a prewarmed row if one is ready, or inflates one now.
+     */
+    @NonNull
+    public View obtain(@LayoutRes int layout, @NonNull ViewGroup parent) {
+        View view = prewarmedViews(layout).poll();
+        if (view != null) {
+            return view;
+        }
+        return LayoutInflater.from(parent.getContext()).inflate(layout, parent, false);
+    }
+
+    @NonNull
+    public RecyclerView.RecycledViewPool getRecycledViewPool() {
+        return recycledViewPool;
+    }
+
+    @NonNull
+    private ArrayDeque<View> prewarmedViews(@LayoutRes int layout) {
+        ArrayDeque<View> views = prewarmed.get(layout);
+        if (views == null) {
+            views = new ArrayDeque<>();
+            prewarmed.put(layout, views);
+        }
+        return views;
+    }
+}
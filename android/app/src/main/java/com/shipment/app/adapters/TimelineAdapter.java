@@ -1,50 +1,92 @@
 package com.shipment.app.adapters;
 
-import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.shipment.app.R;
 import com.shipment.app.models.TimelineEvent;
-import java.text.SimpleDateFormat;
+import com.shipment.app.utils.DateTimeUtils;
 import java.util.List;
-import java.util.Locale;
 
-public class TimelineAdapter extends RecyclerView.Adapter<TimelineAdapter.ViewHolder> {
-    private final List<TimelineEvent> timeline;
-    private final SimpleDateFormat dateFormat;
+/**
+ * Status history of an order. A screen keeps one instance and submits each new timeline,
+ * so a repeated verification only rebinds the events that changed.
+ */
+public class TimelineAdapter extends ListAdapter<TimelineEvent, TimelineAdapter.ViewHolder> {
+    // Rebinds only the connector lines, which depend on an event's position
+    private static final Object PAYLOAD_CONNECTORS = new Object();
 
-    public TimelineAdapter(List<TimelineEvent> timeline) {
-        this.timeline = timeline;
-        this.dateFormat = new SimpleDateFormat("MMM dd, yyyy HH:mm:ss", Locale.getDefault());
+    private static final DiffUtil.ItemCallback<TimelineEvent> DIFF_CALLBACK = new DiffUtil.ItemCallback<TimelineEvent>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TimelineEvent oldItem, @NonNull TimelineEvent newItem) {
+            return oldItem.getStatus() == newItem.getStatus() && oldItem.getTime() == newItem.getTime();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull TimelineEvent oldItem, @NonNull TimelineEvent newItem) {
+            // Events have no fields beyond their identity
+            return true;
+        }
+    };
+
+    private final RowViewPool rowViewPool;
+
+    public TimelineAdapter(@NonNull RowViewPool rowViewPool) {
+        super(DIFF_CALLBACK);
+        this.rowViewPool = rowViewPool;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return R.layout.item_timeline;
     }
 
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.item_timeline, parent, false);
-        return new ViewHolder(view);
+        return new ViewHolder(rowViewPool.obtain(R.layout.item_timeline, parent));
     }
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        TimelineEvent event = timeline.get(position);
-        holder.statusText.setText(event.getStatus());
-        holder.timeText.setText(dateFormat.format(event.getTime()));
-        
-        // Show line above for all items except the first
-        holder.lineAbove.setVisibility(position == 0 ? View.INVISIBLE : View.VISIBLE);
-        
-        // Show line below for all items except the last
-        holder.lineBelow.setVisibility(position == timeline.size() - 1 ? View.INVISIBLE : View.VISIBLE);
+        TimelineEvent event = getItem(position);
+        holder.statusText.setText(event.getStatus().getLabelRes());
+        holder.timeText.setText(DateTimeUtils.formatDateTime(event.getTime()));
+        bindConnectors(holder, position);
     }
 
     @Override
-    public int getItemCount() {
-        return timeline.size();
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        if (payloads.size() == 1 && payloads.get(0) == PAYLOAD_CONNECTORS) {
+            bindConnectors(holder, position);
+        } else {
+            onBindViewHolder(holder, position);
+        }
+    }
+
+    /**
+     * Events that kept their identity may have become the first or last one, so the
+     * connector lines of every row are refreshed after a change.
+     */
+    @Override
+    public void onCurrentListChanged(@NonNull List<TimelineEvent> previousList,
+                                     @NonNull List<TimelineEvent> currentList) {
+        if (!previousList.isEmpty() && !currentList.isEmpty()) {
+            notifyItemRangeChanged(0, currentList.size(), PAYLOAD_CONNECTORS);
+        }
+    }
+
+    private void bindConnectors(@NonNull ViewHolder holder, int position) {
+        // Show line above for all items except the first
+        holder.lineAbove.setVisibility(position == 0 ? View.INVISIBLE : View.VISIBLE);
+
+        // Show line below for all items except the last
+        holder.lineBelow.setVisibility(position == getItemCount() - 1 ? View.INVISIBLE : View.VISIBLE);
     }
 
     static class ViewHolder extends RecyclerView.ViewHolder {
@@ -61,4 +103,4 @@ public class TimelineAdapter extends RecyclerView.Adapter<TimelineAdapter.ViewHo
             timeText = view.findViewById(R.id.time_text);
         }
     }
-}
\ No newline at end of file
+}
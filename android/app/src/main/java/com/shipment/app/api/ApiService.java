@@ -1,14 +1,19 @@
 package com.shipment.app.api;
 
+import com.shipment.app.BuildConfig;
+import com.shipment.app.api.auth.TokenAuthenticator;
 import com.shipment.app.api.responses.AuthResponse;
+import com.shipment.app.api.responses.BatchStatusResponse;
+import com.shipment.app.api.responses.CompactOrdersResponse;
+import com.shipment.app.api.responses.OrderDetailsResponse;
 import com.shipment.app.api.requests.AuthRequest;
+import com.shipment.app.api.requests.BatchStatusRequest;
+import com.shipment.app.api.requests.MetricsBatchRequest;
 import com.shipment.app.api.responses.VerificationResponse;
 import com.shipment.app.models.Order;
 import java.util.List;
 import java.util.Map;
 import retrofit2.Call;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 import retrofit2.http.*;
 
 public interface ApiService {
@@ -20,23 +25,27 @@ public interface ApiService {
         }
         return String.format("%s://%s:%s/", BuildConfig.API_PROTOCOL, host, BuildConfig.API_PORT);
     }
-    
-    static ApiService getInstance() {
-        Retrofit retrofit = new Retrofit.Builder()
-            .baseUrl(getBaseUrl())
-            .addConverterFactory(GsonConverterFactory.create())
-            .build();
-        return retrofit.create(ApiService.class);
-    }
+
     // Auth endpoints
+    @Headers(RequestPriority.HEADER + ": INTERACTIVE")
     @POST("/api/auth/login")
     Call<AuthResponse> login(@Body AuthRequest.LoginRequest request);
 
+    @Headers(RequestPriority.HEADER + ": INTERACTIVE")
     @POST("/api/auth/register")
     Call<AuthResponse> register(@Body AuthRequest.RegisterRequest request);
 
     @POST("/api/auth/logout")
-    Call<Void> logout();
+    Call<Void> logout(@Body AuthRequest.RefreshRequest request);
+
+    // Sent without the access token, which has usually expired by now. Other calls wait
+    // on it, so it must never queue behind them.
+    @Headers({
+        TokenAuthenticator.NO_AUTH_HEADER + ": true",
+        RequestPriority.HEADER + ": INTERACTIVE"
+    })
+    @POST("/api/auth/refresh")
+    Call<AuthResponse> refreshToken(@Body AuthRequest.RefreshRequest request);
 
     @GET("/api/profile")
     Call<AuthResponse> getProfile();
@@ -48,15 +57,57 @@ public interface ApiService {
     @GET("/api/orders/user")
     Call<List<Order>> getUserOrders();
 
+    @GET("/api/orders/user?view=compact")
+    Call<CompactOrdersResponse> getUserOrdersCompact(@Query("fields") String fields);
+
+    @GET("/api/orders/store?view=compact")
+    Call<CompactOrdersResponse> getStoreOrdersCompact(@Query("fields") String fields);
+
     @GET("/api/orders/{orderId}")
     Call<Order> getOrder(@Path("orderId") String orderId);
 
+    @GET("/api/orders/{orderId}")
+    Call<Order> getOrder(@Path("orderId") String orderId, @Query("fields") String fields);
+
+    @GET("/api/orders/{orderId}")
+    Call<OrderDetailsResponse> getOrderDetails(
+        @Path("orderId") String orderId,
+        @Query("fields") String fields,
+        @Query("include") String include
+    );
+
+    // Warms the details of orders the user is likely to open next
+    @Headers(RequestPriority.HEADER + ": BACKGROUND")
+    @GET("/api/orders/{orderId}")
+    Call<OrderDetailsResponse> prefetchOrderDetails(
+        @Path("orderId") String orderId,
+        @Query("fields") String fields,
+        @Query("include") String include
+    );
+
+    // Someone is holding a package up to the camera
+    @Headers(RequestPriority.HEADER + ": INTERACTIVE")
     @POST("/api/qrcode/verify")
     Call<VerificationResponse> verifyQRCode(@Body Map<String, String> qrData);
 
-    @PUT("/api/orders/{orderId}/status")
+    // Status changes are sent from the outbox after the UI has already updated
+    @Headers(RequestPriority.HEADER + ": BACKGROUND")
+    @PATCH("/api/orders/{orderId}/status")
     Call<Order> updateOrderStatus(
         @Path("orderId") String orderId,
+        @Header("Idempotency-Key") String idempotencyKey,
         @Body Map<String, Object> statusData
     );
+
+    @Headers(RequestPriority.HEADER + ": BACKGROUND")
+    @PUT("/api/orders/status/batch")
+    Call<BatchStatusResponse> updateOrderStatuses(
+        @Header("Idempotency-Key") String idempotencyKey,
+        @Body BatchStatusRequest request
+    );
+
+    // Telemetry
+    @Headers(RequestPriority.HEADER + ": BACKGROUND")
+    @POST("/api/metrics")
+    Call<Void> uploadMetrics(@Body MetricsBatchRequest batch);
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.shipment.app.api;
+
+import androidx.annotation.NonNull;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Dns;
+
+/**
+ * Keeps resolved addresses for a few minutes so repeated connections to the API host
+ * skip DNS. If a lookup fails, a stale entry is used instead, which keeps requests going
+ * on flaky cellular resolvers.
+ */
+public class CachingDns implements Dns {
+    private static final long TTL_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private final Dns delegate;
+    private final ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+    public CachingDns() {
+        this(Dns.SYSTEM);
+    }
+
+    public CachingDns(@NonNull Dns delegate) {
+        this.delegate = delegate;
+    }
+
+    @NonNull
+    @Override
+    public List<InetAddress> lookup(@NonNull String hostname) throws UnknownHostException {
+        Entry entry = cache.get(hostname);
+        long now = System.currentTimeMillis();
+        if (entry != null && entry.expiresAtMs > now) {
+            return entry.addresses;
+        }
+        try {
+            List<InetAddress> addresses = delegate.lookup(hostname);
+            cache.put(hostname, new Entry(addresses, now + TTL_MS));
+            return addresses;
+        } catch (UnknownHostException e) {
+            if (entry != null) {
+                return entry.addresses;
+            }
+            throw e;
+        }
+    }
+
+    private static class Entry {
+        final List<InetAddress> addresses;
+        final long expiresAtMs;
+
+        Entry(List<InetAddress> addresses, long expiresAtMs) {
+            this.addresses = addresses;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.shipment.app.api;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Opens a connection to the API host ahead of the first real request. The TCP and TLS
+ * handshakes (and HTTP/2 negotiation over TLS) happen while the user is still looking
+ * at the splash or login screen. The connection then sits in the shared pool for the
+ * first orders fetch.
+ * <p>
+ * The warm-up request is a HEAD to {@code /health}. It goes through a client derived
+ * from the app client, so it shares the connection pool and DNS cache but skips the
+ * app interceptors (auth, retries) and metrics.
+ */
+public class ConnectionWarmer {
+    private static final String TAG = "ConnectionWarmer";
+    // Half the pool keep-alive (60s in AppContainer): a connection warmed less than this
+    // long ago still has at least 30s before the pool evicts it
+    private static final long MIN_INTERVAL_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private final OkHttpClient warmUpClient;
+    private final HttpUrl healthUrl;
+    private final AtomicLong lastWarmUpMs = new AtomicLong();
+
+    public ConnectionWarmer(@NonNull OkHttpClient client, @NonNull HttpUrl baseUrl) {
+        OkHttpClient.Builder builder = client.newBuilder()
+            .retryOnConnectionFailure(false)
+            .eventListener(EventListener.NONE);
+        builder.interceptors().clear();
+        this.warmUpClient = builder.build();
+        this.healthUrl = baseUrl.resolve("/health");
+    }
+
+    /**
+     * Starts a warm-up in the background. Calls within {@link #MIN_INTERVAL_MS} of the
+     * previous one do nothing.
+     */
+    public void warmUp() {
+        long now = System.currentTimeMillis();
+        long last = lastWarmUpMs.get();
+        if (healthUrl == null || now - last < MIN_INTERVAL_MS || !lastWarmUpMs.compareAndSet(last, now)) {
+            return;
+        }
+
+        Request request = new Request.Builder()
+            .url(healthUrl)
+            .head()
+            .build();
+        warmUpClient.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                response.close();
+            }
+
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                // Not fatal: the first real request simply pays the handshake itself
+                Log.d(TAG, "Warm-up failed: " + e.getMessage());
+                lastWarmUpMs.set(0);
+            }
+        });
+    }
+}
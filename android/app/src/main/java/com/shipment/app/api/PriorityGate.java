@@ -0,0 +1,82 @@
+package com.shipment.app.api;
+
+import androidx.annotation.NonNull;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Lets calls onto the network by {@link RequestPriority}. Visible and background calls
+ * each have a small concurrency cap, while interactive calls are never held back. A large
+ * background sync therefore cannot use up the connections a QR verification needs.
+ * <p>
+ * OkHttp's own dispatcher queues calls first-come first-served, so it has to be set up
+ * with {@link #newDispatcher()} to leave the queueing to this gate.
+ */
+public class PriorityGate implements Interceptor {
+    private static final int MAX_VISIBLE = 4;
+    private static final int MAX_BACKGROUND = 2;
+    // How often a waiting call checks whether it was cancelled
+    private static final long POLL_MS = 100;
+
+    private final Map<RequestPriority, Semaphore> permits = new EnumMap<>(RequestPriority.class);
+
+    public PriorityGate() {
+        permits.put(RequestPriority.VISIBLE, new Semaphore(MAX_VISIBLE, true));
+        permits.put(RequestPriority.BACKGROUND, new Semaphore(MAX_BACKGROUND, true));
+    }
+
+    /**
+     * A dispatcher that never queues a call per host. A call waiting here still counts
+     * against OkHttp's per-host limit, so with the default limit of 5 a few waiting
+     * background calls would put an interactive call back in the first-come queue.
+     */
+    @NonNull
+    public static Dispatcher newDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(dispatcher.getMaxRequests());
+        return dispatcher;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        RequestPriority priority = RequestPriority.fromHeader(request.header(RequestPriority.HEADER));
+        if (request.header(RequestPriority.HEADER) != null) {
+            request = request.newBuilder().removeHeader(RequestPriority.HEADER).build();
+        }
+
+        Semaphore semaphore = permits.get(priority);
+        if (semaphore == null) {
+            return chain.proceed(request);
+        }
+        acquire(semaphore, chain.call());
+        try {
+            return chain.proceed(request);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    private static void acquire(@NonNull Semaphore semaphore, @NonNull Call call) throws IOException {
+        try {
+            while (!semaphore.tryAcquire(POLL_MS, TimeUnit.MILLISECONDS)) {
+                // A screen that went away should not keep its place in line
+                if (call.isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to send", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.shipment.app.api;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * How urgently a call's result is needed. {@link ApiService} methods declare their tier
+ * with a {@link #HEADER} marker; calls without one are {@link #VISIBLE}.
+ */
+public enum RequestPriority {
+    /** The user is waiting on this result, e.g. a scanned QR code being verified. */
+    INTERACTIVE,
+    /** Fills a screen that is showing. */
+    VISIBLE,
+    /** Nobody is watching: outbox flushes, telemetry. */
+    BACKGROUND;
+
+    /** Stripped by {@link PriorityGate} before the request leaves the device. */
+    public static final String HEADER = "Request-Priority";
+
+    @NonNull
+    static RequestPriority fromHeader(@Nullable String value) {
+        if (value != null) {
+            for (RequestPriority priority : values()) {
+                if (priority.name().equals(value)) {
+                    return priority;
+                }
+            }
+        }
+        return VISIBLE;
+    }
+}
@@ -0,0 +1,141 @@
+package com.shipment.app.api.auth;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import com.shipment.app.api.responses.AuthResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * Answers 401s by refreshing the session and retrying the request with the new access
+ * token. Refreshes are single-flight: when several requests fail with the same expired
+ * token, the first one to get here refreshes and the others wait, then retry with the
+ * token it obtained instead of refreshing again.
+ * <p>
+ * A rejected refresh token ends the session through {@link TokenStore.SessionListener}.
+ * Network errors while refreshing do not, so going offline never signs the user out.
+ */
+public class TokenAuthenticator implements Authenticator {
+    private static final String TAG = "TokenAuthenticator";
+
+    /**
+     * Marks requests that must go out without an access token, like the refresh call
+     * itself. The auth interceptor strips it before sending.
+     */
+    public static final String NO_AUTH_HEADER = "No-Authentication";
+
+    // Refresh a little early so requests in flight do not race the expiry
+    private static final long EXPIRY_MARGIN_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private final TokenStore tokenStore;
+    private final TokenRefresher refresher;
+    private final Object refreshLock = new Object();
+
+    /**
+     * Exchanges a refresh token with the server. Runs on the calling thread.
+     */
+    public interface TokenRefresher {
+        @NonNull
+        retrofit2.Response<AuthResponse> refresh(@NonNull String refreshToken) throws IOException;
+    }
+
+    public TokenAuthenticator(@NonNull TokenStore tokenStore, @NonNull TokenRefresher refresher) {
+        this.tokenStore = tokenStore;
+        this.refresher = refresher;
+    }
+
+    @Nullable
+    @Override
+    public Request authenticate(@Nullable Route route, @NonNull Response response) {
+        String header = response.request().header("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            // Sent without a token, so a new one would not change the answer
+            return null;
+        }
+        if (priorResponseCount(response) >= 1) {
+            // Already retried once with a fresh token; the 401 is not about expiry
+            return null;
+        }
+        String token = refreshAfter(header.substring("Bearer ".length()));
+        if (token == null) {
+            return null;
+        }
+        return response.request().newBuilder()
+            .header("Authorization", "Bearer " + token)
+            .build();
+    }
+
+    /**
+     * Returns a usable access token, refreshing first if the current one is about to
+     * expire. Lets the interceptor skip the round trip that would end in a 401.
+     */
+    @Nullable
+    @WorkerThread
+    public String getFreshAccessToken() {
+        String token = tokenStore.getAccessToken();
+        if (token != null && tokenStore.isExpiring(EXPIRY_MARGIN_MS)
+                && tokenStore.getRefreshToken() != null) {
+            String refreshed = refreshAfter(token);
+            if (refreshed != null) {
+                return refreshed;
+            }
+        }
+        return token;
+    }
+
+    /**
+     * Refreshes unless someone else already replaced {@code staleToken}, and returns the
+     * token to use from now on, or null if there is none.
+     */
+    @Nullable
+    private String refreshAfter(@NonNull String staleToken) {
+        synchronized (refreshLock) {
+            String current = tokenStore.getAccessToken();
+            if (current == null) {
+                // Signed out while this request was in flight
+                return null;
+            }
+            if (!current.equals(staleToken)) {
+                return current;
+            }
+            String refreshToken = tokenStore.getRefreshToken();
+            if (refreshToken == null) {
+                // A session from before refresh tokens existed; it ends with its token
+                tokenStore.expireSession();
+                return null;
+            }
+            try {
+                retrofit2.Response<AuthResponse> response = refresher.refresh(refreshToken);
+                AuthResponse body = response.body();
+                if (response.isSuccessful() && body != null && body.getToken() != null) {
+                    tokenStore.update(body.getToken(), body.getRefreshToken(), body.getExpiresIn());
+                    tokenStore.notifyRefreshed(body.getToken());
+                    return body.getToken();
+                }
+                if (response.code() == 400 || response.code() == 401 || response.code() == 403) {
+                    Log.w(TAG, "Refresh token rejected with " + response.code() + ", ending session");
+                    tokenStore.expireSession();
+                } else {
+                    Log.w(TAG, "Token refresh failed with " + response.code());
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Token refresh failed", e);
+            }
+            return null;
+        }
+    }
+
+    private static int priorResponseCount(@NonNull Response response) {
+        int count = 0;
+        for (Response prior = response.priorResponse(); prior != null; prior = prior.priorResponse()) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,127 @@
+package com.shipment.app.api.auth;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the session's tokens in memory so the auth interceptor can read them on every
+ * request without touching {@link SharedPreferences}. Preferences are read once at
+ * construction and written on every change, so the session survives process death.
+ * <p>
+ * Shares the {@code auth_prefs} file and token key with {@code AuthRepository}, so
+ * sessions saved before this class existed keep working.
+ */
+public class TokenStore {
+    private static final String PREF_NAME = "auth_prefs";
+    private static final String KEY_TOKEN = "auth_token";
+    private static final String KEY_REFRESH_TOKEN = "refresh_token";
+    private static final String KEY_EXPIRES_AT = "token_expires_at";
+
+    private final SharedPreferences prefs;
+    private final CopyOnWriteArrayList<SessionListener> sessionListeners = new CopyOnWriteArrayList<>();
+
+    // Written together under the monitor, read without it
+    private volatile String accessToken;
+    private volatile String refreshToken;
+    // Wall clock, since it is persisted; 0 when unknown
+    private volatile long expiresAtMillis;
+
+    public interface SessionListener {
+        /**
+         * The refresh token was rejected and the user has to sign in again.
+         */
+        void onSessionExpired();
+
+        /**
+         * A refresh produced a new access token, e.g. for long-lived connections that
+         * authenticate once and reuse the token when reconnecting.
+         */
+        default void onTokenRefreshed(@NonNull String accessToken) {
+        }
+    }
+
+    public TokenStore(@NonNull Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        accessToken = prefs.getString(KEY_TOKEN, null);
+        refreshToken = prefs.getString(KEY_REFRESH_TOKEN, null);
+        expiresAtMillis = prefs.getLong(KEY_EXPIRES_AT, 0);
+    }
+
+    @Nullable
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    @Nullable
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public boolean hasSession() {
+        return accessToken != null && !accessToken.isEmpty();
+    }
+
+    /**
+     * True if the access token expires within {@code marginMillis}. Tokens from servers
+     * that do not report an expiry never count as expiring; they rely on the 401 path.
+     */
+    public boolean isExpiring(long marginMillis) {
+        long expiresAt = expiresAtMillis;
+        return expiresAt > 0 && System.currentTimeMillis() + marginMillis >= expiresAt;
+    }
+
+    /**
+     * Stores a new token pair. A null {@code refreshToken} keeps the current one, for
+     * servers that only rotate the access token.
+     */
+    public synchronized void update(@NonNull String accessToken, @Nullable String refreshToken,
+                                    @Nullable Long expiresInSeconds) {
+        this.accessToken = accessToken;
+        if (refreshToken != null) {
+            this.refreshToken = refreshToken;
+        }
+        expiresAtMillis = expiresInSeconds != null
+            ? System.currentTimeMillis() + expiresInSeconds * 1000
+            : 0;
+        prefs.edit()
+            .putString(KEY_TOKEN, this.accessToken)
+            .putString(KEY_REFRESH_TOKEN, this.refreshToken)
+            .putLong(KEY_EXPIRES_AT, expiresAtMillis)
+            .apply();
+    }
+
+    public synchronized void clear() {
+        accessToken = null;
+        refreshToken = null;
+        expiresAtMillis = 0;
+        prefs.edit()
+            .remove(KEY_TOKEN)
+            .remove(KEY_REFRESH_TOKEN)
+            .remove(KEY_EXPIRES_AT)
+            .apply();
+    }
+
+    public void addSessionListener(@NonNull SessionListener listener) {
+        sessionListeners.addIfAbsent(listener);
+    }
+
+    public void removeSessionListener(@NonNull SessionListener listener) {
+        sessionListeners.remove(listener);
+    }
+
+    void notifyRefreshed(@NonNull String accessToken) {
+        for (SessionListener listener : sessionListeners) {
+            listener.onTokenRefreshed(accessToken);
+        }
+    }
+
+    void expireSession() {
+        clear();
+        for (SessionListener listener : sessionListeners) {
+            listener.onSessionExpired();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.shipment.app.api.cbor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Decodes {@code application/cbor} responses with the same Gson type adapters used for
+ * JSON. Responses in any other content type, and all request bodies, go through
+ * {@link GsonConverterFactory}, so the server can choose either format per response.
+ */
+public class CborConverterFactory extends Converter.Factory {
+    public static final String CONTENT_TYPE = "application/cbor";
+    /** Accept header that prefers CBOR but still allows JSON. */
+    public static final String ACCEPT_HEADER = CONTENT_TYPE + ", application/json;q=0.9";
+
+    private final Gson gson;
+    private final GsonConverterFactory jsonFactory;
+
+    private CborConverterFactory(Gson gson) {
+        this.gson = gson;
+        this.jsonFactory = GsonConverterFactory.create(gson);
+    }
+
+    @NonNull
+    public static CborConverterFactory create() {
+        return create(new Gson());
+    }
+
+    @NonNull
+    public static CborConverterFactory create(@NonNull Gson gson) {
+        return new CborConverterFactory(gson);
+    }
+
+    public static boolean isCbor(@Nullable MediaType contentType) {
+        return contentType != null && "cbor".equalsIgnoreCase(contentType.subtype());
+    }
+
+    @Nullable
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(@NonNull Type type,
+                                                            @NonNull Annotation[] annotations,
+                                                            @NonNull Retrofit retrofit) {
+        TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(type));
+        Converter<ResponseBody, ?> jsonConverter =
+            jsonFactory.responseBodyConverter(type, annotations, retrofit);
+        return body -> {
+            if (!isCbor(body.contentType())) {
+                return jsonConverter.convert(body);
+            }
+            try {
+                return adapter.fromJsonTree(new CborReader(body.source()).read());
+            } finally {
+                body.close();
+            }
+        };
+    }
+
+    @Nullable
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(@NonNull Type type,
+                                                          @NonNull Annotation[] parameterAnnotations,
+                                                          @NonNull Annotation[] methodAnnotations,
+                                                          @NonNull Retrofit retrofit) {
+        return jsonFactory.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+    }
+}
@@ -0,0 +1,155 @@
+package com.shipment.app.api.cbor;
+
+import androidx.annotation.NonNull;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import java.io.IOException;
+import java.net.ProtocolException;
+import okio.BufferedSource;
+import okio.ByteString;
+
+/**
+ * Decodes the CBOR subset emitted by the server into a Gson tree. Decoding into
+ * {@link JsonElement} lets every model keep its Gson annotations and type adapters,
+ * so CBOR and JSON share one schema.
+ */
+final class CborReader {
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_TAG = 6;
+    private static final int MAJOR_SIMPLE = 7;
+
+    private static final int SIMPLE_FALSE = 20;
+    private static final int SIMPLE_TRUE = 21;
+    private static final int SIMPLE_NULL = 22;
+    private static final int SIMPLE_UNDEFINED = 23;
+    private static final int FLOAT16 = 25;
+    private static final int FLOAT32 = 26;
+    private static final int FLOAT64 = 27;
+
+    private static final int MAX_DEPTH = 64;
+
+    private final BufferedSource source;
+
+    CborReader(@NonNull BufferedSource source) {
+        this.source = source;
+    }
+
+    @NonNull
+    JsonElement read() throws IOException {
+        return readValue(0);
+    }
+
+    private JsonElement readValue(int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new ProtocolException("CBOR nesting too deep");
+        }
+        int initial = source.readByte() & 0xff;
+        int major = initial >>> 5;
+        int info = initial & 0x1f;
+
+        switch (major) {
+            case MAJOR_UNSIGNED:
+                return new JsonPrimitive(readLength(info));
+            case MAJOR_NEGATIVE:
+                return new JsonPrimitive(-1 - readLength(info));
+            case MAJOR_BYTES:
+                return new JsonPrimitive(source.readByteString(readLength(info)).base64());
+            case MAJOR_TEXT:
+                return new JsonPrimitive(source.readUtf8(readLength(info)));
+            case MAJOR_ARRAY: {
+                long size = readLength(info);
+                JsonArray array = new JsonArray((int) Math.min(size, 1024));
+                for (long i = 0; i < size; i++) {
+                    array.add(readValue(depth + 1));
+                }
+                return array;
+            }
+            case MAJOR_MAP: {
+                long size = readLength(info);
+                JsonObject object = new JsonObject();
+                for (long i = 0; i < size; i++) {
+                    JsonElement key = readValue(depth + 1);
+                    if (!key.isJsonPrimitive()) {
+                        throw new ProtocolException("CBOR map key must be a string or number");
+                    }
+                    object.add(key.getAsString(), readValue(depth + 1));
+                }
+                return object;
+            }
+            case MAJOR_TAG:
+                // Tags only add semantics (dates, bignums); the tagged item carries the data
+                readLength(info);
+                return readValue(depth + 1);
+            case MAJOR_SIMPLE:
+                return readSimple(info);
+            default:
+                throw new ProtocolException("Unknown CBOR major type " + major);
+        }
+    }
+
+    private JsonElement readSimple(int info) throws IOException {
+        switch (info) {
+            case SIMPLE_FALSE:
+                return new JsonPrimitive(false);
+            case SIMPLE_TRUE:
+                return new JsonPrimitive(true);
+            case SIMPLE_NULL:
+            case SIMPLE_UNDEFINED:
+                return JsonNull.INSTANCE;
+            case FLOAT16:
+                return new JsonPrimitive(halfToFloat(source.readShort() & 0xffff));
+            case FLOAT32:
+                return new JsonPrimitive(Float.intBitsToFloat(source.readInt()));
+            case FLOAT64:
+                return new JsonPrimitive(Double.longBitsToDouble(source.readLong()));
+            default:
+                throw new ProtocolException("Unsupported CBOR simple value " + info);
+        }
+    }
+
+    private long readLength(int info) throws IOException {
+        if (info < 24) {
+            return info;
+        }
+        switch (info) {
+            case 24:
+                return source.readByte() & 0xffL;
+            case 25:
+                return source.readShort() & 0xffffL;
+            case 26:
+                return source.readInt() & 0xffffffffL;
+            case 27: {
+                long value = source.readLong();
+                if (value < 0) {
+                    throw new ProtocolException("CBOR length exceeds 63 bits");
+                }
+                return value;
+            }
+            default:
+                // Indefinite lengths (31) are never produced by the server encoder
+                throw new ProtocolException("Unsupported CBOR length encoding " + info);
+        }
+    }
+
+    private static float halfToFloat(int bits) {
+        int exponent = (bits >>> 10) & 0x1f;
+        int mantissa = bits & 0x3ff;
+        float value;
+        if (exponent == 0) {
+            value = mantissa * (float) Math.pow(2, -24);
+        } else if (exponent == 0x1f) {
+            value = mantissa == 0 ? Float.POSITIVE_INFINITY : Float.NaN;
+        } else {
+            value = (mantissa + 1024) * (float) Math.pow(2, exponent - 25);
+        }
+        return (bits & 0x8000) != 0 ? -value : value;
+    }
+}
@@ -0,0 +1,108 @@
+package com.shipment.app.api.instrumentation;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Per-call phase timings captured by {@link PhaseTimingEventListener}. Phases that did
+ * not happen on a call (DNS and connect on a pooled connection, TLS over plain HTTP)
+ * are reported as {@link #NOT_MEASURED}.
+ */
+public class CallMetrics {
+    public static final long NOT_MEASURED = -1L;
+
+    private final String endpoint;
+    private final String method;
+    private final String host;
+    private final String path;
+    private final int statusCode;
+    private final boolean success;
+    private final long dnsMs;
+    private final long connectMs;
+    private final long tlsMs;
+    private final long ttfbMs;
+    private final long bodyMs;
+    private final long totalMs;
+    private final long requestBytes;
+    private final long responseBytes;
+
+    private CallMetrics(Builder builder) {
+        this.endpoint = builder.endpoint;
+        this.method = builder.method;
+        this.host = builder.host;
+        this.path = builder.path;
+        this.statusCode = builder.statusCode;
+        this.success = builder.success;
+        this.dnsMs = builder.dnsMs;
+        this.connectMs = builder.connectMs;
+        this.tlsMs = builder.tlsMs;
+        this.ttfbMs = builder.ttfbMs;
+        this.bodyMs = builder.bodyMs;
+        this.totalMs = builder.totalMs;
+        this.requestBytes = builder.requestBytes;
+        this.responseBytes = builder.responseBytes;
+    }
+
+    /**
+     * Name of the {@code ApiService} method that issued the call, or the URL path for
+     * calls made outside Retrofit.
+     */
+    public String getEndpoint() { return endpoint; }
+    public String getMethod() { return method; }
+    public String getHost() { return host; }
+    public String getPath() { return path; }
+    public int getStatusCode() { return statusCode; }
+    public boolean isSuccess() { return success; }
+    public long getDnsMs() { return dnsMs; }
+    public long getConnectMs() { return connectMs; }
+    public long getTlsMs() { return tlsMs; }
+    public long getTtfbMs() { return ttfbMs; }
+    public long getBodyMs() { return bodyMs; }
+    public long getTotalMs() { return totalMs; }
+    public long getRequestBytes() { return requestBytes; }
+    public long getResponseBytes() { return responseBytes; }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return endpoint + " " + method + " " + host + path + " -> " + statusCode
+            + " total=" + totalMs + "ms dns=" + dnsMs + " connect=" + connectMs
+            + " tls=" + tlsMs + " ttfb=" + ttfbMs + " body=" + bodyMs
+            + " req=" + requestBytes + "B resp=" + responseBytes + "B";
+    }
+
+    static class Builder {
+        private String endpoint;
+        private String method;
+        private String host;
+        private String path;
+        private int statusCode;
+        private boolean success;
+        private long dnsMs = NOT_MEASURED;
+        private long connectMs = NOT_MEASURED;
+        private long tlsMs = NOT_MEASURED;
+        private long ttfbMs = NOT_MEASURED;
+        private long bodyMs = NOT_MEASURED;
+        private long totalMs = NOT_MEASURED;
+        private long requestBytes;
+        private long responseBytes;
+
+        Builder setEndpoint(String endpoint) { this.endpoint = endpoint; return this; }
+        Builder setMethod(String method) { this.method = method; return this; }
+        Builder setHost(String host) { this.host = host; return this; }
+        Builder setPath(String path) { this.path = path; return this; }
+        Builder setStatusCode(int statusCode) { this.statusCode = statusCode; return this; }
+        Builder setSuccess(boolean success) { this.success = success; return this; }
+        Builder setDnsMs(long dnsMs) { this.dnsMs = dnsMs; return this; }
+        Builder setConnectMs(long connectMs) { this.connectMs = connectMs; return this; }
+        Builder setTlsMs(long tlsMs) { this.tlsMs = tlsMs; return this; }
+        Builder setTtfbMs(long ttfbMs) { this.ttfbMs = ttfbMs; return this; }
+        Builder setBodyMs(long bodyMs) { this.bodyMs = bodyMs; return this; }
+        Builder setTotalMs(long totalMs) { this.totalMs = totalMs; return this; }
+        Builder setRequestBytes(long requestBytes) { this.requestBytes = requestBytes; return this; }
+        Builder setResponseBytes(long responseBytes) { this.responseBytes = responseBytes; return this; }
+
+        CallMetrics build() {
+            return new CallMetrics(this);
+        }
+    }
+}
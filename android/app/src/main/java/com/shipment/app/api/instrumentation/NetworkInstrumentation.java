@@ -0,0 +1,35 @@
+package com.shipment.app.api.instrumentation;
+
+import androidx.annotation.NonNull;
+import com.shipment.app.BuildConfig;
+import okhttp3.OkHttpClient;
+import okhttp3.logging.HttpLoggingInterceptor;
+
+/**
+ * Single place that decides how much the HTTP stack is instrumented.
+ * <ul>
+ *     <li>Debug builds log full bodies with credentials redacted and time every call.</li>
+ *     <li>Release builds never log, and time a small sample of calls. Only phase timings
+ *     and byte counts are captured, so bodies are never buffered or copied.</li>
+ * </ul>
+ */
+public final class NetworkInstrumentation {
+    private static final double DEBUG_SAMPLE_RATE = 1.0;
+    private static final double RELEASE_SAMPLE_RATE = 0.05;
+
+    private NetworkInstrumentation() {
+    }
+
+    public static void install(@NonNull OkHttpClient.Builder builder, @NonNull NetworkMetricsSink sink) {
+        if (BuildConfig.DEBUG) {
+            HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
+            logging.setLevel(HttpLoggingInterceptor.Level.BODY);
+            logging.redactHeader("Authorization");
+            logging.redactHeader("Cookie");
+            logging.redactHeader("Set-Cookie");
+            builder.addInterceptor(logging);
+        }
+        builder.eventListenerFactory(new PhaseTimingEventListener.Factory(sink,
+            BuildConfig.DEBUG ? DEBUG_SAMPLE_RATE : RELEASE_SAMPLE_RATE));
+    }
+}
@@ -0,0 +1,11 @@
+package com.shipment.app.api.instrumentation;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Receives one {@link CallMetrics} per instrumented call. Invoked on OkHttp's
+ * dispatcher threads, so implementations must be thread-safe and cheap.
+ */
+public interface NetworkMetricsSink {
+    void record(@NonNull CallMetrics metrics);
+}
@@ -0,0 +1,154 @@
+package com.shipment.app.api.instrumentation;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Measures DNS, connect, TLS, time-to-first-byte and body phases for a single call and
+ * hands the result to a {@link NetworkMetricsSink} when the call ends. It only observes
+ * OkHttp's lifecycle callbacks and never touches request or response bodies.
+ */
+public class PhaseTimingEventListener extends EventListener {
+    private final NetworkMetricsSink sink;
+    private final CallMetrics.Builder metrics = new CallMetrics.Builder();
+
+    private long callStartNs;
+    private long dnsStartNs;
+    private long connectStartNs;
+    private long secureConnectStartNs;
+    private long requestHeadersStartNs;
+    private long responseBodyStartNs;
+
+    PhaseTimingEventListener(@NonNull NetworkMetricsSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Creates a listener for a {@code sampleRate} fraction of calls and returns
+     * {@link EventListener#NONE} for the rest, so unsampled calls cost nothing.
+     */
+    public static class Factory implements EventListener.Factory {
+        private final NetworkMetricsSink sink;
+        private final double sampleRate;
+
+        public Factory(@NonNull NetworkMetricsSink sink, double sampleRate) {
+            this.sink = sink;
+            this.sampleRate = sampleRate;
+        }
+
+        @NonNull
+        @Override
+        public EventListener create(@NonNull Call call) {
+            if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                return EventListener.NONE;
+            }
+            return new PhaseTimingEventListener(sink);
+        }
+    }
+
+    private static long elapsedMs(long startNs) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        callStartNs = System.nanoTime();
+        Request request = call.request();
+        // Retrofit tags each request with the interface method that created it
+        Invocation invocation = request.tag(Invocation.class);
+        metrics.setEndpoint(invocation != null
+                ? invocation.method().getName()
+                : request.url().encodedPath())
+            .setMethod(request.method())
+            .setHost(request.url().host())
+            .setPath(request.url().encodedPath());
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName,
+                       @NonNull List<InetAddress> inetAddressList) {
+        metrics.setDnsMs(elapsedMs(dnsStartNs));
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                             @NonNull Proxy proxy) {
+        connectStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        secureConnectStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, @Nullable Handshake handshake) {
+        metrics.setTlsMs(elapsedMs(secureConnectStartNs));
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                           @NonNull Proxy proxy, @Nullable Protocol protocol) {
+        metrics.setConnectMs(elapsedMs(connectStartNs));
+    }
+
+    @Override
+    public void requestHeadersStart(@NonNull Call call) {
+        requestHeadersStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(@NonNull Call call, long byteCount) {
+        metrics.setRequestBytes(byteCount);
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        metrics.setTtfbMs(elapsedMs(requestHeadersStartNs));
+    }
+
+    @Override
+    public void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+        metrics.setStatusCode(response.code());
+    }
+
+    @Override
+    public void responseBodyStart(@NonNull Call call) {
+        responseBodyStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        metrics.setBodyMs(elapsedMs(responseBodyStartNs))
+            .setResponseBytes(byteCount);
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        sink.record(metrics.setSuccess(true).setTotalMs(elapsedMs(callStartNs)).build());
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        sink.record(metrics.setSuccess(false).setTotalMs(elapsedMs(callStartNs)).build());
+    }
+}
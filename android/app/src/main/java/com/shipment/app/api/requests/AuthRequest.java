@@ -305,4 +305,33 @@ public class AuthRequest {
             }
         }
     }
-}
\ No newline at end of file
+
+    public static class RefreshRequest {
+        @SerializedName("refreshToken")
+        private final String refreshToken;
+
+        private RefreshRequest(Builder builder) {
+            this.refreshToken = builder.refreshToken;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        public static class Builder {
+            private String refreshToken;
+
+            public Builder setRefreshToken(String refreshToken) {
+                this.refreshToken = refreshToken;
+                return this;
+            }
+
+            public RefreshRequest build() {
+                if (refreshToken == null || refreshToken.isEmpty()) {
+                    throw new IllegalStateException("Refresh token is required");
+                }
+                return new RefreshRequest(this);
+            }
+        }
+    }
+}
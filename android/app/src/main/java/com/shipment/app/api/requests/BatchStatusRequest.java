@@ -0,0 +1,53 @@
+package com.shipment.app.api.requests;
+
+import androidx.annotation.NonNull;
+import com.google.gson.annotations.SerializedName;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Body of {@code PUT /api/orders/status/batch}: one target status for many orders.
+ */
+public class BatchStatusRequest {
+    @SerializedName("status")
+    private final String status;
+
+    @SerializedName("orderIds")
+    private final List<String> orderIds;
+
+    private BatchStatusRequest(Builder builder) {
+        this.status = builder.status;
+        this.orderIds = builder.orderIds;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public List<String> getOrderIds() {
+        return orderIds;
+    }
+
+    public static class Builder {
+        private String status;
+        private List<String> orderIds;
+
+        public Builder setStatus(@NonNull String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder setOrderIds(@NonNull Collection<String> orderIds) {
+            this.orderIds = new ArrayList<>(orderIds);
+            return this;
+        }
+
+        public BatchStatusRequest build() {
+            if (status == null || orderIds == null || orderIds.isEmpty()) {
+                throw new IllegalStateException("status and at least one order id are required");
+            }
+            return new BatchStatusRequest(this);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.shipment.app.api.requests;
+
+import com.google.gson.annotations.SerializedName;
+import com.shipment.app.metrics.HistogramSnapshot;
+import java.util.List;
+import java.util.Map;
+
+public class MetricsBatchRequest {
+    @SerializedName("deviceClass")
+    private final String deviceClass;
+
+    @SerializedName("sdkInt")
+    private final int sdkInt;
+
+    @SerializedName("appVersion")
+    private final String appVersion;
+
+    @SerializedName("intervalStartMs")
+    private final long intervalStartMs;
+
+    @SerializedName("intervalEndMs")
+    private final long intervalEndMs;
+
+    @SerializedName("counters")
+    private final Map<String, Long> counters;
+
+    @SerializedName("histograms")
+    private final List<HistogramSnapshot> histograms;
+
+    private MetricsBatchRequest(Builder builder) {
+        this.deviceClass = builder.deviceClass;
+        this.sdkInt = builder.sdkInt;
+        this.appVersion = builder.appVersion;
+        this.intervalStartMs = builder.intervalStartMs;
+        this.intervalEndMs = builder.intervalEndMs;
+        this.counters = builder.counters;
+        this.histograms = builder.histograms;
+    }
+
+    public String getDeviceClass() {
+        return deviceClass;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public List<HistogramSnapshot> getHistograms() {
+        return histograms;
+    }
+
+    public static class Builder {
+        private String deviceClass;
+        private int sdkInt;
+        private String appVersion;
+        private long intervalStartMs;
+        private long intervalEndMs;
+        private Map<String, Long> counters;
+        private List<HistogramSnapshot> histograms;
+
+        public Builder setDeviceClass(String deviceClass) {
+            this.deviceClass = deviceClass;
+            return this;
+        }
+
+        public Builder setSdkInt(int sdkInt) {
+            this.sdkInt = sdkInt;
+            return this;
+        }
+
+        public Builder setAppVersion(String appVersion) {
+            this.appVersion = appVersion;
+            return this;
+        }
+
+        public Builder setIntervalStartMs(long intervalStartMs) {
+            this.intervalStartMs = intervalStartMs;
+            return this;
+        }
+
+        public Builder setIntervalEndMs(long intervalEndMs) {
+            this.intervalEndMs = intervalEndMs;
+            return this;
+        }
+
+        public Builder setCounters(Map<String, Long> counters) {
+            this.counters = counters;
+            return this;
+        }
+
+        public Builder setHistograms(List<HistogramSnapshot> histograms) {
+            this.histograms = histograms;
+            return this;
+        }
+
+        public MetricsBatchRequest build() {
+            if (deviceClass == null) {
+                throw new IllegalStateException("Device class is required");
+            }
+            return new MetricsBatchRequest(this);
+        }
+    }
+}
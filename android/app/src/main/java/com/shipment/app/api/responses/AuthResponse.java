@@ -7,6 +7,13 @@ public class AuthResponse {
     @SerializedName("token")
     private String token;
 
+    @SerializedName("refreshToken")
+    private String refreshToken;
+
+    // Seconds until the access token expires
+    @SerializedName("expiresIn")
+    private Long expiresIn;
+
     @SerializedName("id")
     private String id;
 
@@ -37,10 +44,22 @@ public class AuthResponse {
     @SerializedName("store")
     private StoreData store;
 
+    // Login and register nest the user; /api/profile returns it at the top level
+    @SerializedName("user")
+    private AuthResponse user;
+
     public String getToken() {
         return token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+
     public String getId() {
         return id;
     }
@@ -82,9 +101,18 @@ public class AuthResponse {
         return store;
     }
 
+    /**
+     * The user part of the response: the nested {@code user} of login and register, or
+     * this object itself for {@code /api/profile}.
+     */
+    @NonNull
+    public AuthResponse getUserProfile() {
+        return user != null ? user : this;
+    }
+
     // For backward compatibility with existing code
     public UserData getUser() {
-        return new UserData(this);
+        return new UserData(user != null ? user : this);
     }
 
     // Inner class for backward compatibility
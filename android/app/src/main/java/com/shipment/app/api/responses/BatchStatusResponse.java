@@ -0,0 +1,72 @@
+package com.shipment.app.api.responses;
+
+import com.google.gson.annotations.SerializedName;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Body of {@code PUT /api/orders/status/batch}. {@code orders} lists every order that
+ * now has the requested status, including ones that already had it; {@code failed}
+ * lists the ids the server refused, with a reason.
+ */
+public class BatchStatusResponse {
+    @SerializedName("status")
+    private String status;
+
+    @SerializedName("orders")
+    private List<OrderVersion> orders;
+
+    @SerializedName("failed")
+    private List<Failure> failed;
+
+    public String getStatus() {
+        return status;
+    }
+
+    public List<OrderVersion> getOrders() {
+        return orders != null ? orders : Collections.emptyList();
+    }
+
+    public List<Failure> getFailed() {
+        return failed != null ? failed : Collections.emptyList();
+    }
+
+    public static class OrderVersion {
+        @SerializedName("id")
+        private String id;
+
+        @SerializedName("status")
+        private String status;
+
+        @SerializedName("version")
+        private long version;
+
+        public String getId() {
+            return id;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+    }
+
+    public static class Failure {
+        @SerializedName("id")
+        private String id;
+
+        @SerializedName("error")
+        private String error;
+
+        public String getId() {
+            return id;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
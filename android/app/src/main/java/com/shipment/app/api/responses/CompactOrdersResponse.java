@@ -0,0 +1,34 @@
+package com.shipment.app.api.responses;
+
+import com.google.gson.annotations.SerializedName;
+import com.shipment.app.models.Order;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of {@code GET /api/orders/user?view=compact}. Orders reference their store and
+ * user by id, and each store and user is sent once in the dictionaries.
+ */
+public class CompactOrdersResponse {
+    @SerializedName("orders")
+    private List<Order> orders;
+
+    @SerializedName("stores")
+    private Map<String, Order.Store> stores;
+
+    @SerializedName("users")
+    private Map<String, Order.User> users;
+
+    public List<Order> getOrders() {
+        return orders != null ? orders : Collections.emptyList();
+    }
+
+    public Map<String, Order.Store> getStores() {
+        return stores != null ? stores : Collections.emptyMap();
+    }
+
+    public Map<String, Order.User> getUsers() {
+        return users != null ? users : Collections.emptyMap();
+    }
+}
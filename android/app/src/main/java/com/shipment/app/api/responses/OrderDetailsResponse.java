@@ -0,0 +1,93 @@
+package com.shipment.app.api.responses;
+
+import androidx.annotation.Nullable;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.shipment.app.models.Order;
+import com.shipment.app.models.TimelineEvent;
+import com.shipment.app.utils.IsoTimestampTypeAdapter;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Body of {@code GET /api/orders/:id?include=history,qrStatus,viewerRole}. Each
+ * section is present only when it was requested.
+ */
+public class OrderDetailsResponse {
+    @SerializedName("order")
+    private Order order;
+
+    @SerializedName("history")
+    private List<TimelineEvent> history;
+
+    @SerializedName("qrStatus")
+    private QrStatus qrStatus;
+
+    @SerializedName("viewer")
+    private Viewer viewer;
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public List<TimelineEvent> getHistory() {
+        return history != null ? history : Collections.emptyList();
+    }
+
+    @Nullable
+    public QrStatus getQrStatus() {
+        return qrStatus;
+    }
+
+    @Nullable
+    public Viewer getViewer() {
+        return viewer;
+    }
+
+    public static class QrStatus {
+        @SerializedName("status")
+        private String status;
+
+        @SerializedName("verificationCount")
+        private int verificationCount;
+
+        @SerializedName("lastVerifiedAt")
+        @JsonAdapter(IsoTimestampTypeAdapter.class)
+        private long lastVerifiedAt;
+
+        public String getStatus() {
+            return status;
+        }
+
+        public int getVerificationCount() {
+            return verificationCount;
+        }
+
+        public long getLastVerifiedAt() {
+            return lastVerifiedAt;
+        }
+    }
+
+    public static class Viewer {
+        @SerializedName("role")
+        private String role;
+
+        @SerializedName("isSeller")
+        private boolean isSeller;
+
+        @SerializedName("canUpdateStatus")
+        private boolean canUpdateStatus;
+
+        public String getRole() {
+            return role;
+        }
+
+        public boolean isSeller() {
+            return isSeller;
+        }
+
+        public boolean canUpdateStatus() {
+            return canUpdateStatus;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.shipment.app.api.responses;
 
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 import com.shipment.app.models.Product;
 import com.shipment.app.models.Order;
+import com.shipment.app.utils.IsoTimestampTypeAdapter;
 import java.util.List;
 
 public class VerificationResponse {
@@ -37,7 +39,8 @@ public class VerificationResponse {
         private boolean isAuthentic;
 
         @SerializedName("verifiedAt")
-        private String verifiedAt;
+        @JsonAdapter(IsoTimestampTypeAdapter.class)
+        private long verifiedAt;
 
         @SerializedName("product")
         private Product product;
@@ -55,7 +58,7 @@ public class VerificationResponse {
             return isAuthentic;
         }
 
-        public String getVerifiedAt() {
+        public long getVerifiedAt() {
             return verifiedAt;
         }
 
@@ -0,0 +1,292 @@
+package com.shipment.app.di;
+
+import androidx.annotation.NonNull;
+import com.google.gson.Gson;
+import com.shipment.app.BuildConfig;
+import com.shipment.app.ShipmentApplication;
+import com.shipment.app.api.ApiService;
+import com.shipment.app.api.CachingDns;
+import com.shipment.app.api.ConnectionWarmer;
+import com.shipment.app.api.PriorityGate;
+import com.shipment.app.api.auth.TokenAuthenticator;
+import com.shipment.app.api.auth.TokenStore;
+import com.shipment.app.api.requests.AuthRequest;
+import com.shipment.app.api.responses.AuthResponse;
+import com.shipment.app.api.cbor.CborConverterFactory;
+import com.shipment.app.api.instrumentation.NetworkInstrumentation;
+import com.shipment.app.metrics.ApiMetricsSink;
+import com.shipment.app.metrics.MetricsRegistry;
+import com.shipment.app.metrics.TimedConverterFactory;
+import com.shipment.app.outbox.MutationOutbox;
+import com.shipment.app.outbox.OutboxFlushWorker;
+import com.shipment.app.repositories.AuthRepository;
+import com.shipment.app.repositories.OrderCache;
+import com.shipment.app.repositories.OrderRepository;
+import com.shipment.app.services.WebSocketService;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.brotli.BrotliInterceptor;
+import retrofit2.Retrofit;
+
+/**
+ * Owns the app-scoped object graph: one OkHttpClient (and with it one connection pool,
+ * TLS session cache and dispatcher), one Retrofit, one Gson and singleton repositories.
+ * Screens get their dependencies from here through {@link ShipmentApplication}, never
+ * by constructing their own.
+ */
+public class AppContainer {
+    private static final String TAG = "AppContainer";
+    // The app talks to a single host, so a few idle connections are plenty. Keep-alive
+    // stays under the server's 65s keepAliveTimeout so the pool never hands out a
+    // socket the server has already closed.
+    private static final int MAX_IDLE_CONNECTIONS = 4;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final Gson gson = new Gson();
+    private final TokenStore tokenStore;
+    private final TokenAuthenticator tokenAuthenticator;
+    private final OkHttpClient okHttpClient;
+    private final Retrofit retrofit;
+    private final ApiService apiService;
+    private final ConnectionWarmer connectionWarmer;
+    private final WebSocketService webSocketService;
+    private final AuthRepository authRepository;
+    private final OrderRepository orderRepository;
+
+    public AppContainer(@NonNull ShipmentApplication application, @NonNull MetricsRegistry metricsRegistry) {
+        // Tokens live in memory; the authenticator refreshes them through apiService,
+        // which is only read once a request is already running
+        tokenStore = new TokenStore(application);
+        tokenAuthenticator = new TokenAuthenticator(tokenStore, this::refreshTokens);
+
+        // Body logging in debug builds only, sampled phase timings everywhere
+        OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder();
+        NetworkInstrumentation.install(clientBuilder, new ApiMetricsSink(metricsRegistry));
+
+        // Interactive calls skip the line; visible and background calls are capped
+        clientBuilder
+            .dispatcher(PriorityGate.newDispatcher())
+            .addInterceptor(new PriorityGate());
+
+        // Initialize network components with auth token interceptor
+        okHttpClient = clientBuilder
+            // Advertises br and gzip and decodes whichever the server picks
+            .addInterceptor(BrotliInterceptor.INSTANCE)
+            // Attach the in-memory access token, refreshing it first if it is about to expire
+            .addInterceptor(chain -> {
+                Request original = chain.request();
+                Request.Builder builder = original.newBuilder();
+
+                if (original.header(TokenAuthenticator.NO_AUTH_HEADER) != null) {
+                    builder.removeHeader(TokenAuthenticator.NO_AUTH_HEADER);
+                } else {
+                    String token = tokenAuthenticator.getFreshAccessToken();
+                    if (token != null && !token.isEmpty()) {
+                        builder.header("Authorization", "Bearer " + token);
+                    }
+                }
+
+                Request request = builder
+                    .method(original.method(), original.body())
+                    .header("Cookie", "") // Enable cookie handling
+                    .build();
+                
+                return chain.proceed(request);
+            })
+            // Prefer CBOR responses when enabled; the server falls back to JSON
+            .addInterceptor(chain -> {
+                Request request = chain.request();
+                if (request.header("Accept") != null) {
+                    return chain.proceed(request);
+                }
+                return chain.proceed(request.newBuilder()
+                    .header("Accept", BuildConfig.BINARY_WIRE_FORMAT
+                        ? CborConverterFactory.ACCEPT_HEADER
+                        : "application/json")
+                    .build());
+            })
+            // Add network check interceptor
+            .addInterceptor(chain -> {
+                if (!application.isNetworkAvailable()) {
+                    throw new IOException("No internet connection");
+                }
+                Request request = chain.request();
+                // A refresh whose response was lost has already used up its refresh token;
+                // sending it again would be reported as reuse. The auth interceptor strips
+                // the marker, so it is read from the call's original request.
+                if (chain.call().request().header(TokenAuthenticator.NO_AUTH_HEADER) != null) {
+                    return chain.proceed(request);
+                }
+                int retryCount = 0;
+                int maxRetries = 3;
+                long retryDelay = 1000; // Start with 1 second delay
+                IOException lastException;
+                
+                do {
+                    try {
+                        return chain.proceed(request);
+                    } catch (IOException e) {
+                        lastException = e;
+                        if (retryCount == maxRetries) throw e;
+                        
+                        retryCount++;
+                        android.util.Log.w(TAG, 
+                            "Retry attempt " + retryCount + " for request: " + request.url());
+                        
+                        // Exponential backoff
+                        try {
+                            Thread.sleep(retryDelay);
+                            retryDelay *= 2; // Double the delay for next retry
+                        } catch (InterruptedException ie) {
+                            Thread.currentThread().interrupt();
+                            throw e;
+                        }
+                    }
+                } while (retryCount < maxRetries);
+                
+                throw lastException;
+            })
+            // Expired tokens are refreshed once and the request retried
+            .authenticator(tokenAuthenticator)
+            .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS))
+            .dns(new CachingDns())
+            .connectTimeout(30, TimeUnit.SECONDS)
+            .readTimeout(30, TimeUnit.SECONDS)
+            .writeTimeout(30, TimeUnit.SECONDS)
+            .retryOnConnectionFailure(true)
+            .followRedirects(true)
+            .followSslRedirects(true)
+            .cookieJar(new okhttp3.CookieJar() {
+                private final java.util.concurrent.ConcurrentHashMap<String, java.util.List<okhttp3.Cookie>> cookieStore = new java.util.concurrent.ConcurrentHashMap<>();
+
+                @Override
+                public void saveFromResponse(@NonNull okhttp3.HttpUrl url, @NonNull java.util.List<okhttp3.Cookie> cookies) {
+                    cookieStore.put(url.host(), cookies);
+                }
+
+                @Override
+                public java.util.List<okhttp3.Cookie> loadForRequest(@NonNull okhttp3.HttpUrl url) {
+                    java.util.List<okhttp3.Cookie> cookies = cookieStore.get(url.host());
+                    return cookies != null ? cookies : new java.util.ArrayList<>();
+                }
+            })
+            .build();
+
+        retrofit = new Retrofit.Builder()
+            .baseUrl(application.getBaseUrl())
+            .client(okHttpClient)
+            .addConverterFactory(new TimedConverterFactory(CborConverterFactory.create(gson), metricsRegistry))
+            .build();
+        apiService = retrofit.create(ApiService.class);
+        connectionWarmer = new ConnectionWarmer(okHttpClient, HttpUrl.get(application.getBaseUrl()));
+
+        // Initialize WebSocket service first
+        webSocketService = WebSocketService.getInstance();
+
+        // Initialize repositories with proper sequence and context
+        authRepository = new AuthRepository(application, apiService, tokenStore, gson);
+        MutationOutbox outbox = new MutationOutbox(application.getFilesDir(), gson,
+            tokenStore.hasSession() ? authRepository.getUserId() : null);
+        orderRepository = new OrderRepository(application, apiService, new OrderCache(), outbox);
+
+        // Reconnects must not present the token that just expired
+        tokenStore.addSessionListener(new TokenStore.SessionListener() {
+            @Override
+            public void onSessionExpired() {
+                // AuthRepository signs out, which reaches the auth state listener below
+            }
+
+            @Override
+            public void onTokenRefreshed(@NonNull String accessToken) {
+                webSocketService.updateToken(accessToken);
+            }
+        });
+
+        // Listen for auth changes to manage WebSocket connection
+        authRepository.addAuthStateListener(new AuthRepository.AuthStateListener() {
+            @Override
+            public void onAuthStateChanged(boolean isAuthenticated, String token) {
+                if (isAuthenticated && token != null) {
+                    // Queued changes can only be sent with the session of the user who made them
+                    orderRepository.switchUser(authRepository.getUserId());
+                    webSocketService.connect(token);
+                    // Re-added on every sign-in, since disconnecting drops all listeners
+                    webSocketService.addOrderUpdateListener(orderRepository);
+                    webSocketService.addProfileUpdateListener(authRepository);
+                    // Send anything queued while signed out or before the process died
+                    OutboxFlushWorker.schedule(application);
+                } else {
+                    webSocketService.disconnect();
+                    // Orders belong to the signed-out user; their queue waits for the next sign-in
+                    orderRepository.clearCache();
+                    orderRepository.switchUser(null);
+                }
+            }
+        });
+
+        // A returning user will fetch orders right away, so open the connection now
+        if (tokenStore.hasSession()) {
+            connectionWarmer.warmUp();
+            if (!outbox.isEmpty()) {
+                OutboxFlushWorker.schedule(application);
+            }
+        }
+    }
+
+    @NonNull
+    private retrofit2.Response<AuthResponse> refreshTokens(@NonNull String refreshToken) throws IOException {
+        return apiService.refreshToken(new AuthRequest.RefreshRequest.Builder()
+            .setRefreshToken(refreshToken)
+            .build())
+            .execute();
+    }
+
+    @NonNull
+    public Gson getGson() {
+        return gson;
+    }
+
+    @NonNull
+    public OkHttpClient getOkHttpClient() {
+        return okHttpClient;
+    }
+
+    @NonNull
+    public Retrofit getRetrofit() {
+        return retrofit;
+    }
+
+    @NonNull
+    public ApiService getApiService() {
+        return apiService;
+    }
+
+    @NonNull
+    public ConnectionWarmer getConnectionWarmer() {
+        return connectionWarmer;
+    }
+
+    @NonNull
+    public WebSocketService getWebSocketService() {
+        return webSocketService;
+    }
+
+    @NonNull
+    public TokenStore getTokenStore() {
+        return tokenStore;
+    }
+
+    @NonNull
+    public AuthRepository getAuthRepository() {
+        return authRepository;
+    }
+
+    @NonNull
+    public OrderRepository getOrderRepository() {
+        return orderRepository;
+    }
+}
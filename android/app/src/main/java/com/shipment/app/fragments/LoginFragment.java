@@ -99,6 +99,12 @@ public class LoginFragment extends Fragment {
         loginForm.setVisibility(View.VISIBLE);
         progressBar.setVisibility(View.GONE);
 
+        // Handshake with the API while the user types their credentials
+        ShipmentApplication app = ShipmentApplication.getInstance();
+        if (app != null && app.isInitialized()) {
+            app.getContainer().getConnectionWarmer().warmUp();
+        }
+
         rootView.findViewById(R.id.loginButton).setOnClickListener(v -> attemptLogin());
         rootView.findViewById(R.id.registerLink).setOnClickListener(v ->
             Navigation.findNavController(v).navigate(R.id.action_login_to_register)
@@ -6,30 +6,34 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import android.widget.ProgressBar;
-import java.math.BigDecimal;
 import java.text.NumberFormat;
-import java.util.List;
-import java.util.stream.Collectors;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.util.FixedPreloadSizeProvider;
 import com.google.android.material.snackbar.Snackbar;
+import com.shipment.app.MainActivity;
 import com.shipment.app.R;
 import com.shipment.app.adapters.OrderSummaryAdapter;
 import androidx.navigation.fragment.NavHostFragment;
 import com.google.android.material.button.MaterialButton;
 import com.shipment.app.models.Order;
-import com.shipment.app.models.OrderItem;
-import com.shipment.app.models.OrderSummaryItem;
+import com.shipment.app.models.OrderStatus;
 import com.shipment.app.models.Address;
+import com.shipment.app.utils.DateTimeUtils;
+import com.shipment.app.utils.OrderSummaryMapper;
 import com.shipment.app.viewmodels.OrderDetailsViewModel;
-import java.text.SimpleDateFormat;
 import java.util.Locale;
 
 public class OrderDetailsFragment extends Fragment {
+    // About two screens of product rows
+    private static final int MAX_PRELOAD_ITEMS = 10;
+
     private OrderDetailsViewModel viewModel;
     private OrderSummaryAdapter adapter;
     private TextView orderNumber;
@@ -45,6 +49,8 @@ public class OrderDetailsFragment extends Fragment {
     private RecyclerView orderItemsRecycler;
     private ProgressBar loadingIndicator;
     private MaterialButton scanQrButton;
+    private OrderSummaryMapper summaryMapper;
+    private int imageSizePx;
     private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
 
     @Override
@@ -53,7 +59,10 @@ public class OrderDetailsFragment extends Fragment {
         viewModel = new ViewModelProvider(this, 
             ViewModelProvider.AndroidViewModelFactory.getInstance(requireActivity().getApplication()))
             .get(OrderDetailsViewModel.class);
-        adapter = new OrderSummaryAdapter();
+        imageSizePx = getResources().getDimensionPixelSize(R.dimen.product_image_size);
+        adapter = new OrderSummaryAdapter(Glide.with(this), imageSizePx,
+            ((MainActivity) requireActivity()).getRowViewPool());
+        summaryMapper = new OrderSummaryMapper(getResources());
     }
 
     @Nullable
@@ -90,8 +99,16 @@ public class OrderDetailsFragment extends Fragment {
     }
 
     private void setupRecyclerView() {
-        orderItemsRecycler.setLayoutManager(new LinearLayoutManager(requireContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        layoutManager.setRecycleChildrenOnDetach(true);
+        orderItemsRecycler.setLayoutManager(layoutManager);
+        // Holders scrapped by other list screens are reused here
+        orderItemsRecycler.setRecycledViewPool(((MainActivity) requireActivity())
+            .getRowViewPool().getRecycledViewPool());
         orderItemsRecycler.setAdapter(adapter);
+        // Images of rows about to scroll in are requested ahead of their bind
+        orderItemsRecycler.addOnScrollListener(new RecyclerViewPreloader<>(Glide.with(this), adapter,
+            new FixedPreloadSizeProvider<>(imageSizePx, imageSizePx), MAX_PRELOAD_ITEMS));
     }
 
     private void setupQrScanner() {
@@ -102,23 +119,6 @@ public class OrderDetailsFragment extends Fragment {
                 .navigate(R.id.action_order_details_to_qr_scanner));
     }
 
-    private String getStatusString(String status) {
-        switch (status.toLowerCase()) {
-            case "pending":
-                return getString(R.string.status_pending);
-            case "processing":
-                return getString(R.string.status_processing);
-            case "shipped":
-                return getString(R.string.status_shipped);
-            case "delivered":
-                return getString(R.string.status_delivered);
-            case "cancelled":
-                return getString(R.string.status_cancelled);
-            default:
-                return getString(R.string.status_pending);
-        }
-    }
-
     private void observeViewModel() {
         viewModel.getOrder().observe(getViewLifecycleOwner(), this::displayOrderDetails);
         viewModel.getIsLoading().observe(getViewLifecycleOwner(), this::updateLoadingState);
@@ -126,38 +126,18 @@ public class OrderDetailsFragment extends Fragment {
     }
 
     private void loadOrderDetails() {
-        String orderId = requireArguments().getString("orderId");
+        String orderId = OrderDetailsFragmentArgs.fromBundle(requireArguments()).getOrderId();
         if (orderId != null) {
             viewModel.loadOrderDetails(orderId);
         }
     }
 
-    private List<OrderSummaryItem> convertToSummaryItems(List<OrderItem> items) {
-        return items.stream()
-            .map(item -> new OrderSummaryItem.Builder()
-                .setProductId(item.getProduct().getId())
-                .setName(item.getProduct().getName())
-                .setPrice(item.getUnitPrice())
-                .setImageUrl(item.getProduct().getImageUrl())
-                .setQuantity(item.getQuantity())
-                .build())
-            .collect(Collectors.toList());
-    }
-
     private void displayOrderDetails(Order order) {
         if (order == null) return;
 
         orderNumber.setText(getString(R.string.order_number_format, order.getId()));
 
-        SimpleDateFormat displayFormat = new SimpleDateFormat("MMMM dd, yyyy", Locale.getDefault());
-        SimpleDateFormat parseFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
-        try {
-            java.util.Date date = parseFormat.parse(order.getCreatedAt());
-            orderDate.setText(displayFormat.format(date));
-        } catch (Exception e) {
-            // If date parsing fails, display the raw date string
-            orderDate.setText(order.getCreatedAt());
-        }
+        orderDate.setText(DateTimeUtils.formatDate(order.getCreatedAt()));
 
         updateOrderStatus(order.getStatus());
 
@@ -167,56 +147,22 @@ public class OrderDetailsFragment extends Fragment {
         shippingPhone.setVisibility(View.GONE);
         shippingEmail.setVisibility(View.GONE);
 
-        adapter.submitList(convertToSummaryItems(order.getItems()));
+        adapter.submitList(summaryMapper.map(order.getItems()));
 
         // Use total_fiat_amount directly since shipping cost is not available
-        BigDecimal totalAmount = new BigDecimal(order.getTotalFiatAmount());
-        subtotalText.setText(currencyFormatter.format(totalAmount));
+        String total = currencyFormatter.format(order.getTotalFiatAmount().toMajorUnits());
+        subtotalText.setText(total);
         shippingCostText.setVisibility(View.GONE);
-        totalText.setText(currencyFormatter.format(totalAmount));
+        totalText.setText(total);
     }
 
-    private void updateOrderStatus(String status) {
-        orderStatus.setText(getStatusString(status));
-        orderStatus.setBackgroundResource(getStatusBackgroundResource(status));
-        orderStatus.setCompoundDrawablesWithIntrinsicBounds(getStatusIconResource(status), 0, 0, 0);
+    private void updateOrderStatus(OrderStatus status) {
+        orderStatus.setText(status.getLabelRes());
+        orderStatus.setBackgroundResource(status.getBackgroundRes());
+        orderStatus.setCompoundDrawablesWithIntrinsicBounds(status.getIconRes(), 0, 0, 0);
         orderStatus.setCompoundDrawablePadding(getResources().getDimensionPixelSize(R.dimen.spacing_small));
     }
 
-    private int getStatusBackgroundResource(String status) {
-        switch (status.toLowerCase()) {
-            case "pending":
-                return R.drawable.status_pending;
-            case "processing":
-                return R.drawable.status_processing;
-            case "shipped":
-                return R.drawable.status_shipped;
-            case "delivered":
-                return R.drawable.status_delivered;
-            case "cancelled":
-                return R.drawable.status_cancelled;
-            default:
-                return R.drawable.status_pending;
-        }
-    }
-
-    private int getStatusIconResource(String status) {
-        switch (status.toLowerCase()) {
-            case "pending":
-                return R.drawable.ic_pending;
-            case "processing":
-                return R.drawable.ic_processing;
-            case "shipped":
-                return R.drawable.ic_shipped;
-            case "delivered":
-                return R.drawable.ic_delivered;
-            case "cancelled":
-                return R.drawable.ic_cancelled;
-            default:
-                return R.drawable.ic_pending;
-        }
-    }
-
     private void updateLoadingState(boolean isLoading) {
         loadingIndicator.setVisibility(isLoading ? View.VISIBLE : View.GONE);
     }
@@ -1,39 +1,103 @@
 package com.shipment.app.fragments;
 
 import android.os.Bundle;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.view.LayoutInflater;
+import android.view.Menu;
+import android.view.MenuItem;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.LinearLayout;
 import android.widget.ProgressBar;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.view.ActionMode;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.fragment.NavHostFragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 import com.google.android.material.snackbar.Snackbar;
+import com.shipment.app.MainActivity;
 import com.shipment.app.R;
+import com.shipment.app.adapters.OrderSummaryAdapter;
 import com.shipment.app.adapters.OrdersAdapter;
+import com.shipment.app.metrics.FrameStates;
 import com.shipment.app.models.Order;
+import com.shipment.app.models.OrderItem;
+import com.shipment.app.models.OrderRow;
+import com.shipment.app.models.OrderStatus;
 import com.shipment.app.viewmodels.OrdersViewModel;
+import com.shipment.app.utils.NetworkUtils;
 import com.shipment.app.viewmodels.OrdersViewModelFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 public class OrdersFragment extends Fragment implements OrdersAdapter.OnOrderClickListener {
+    // Rows from the top of the viewport whose details are fetched ahead of a tap
+    private static final int PREFETCH_ROWS = 5;
+
     private OrdersViewModel viewModel;
     private OrdersAdapter adapter;
     private SwipeRefreshLayout swipeRefresh;
     private RecyclerView ordersRecycler;
     private LinearLayout emptyView;
     private ProgressBar loadingIndicator;
+    // Non-null while multi-select is active
+    @Nullable
+    private ActionMode actionMode;
+    private boolean prefetchScheduled;
+
+    // Runs once the main thread has nothing else to do, so prefetching never costs a frame
+    private final MessageQueue.IdleHandler prefetchVisibleOrders = () -> {
+        prefetchScheduled = false;
+        prefetchVisibleOrders();
+        return false;
+    };
+
+    private final ActionMode.Callback selectionCallback = new ActionMode.Callback() {
+        @Override
+        public boolean onCreateActionMode(ActionMode mode, Menu menu) {
+            mode.getMenuInflater().inflate(R.menu.orders_selection_menu, menu);
+            return true;
+        }
+
+        @Override
+        public boolean onPrepareActionMode(ActionMode mode, Menu menu) {
+            return false;
+        }
+
+        @Override
+        public boolean onActionItemClicked(ActionMode mode, MenuItem item) {
+            OrderStatus status = statusForAction(item.getItemId());
+            if (status == null) {
+                return false;
+            }
+            // Clearing the selection finishes the action mode through the observer
+            viewModel.updateSelectedStatus(status);
+            return true;
+        }
+
+        @Override
+        public void onDestroyActionMode(ActionMode mode) {
+            // Null when the view is going away; the selection then survives recreation
+            if (actionMode != null) {
+                actionMode = null;
+                viewModel.clearSelection();
+            }
+        }
+    };
 
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         OrdersViewModelFactory factory = new OrdersViewModelFactory();
         viewModel = new ViewModelProvider(this, factory).get(OrdersViewModel.class);
-        adapter = new OrdersAdapter(this);
+        adapter = new OrdersAdapter(this, ((MainActivity) requireActivity()).getRowViewPool());
     }
 
     @Nullable
@@ -64,17 +128,126 @@ public class OrdersFragment extends Fragment implements OrdersAdapter.OnOrderCli
     }
 
     private void setupRecyclerView() {
+        // Holders scrapped by other list screens are reused here, and ours go back to the
+        // pool when this view is destroyed
+        ordersRecycler.setRecycledViewPool(((MainActivity) requireActivity())
+            .getRowViewPool().getRecycledViewPool());
+        ((LinearLayoutManager) ordersRecycler.getLayoutManager()).setRecycleChildrenOnDetach(true);
         ordersRecycler.setAdapter(adapter);
+        // While the list moves, frames are dominated by row binding
+        ordersRecycler.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    FrameStates.endPhase(recyclerView);
+                    schedulePrefetch();
+                } else {
+                    FrameStates.beginPhase(recyclerView, "binding OrdersAdapter");
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        FrameStates.enterScreen(requireView(), FrameStates.SCREEN_ORDERS);
+    }
+
+    @Override
+    public void onPause() {
+        super.onPause();
+        FrameStates.exitScreen(requireView());
     }
 
     private void observeViewModel() {
-        viewModel.getOrders().observe(getViewLifecycleOwner(), orders -> {
-            adapter.submitList(orders);
-            updateEmptyState(orders == null || orders.isEmpty());
+        viewModel.getOrderRows().observe(getViewLifecycleOwner(), rows -> {
+            FrameStates.markFrame(ordersRecycler, "applying OrdersAdapter diff");
+            adapter.submitList(rows, this::schedulePrefetch);
+            updateEmptyState(rows == null || rows.isEmpty());
         });
 
+        viewModel.getSelectedIds().observe(getViewLifecycleOwner(), this::updateSelection);
         viewModel.getIsLoading().observe(getViewLifecycleOwner(), this::updateLoadingState);
         viewModel.getError().observe(getViewLifecycleOwner(), this::showError);
+        viewModel.getRejectedStatusChanges().observe(getViewLifecycleOwner(), this::showRejected);
+    }
+
+    private void schedulePrefetch() {
+        if (!prefetchScheduled && getView() != null) {
+            prefetchScheduled = true;
+            Looper.myQueue().addIdleHandler(prefetchVisibleOrders);
+        }
+    }
+
+    /**
+     * Warms the details and product thumbnails of the top visible rows, which are the
+     * ones most likely to be tapped.
+     */
+    private void prefetchVisibleOrders() {
+        if (getView() == null || !(ordersRecycler.getLayoutManager() instanceof LinearLayoutManager)) {
+            return;
+        }
+        LinearLayoutManager layoutManager = (LinearLayoutManager) ordersRecycler.getLayoutManager();
+        int first = layoutManager.findFirstVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION) {
+            return;
+        }
+        List<OrderRow> rows = adapter.getCurrentList();
+        int last = Math.min(layoutManager.findLastVisibleItemPosition(), first + PREFETCH_ROWS - 1);
+        List<String> orderIds = new ArrayList<>();
+        for (int position = first; position <= last && position < rows.size(); position++) {
+            orderIds.add(rows.get(position).getId());
+        }
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        viewModel.prefetchDetails(orderIds);
+
+        if (!NetworkUtils.isPrefetchAllowed(requireContext())) {
+            return;
+        }
+        for (int position = first; position <= last && position < rows.size(); position++) {
+            List<OrderItem> items = rows.get(position).getOrder().getItems();
+            if (items == null) {
+                continue;
+            }
+            for (OrderItem item : items) {
+                if (item.getProduct() != null && item.getProduct().getImageUrl() != null) {
+                    OrderSummaryAdapter.preloadImage(requireContext(), item.getProduct().getImageUrl());
+                }
+            }
+        }
+    }
+
+    private void updateSelection(@NonNull Set<String> selectedIds) {
+        adapter.setSelectedIds(selectedIds);
+        if (selectedIds.isEmpty()) {
+            if (actionMode != null) {
+                actionMode.finish();
+            }
+            return;
+        }
+        if (actionMode == null) {
+            actionMode = ((AppCompatActivity) requireActivity()).startSupportActionMode(selectionCallback);
+        }
+        if (actionMode != null) {
+            actionMode.setTitle(getString(R.string.orders_selected_format, selectedIds.size()));
+        }
+    }
+
+    @Nullable
+    private static OrderStatus statusForAction(int itemId) {
+        if (itemId == R.id.action_mark_packed) {
+            return OrderStatus.PACKED;
+        } else if (itemId == R.id.action_mark_shipped) {
+            return OrderStatus.SHIPPED;
+        } else if (itemId == R.id.action_mark_delivered) {
+            return OrderStatus.DELIVERED;
+        } else if (itemId == R.id.action_cancel_orders) {
+            return OrderStatus.CANCELLED;
+        }
+        return null;
     }
 
     private void updateEmptyState(boolean isEmpty) {
@@ -103,11 +276,47 @@ public class OrdersFragment extends Fragment implements OrdersAdapter.OnOrderCli
         }
     }
 
+    private void showRejected(@Nullable Integer count) {
+        if (count == null || count == 0 || getView() == null) {
+            return;
+        }
+        Snackbar.make(getView(), getResources().getQuantityString(
+                R.plurals.orders_status_rejected, count, count), Snackbar.LENGTH_LONG)
+            .show();
+        viewModel.onRejectedStatusChangesShown();
+    }
+
+    @Override
+    public void onDestroyView() {
+        if (prefetchScheduled) {
+            prefetchScheduled = false;
+            Looper.myQueue().removeIdleHandler(prefetchVisibleOrders);
+        }
+        if (actionMode != null) {
+            ActionMode mode = actionMode;
+            actionMode = null;
+            mode.finish();
+        }
+        super.onDestroyView();
+    }
+
     @Override
     public void onOrderClick(Order order) {
-        Bundle args = new Bundle();
-        args.putString("orderId", order.getId());
+        if (adapter.isSelecting()) {
+            viewModel.toggleSelection(order.getId());
+            return;
+        }
+        // Only the id travels in the Bundle; details read the order from the shared cache
         NavHostFragment.findNavController(this)
-            .navigate(R.id.action_orders_to_order_details, args);
+            .navigate(OrdersFragmentDirections.actionOrdersToOrderDetails(order.getId()));
+    }
+
+    @Override
+    public boolean onOrderLongClick(Order order) {
+        if (!viewModel.canSelect()) {
+            return false;
+        }
+        viewModel.toggleSelection(order.getId());
+        return true;
     }
 }
\ No newline at end of file
@@ -13,17 +13,18 @@ import androidx.navigation.fragment.NavHostFragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.button.MaterialButton;
+import com.shipment.app.MainActivity;
 import com.shipment.app.R;
+import com.shipment.app.adapters.RowViewPool;
 import com.shipment.app.adapters.TimelineAdapter;
+import com.shipment.app.metrics.FrameStates;
 import com.shipment.app.api.responses.VerificationResponse;
 import com.shipment.app.models.Order;
 import com.shipment.app.models.Product;
 import com.shipment.app.models.TimelineEvent;
+import com.shipment.app.utils.DateTimeUtils;
 import com.shipment.app.viewmodels.ProductVerificationViewModel;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 
 public class ProductVerificationFragment extends Fragment {
     private ProductVerificationViewModel viewModel;
@@ -40,6 +41,7 @@ public class ProductVerificationFragment extends Fragment {
     private TextView verificationTime;
     private TextView errorMessage;
     private RecyclerView timelineRecycler;
+    private TimelineAdapter timelineAdapter;
     private MaterialButton verifyAnotherButton;
     private MaterialButton tryAgainButton;
 
@@ -79,7 +81,14 @@ public class ProductVerificationFragment extends Fragment {
         errorMessage = view.findViewById(R.id.error_message);
         timelineRecycler = view.findViewById(R.id.timeline_recycler);
         
-        timelineRecycler.setLayoutManager(new LinearLayoutManager(requireContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        layoutManager.setRecycleChildrenOnDetach(true);
+        timelineRecycler.setLayoutManager(layoutManager);
+        RowViewPool rowViewPool = ((MainActivity) requireActivity()).getRowViewPool();
+        timelineRecycler.setRecycledViewPool(rowViewPool.getRecycledViewPool());
+        // Kept for the view's lifetime; each result is diffed into it
+        timelineAdapter = new TimelineAdapter(rowViewPool);
+        timelineRecycler.setAdapter(timelineAdapter);
 
         verifyAnotherButton = view.findViewById(R.id.verify_another_button);
         verifyAnotherButton.setOnClickListener(v -> navigateToScanner());
@@ -88,6 +97,18 @@ public class ProductVerificationFragment extends Fragment {
         tryAgainButton.setOnClickListener(v -> navigateToScanner());
     }
 
+    @Override
+    public void onResume() {
+        super.onResume();
+        FrameStates.enterScreen(requireView(), FrameStates.SCREEN_VERIFICATION);
+    }
+
+    @Override
+    public void onPause() {
+        super.onPause();
+        FrameStates.exitScreen(requireView());
+    }
+
     private void setupObservers() {
         viewModel.getIsLoading().observe(getViewLifecycleOwner(), this::updateLoadingState);
         viewModel.getError().observe(getViewLifecycleOwner(), this::showError);
@@ -125,6 +146,7 @@ public class ProductVerificationFragment extends Fragment {
         loadingIndicator.setVisibility(View.GONE);
         verificationContent.setVisibility(View.VISIBLE);
         errorContent.setVisibility(View.GONE);
+        FrameStates.markFrame(verificationContent, "rendering verification result");
 
         VerificationResponse.VerificationData data = result.getVerificationResult();
         if (data == null) {
@@ -166,34 +188,30 @@ public class ProductVerificationFragment extends Fragment {
         Order order = data.getOrder();
         if (order != null) {
             orderId.setText(getString(R.string.order_id_format, order.getId()));
-            orderStatus.setText(getString(R.string.order_status_format, order.getStatus()));
+            orderStatus.setText(getString(R.string.order_status_format,
+                getString(order.getStatus().getLabelRes())));
 
             // Setup timeline
             List<TimelineEvent> timeline = order.getTimeline();
             if (timeline != null && !timeline.isEmpty()) {
-                timelineRecycler.setAdapter(new TimelineAdapter(timeline));
+                FrameStates.markFrame(timelineRecycler, "rendering timeline");
+                timelineAdapter.submitList(timeline);
             }
         }
 
         // Set verification time and NFT status
-        SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy HH:mm:ss", Locale.getDefault());
-        try {
-            SimpleDateFormat isoFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
-            Date verifiedDate = isoFormat.parse(data.getVerifiedAt());
-            verificationTime.setText(getString(R.string.verified_at_format, 
-                dateFormat.format(verifiedDate)));
-
-            // Add NFT verification status if available
-            if (data.getNftData() != null) {
-                if ("pending".equals(data.getNftData().getStatus())) {
-                    TextView nftStatus = view.findViewById(R.id.nft_status);
-                    nftStatus.setVisibility(View.VISIBLE);
-                    nftStatus.setText(data.getNftData().getMessage());
-                    nftStatus.setTextColor(getResources().getColor(R.color.warning, null));
-                }
+        long verifiedAt = data.getVerifiedAt();
+        verificationTime.setText(getString(R.string.verified_at_format,
+            verifiedAt != DateTimeUtils.UNKNOWN_TIME ? DateTimeUtils.formatDateTime(verifiedAt) : "Unknown"));
+
+        // Add NFT verification status if available
+        if (data.getNftData() != null) {
+            if ("pending".equals(data.getNftData().getStatus())) {
+                TextView nftStatus = requireView().findViewById(R.id.nft_status);
+                nftStatus.setVisibility(View.VISIBLE);
+                nftStatus.setText(data.getNftData().getMessage());
+                nftStatus.setTextColor(getResources().getColor(R.color.warning, null));
             }
-        } catch (Exception e) {
-            verificationTime.setText(getString(R.string.verified_at_format, "Unknown"));
         }
     }
 
@@ -24,6 +24,8 @@ import com.google.mlkit.vision.barcode.BarcodeScanning;
 import com.google.mlkit.vision.barcode.common.Barcode;
 import com.google.mlkit.vision.common.InputImage;
 import com.shipment.app.R;
+import com.shipment.app.metrics.MetricsRegistry;
+import com.shipment.app.metrics.Timer;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -33,6 +35,7 @@ public class QRScannerFragment extends Fragment {
     private PreviewView previewView;
     private ExecutorService cameraExecutor;
     private BarcodeScanner scanner;
+    private final Timer decodeTimer = MetricsRegistry.getInstance().timer("qr.decode");
     private boolean isScanning = true;
 
     @Override
@@ -111,6 +114,7 @@ public class QRScannerFragment extends Fragment {
                             image.getImageInfo().getRotationDegrees()
                     );
 
+                    long decodeStart = decodeTimer.start();
                     scanner.process(inputImage)
                             .addOnSuccessListener(barcodes -> {
                                 for (Barcode barcode : barcodes) {
@@ -122,7 +126,10 @@ public class QRScannerFragment extends Fragment {
                             })
                             .addOnFailureListener(e -> 
                                 showError(getString(R.string.qr_code_scan_error)))
-                            .addOnCompleteListener(task -> image.close());
+                            .addOnCompleteListener(task -> {
+                                decodeTimer.stop(decodeStart);
+                                image.close();
+                            });
                 });
 
                 CameraSelector cameraSelector = CameraSelector.DEFAULT_BACK_CAMERA;
@@ -0,0 +1,41 @@
+package com.shipment.app.glide;
+
+import androidx.annotation.NonNull;
+import java.util.Objects;
+
+/**
+ * Glide model for a product image. Loading a {@code ProductImage} instead of a plain URL
+ * goes through {@link ProductImageLoader}, which asks the server for a variant resized
+ * to the target view rather than the full upload.
+ */
+public final class ProductImage {
+    @NonNull
+    private final String url;
+
+    public ProductImage(@NonNull String url) {
+        this.url = url;
+    }
+
+    @NonNull
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return url.equals(((ProductImage) o).url);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(url);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return url;
+    }
+}
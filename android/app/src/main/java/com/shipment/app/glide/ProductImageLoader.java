@@ -0,0 +1,84 @@
+package com.shipment.app.glide;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.model.ModelCache;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import com.bumptech.glide.load.model.MultiModelLoaderFactory;
+import com.bumptech.glide.load.model.stream.BaseGlideUrlLoader;
+import java.io.InputStream;
+import okhttp3.HttpUrl;
+
+/**
+ * Turns a {@link ProductImage} into a URL for a server-side variant that fits the target
+ * size. Widths are rounded up to a few fixed buckets, so the server and the disk cache
+ * only ever hold a handful of variants per image. Images not served from
+ * {@code /uploads/products/} are loaded unchanged.
+ */
+public class ProductImageLoader extends BaseGlideUrlLoader<ProductImage> {
+    private static final String PRODUCT_UPLOADS_PATH = "/uploads/products/";
+    // Keep in sync with VARIANT_WIDTHS in server/src/middleware/imageVariants.mjs
+    private static final int[] WIDTH_BUCKETS = {96, 192, 384, 768, 1536};
+    private static final int MODEL_CACHE_SIZE = 500;
+
+    ProductImageLoader(@NonNull ModelLoader<GlideUrl, InputStream> concreteLoader,
+                       @NonNull ModelCache<ProductImage, GlideUrl> modelCache) {
+        super(concreteLoader, modelCache);
+    }
+
+    @Override
+    public boolean handles(@NonNull ProductImage model) {
+        return true;
+    }
+
+    @Override
+    protected String getUrl(ProductImage model, int width, int height, Options options) {
+        HttpUrl url = HttpUrl.parse(model.getUrl());
+        if (url == null || !url.encodedPath().startsWith(PRODUCT_UPLOADS_PATH)) {
+            return model.getUrl();
+        }
+        Integer bucket = widthBucketFor(Math.max(width, height));
+        if (bucket == null) {
+            return model.getUrl();
+        }
+        return url.newBuilder()
+            .setQueryParameter("w", String.valueOf(bucket))
+            .build()
+            .toString();
+    }
+
+    /**
+     * Returns the smallest bucket covering {@code size}, or null when the original is
+     * wanted ({@code Target.SIZE_ORIGINAL}) or larger than every bucket.
+     */
+    @Nullable
+    static Integer widthBucketFor(int size) {
+        if (size <= 0) {
+            return null;
+        }
+        for (int bucket : WIDTH_BUCKETS) {
+            if (size <= bucket) {
+                return bucket;
+            }
+        }
+        return null;
+    }
+
+    public static class Factory implements ModelLoaderFactory<ProductImage, InputStream> {
+        private final ModelCache<ProductImage, GlideUrl> modelCache = new ModelCache<>(MODEL_CACHE_SIZE);
+
+        @NonNull
+        @Override
+        public ModelLoader<ProductImage, InputStream> build(@NonNull MultiModelLoaderFactory multiFactory) {
+            return new ProductImageLoader(multiFactory.build(GlideUrl.class, InputStream.class), modelCache);
+        }
+
+        @Override
+        public void teardown() {
+            modelCache.clear();
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package com.shipment.app.glide;
 
+import android.app.ActivityManager;
 import android.content.Context;
-import android.graphics.Picture;
-import android.graphics.drawable.Drawable;
+import android.graphics.Bitmap;
 import android.graphics.drawable.PictureDrawable;
 import androidx.annotation.NonNull;
 import com.bumptech.glide.Glide;
-import com.shipment.app.R;
 import com.caverock.androidsvg.SVG;
+import com.shipment.app.metrics.DeviceClass;
 import java.io.InputStream;
 import com.bumptech.glide.GlideBuilder;
 import com.bumptech.glide.Registry;
@@ -25,19 +25,28 @@ import com.bumptech.glide.request.RequestOptions;
 
 @GlideModule
 public final class ShipmentGlideModule extends AppGlideModule {
+    private static final int MB = 1024 * 1024;
+    // Fractions of the per-app heap (ActivityManager.getMemoryClass) given to Glide
+    private static final int MEMORY_CACHE_DIVISOR = 8;
+    private static final int BITMAP_POOL_DIVISOR = 16;
+    private static final int LOW_END_DIVISOR_FACTOR = 2;
+    private static final int DISK_CACHE_MB = 100;
+    private static final int LOW_END_DISK_CACHE_MB = 40;
+
     @Override
     public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
-        // Calculate optimal memory cache size (15% of available memory)
-        int maxMemory = (int) (Runtime.getRuntime().maxMemory() / 1024);
-        int memoryCacheSize = maxMemory / 6;
-        builder.setMemoryCache(new LruResourceCache(memoryCacheSize * 1024));
-        
-        // Set disk cache size (50MB)
-        int diskCacheSizeBytes = 50 * 1024 * 1024;
-        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, diskCacheSizeBytes));
+        // Size caches from the heap the system grants this app rather than
+        // Runtime.maxMemory, which is much larger under largeHeap
+        ActivityManager activityManager =
+            (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        long memoryClassBytes = (long) (activityManager != null ? activityManager.getMemoryClass() : 64) * MB;
+        boolean lowEnd = DeviceClass.detect(context) == DeviceClass.LOW;
+        int factor = lowEnd ? LOW_END_DIVISOR_FACTOR : 1;
 
-        // Configure bitmap pool for recycling
-        builder.setBitmapPool(new LruBitmapPool(memoryCacheSize * 1024));
+        builder.setMemoryCache(new LruResourceCache(memoryClassBytes / (MEMORY_CACHE_DIVISOR * factor)));
+        builder.setBitmapPool(new LruBitmapPool(memoryClassBytes / (BITMAP_POOL_DIVISOR * factor)));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context,
+            (long) (lowEnd ? LOW_END_DISK_CACHE_MB : DISK_CACHE_MB) * MB));
         
         // Set default request options with improved configuration
         builder.setDefaultRequestOptions(
@@ -53,7 +62,6 @@ public final class ShipmentGlideModule extends AppGlideModule {
         );
 
         // Configure background thread settings
-        int cores = Math.max(1, Runtime.getRuntime().availableProcessors());
         builder.setSourceExecutor(GlideExecutor.newSourceExecutor())
                .setDiskCacheExecutor(GlideExecutor.newDiskCacheExecutor())
                .setAnimationExecutor(GlideExecutor.newAnimationExecutor());
@@ -61,13 +69,21 @@ public final class ShipmentGlideModule extends AppGlideModule {
 
     @Override
     public void registerComponents(@NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
-        // Register SVG handling components
-        registry.register(SVG.class, PictureDrawable.class, new SvgDrawableTranscoder())
-                .append(InputStream.class, SVG.class, new SvgDecoder());
+        // SVG sources decode to a bitmap rasterized at the target size, which Glide then
+        // caches like any other image. The PictureDrawable path stays for callers that
+        // explicitly ask for .as(PictureDrawable.class).
+        SvgDecoder svgDecoder = new SvgDecoder();
+        registry.prepend(Registry.BUCKET_BITMAP, InputStream.class, Bitmap.class,
+                    new SvgBitmapDecoder(svgDecoder, glide.getBitmapPool()))
+                .register(SVG.class, PictureDrawable.class, new SvgDrawableTranscoder())
+                .append(InputStream.class, SVG.class, svgDecoder);
+
+        // Product images are fetched as server-side variants sized to the target view
+        registry.prepend(ProductImage.class, InputStream.class, new ProductImageLoader.Factory());
     }
 
     @Override
     public boolean isManifestParsingEnabled() {
         return false;
     }
-}
\ No newline at end of file
+}
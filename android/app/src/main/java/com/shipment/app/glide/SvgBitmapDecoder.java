@@ -0,0 +1,77 @@
+package com.shipment.app.glide;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.load.resource.bitmap.BitmapResource;
+import com.bumptech.glide.request.target.Target;
+import com.caverock.androidsvg.RenderOptions;
+import com.caverock.androidsvg.SVG;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes SVG streams straight to a bitmap rasterized at the requested size. Unlike the
+ * {@link android.graphics.drawable.PictureDrawable} path, the result is an ordinary
+ * bitmap resource. Glide keeps it in its memory and disk caches keyed by size, and it
+ * draws with hardware acceleration, so an SVG is rendered once per size rather than on
+ * every bind.
+ */
+public class SvgBitmapDecoder implements ResourceDecoder<InputStream, Bitmap> {
+    // Used when the caller asks for the original size and the SVG declares none
+    private static final int DEFAULT_SIZE_PX = 512;
+
+    private final SvgDecoder svgDecoder;
+    private final BitmapPool bitmapPool;
+
+    public SvgBitmapDecoder(@NonNull SvgDecoder svgDecoder, @NonNull BitmapPool bitmapPool) {
+        this.svgDecoder = svgDecoder;
+        this.bitmapPool = bitmapPool;
+    }
+
+    @Override
+    public boolean handles(@NonNull InputStream source, @NonNull Options options) {
+        return svgDecoder.handles(source, options);
+    }
+
+    @Nullable
+    @Override
+    public Resource<Bitmap> decode(@NonNull InputStream source, int width, int height,
+                                   @NonNull Options options) throws IOException {
+        SVG svg = svgDecoder.decode(source, width, height, options).get();
+
+        float intrinsicWidth = svg.getDocumentWidth();
+        float intrinsicHeight = svg.getDocumentHeight();
+        if (svg.getDocumentViewBox() != null) {
+            intrinsicWidth = svg.getDocumentViewBox().width();
+            intrinsicHeight = svg.getDocumentViewBox().height();
+        }
+        if (intrinsicWidth <= 0 || intrinsicHeight <= 0) {
+            intrinsicWidth = DEFAULT_SIZE_PX;
+            intrinsicHeight = DEFAULT_SIZE_PX;
+        }
+
+        int targetWidth = width == Target.SIZE_ORIGINAL ? Math.round(intrinsicWidth) : width;
+        int targetHeight = height == Target.SIZE_ORIGINAL ? Math.round(intrinsicHeight) : height;
+        // Fit inside the target while keeping the document's aspect ratio
+        float scale = Math.min(targetWidth / intrinsicWidth, targetHeight / intrinsicHeight);
+        int bitmapWidth = Math.max(1, Math.round(intrinsicWidth * scale));
+        int bitmapHeight = Math.max(1, Math.round(intrinsicHeight * scale));
+
+        // Vector art almost always needs alpha, whatever the default decode format is
+        Bitmap bitmap = bitmapPool.get(bitmapWidth, bitmapHeight, Bitmap.Config.ARGB_8888);
+        bitmap.eraseColor(Color.TRANSPARENT);
+        Canvas canvas = new Canvas(bitmap);
+        // Parsed documents are shared through SvgDecoder's cache and rendering is not thread-safe
+        synchronized (svg) {
+            svg.renderToCanvas(canvas, new RenderOptions().viewPort(0, 0, bitmapWidth, bitmapHeight));
+        }
+        return BitmapResource.obtain(bitmap, bitmapPool);
+    }
+}
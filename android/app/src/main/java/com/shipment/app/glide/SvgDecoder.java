@@ -2,6 +2,7 @@ package com.shipment.app.glide;
 
 import androidx.annotation.NonNull;
 import android.util.Log;
+import android.util.LruCache;
 import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.ResourceDecoder;
 import com.bumptech.glide.load.engine.Resource;
@@ -9,16 +10,27 @@ import com.bumptech.glide.load.resource.SimpleResource;
 import com.caverock.androidsvg.SVG;
 import com.caverock.androidsvg.SVGParseException;
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
+/**
+ * Parses SVG streams. Parsed documents are cached by content hash, so the same logo
+ * requested at several sizes is parsed only once.
+ */
 public class SvgDecoder implements ResourceDecoder<InputStream, SVG> {
     private static final String TAG = "SvgDecoder";
+    private static final int PARSED_CACHE_SIZE = 32;
     private static final int HEADER_BUFFER_SIZE = 128;
     private static final String SVG_START_PATTERN = "<?xml";
     private static final String SVG_TAG_PATTERN = "<svg";
 
+    private final LruCache<String, SVG> parsedCache = new LruCache<>(PARSED_CACHE_SIZE);
+
     @Override
     public boolean handles(@NonNull InputStream source, @NonNull Options options) {
         try {
@@ -46,18 +58,46 @@ public class SvgDecoder implements ResourceDecoder<InputStream, SVG> {
     @Override
     public Resource<SVG> decode(@NonNull InputStream source, int width, int height,
                                @NonNull Options options) throws IOException {
+        byte[] bytes = readFully(source);
+        String key = contentKey(bytes);
+        SVG cached = parsedCache.get(key);
+        if (cached != null) {
+            return new SimpleResource<>(cached);
+        }
+
         try {
-            BufferedInputStream bufferedSource = source instanceof BufferedInputStream 
-                ? (BufferedInputStream) source 
-                : new BufferedInputStream(source);
-                
-            SVG svg = SVG.getFromInputStream(bufferedSource);
+            SVG svg = SVG.getFromInputStream(new ByteArrayInputStream(bytes));
             if (svg == null) {
                 throw new IOException("Failed to parse SVG - result was null");
             }
+            parsedCache.put(key, svg);
             return new SimpleResource<>(svg);
         } catch (SVGParseException e) {
             throw new IOException("Error parsing SVG", e);
         }
     }
-}
\ No newline at end of file
+
+    private static byte[] readFully(InputStream source) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = source.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static String contentKey(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder key = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Android release ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
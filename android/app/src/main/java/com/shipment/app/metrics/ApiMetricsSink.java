@@ -0,0 +1,48 @@
+package com.shipment.app.metrics;
+
+import androidx.annotation.NonNull;
+import com.shipment.app.api.instrumentation.CallMetrics;
+import com.shipment.app.api.instrumentation.NetworkMetricsSink;
+
+/**
+ * Feeds sampled HTTP calls into the registry. Latency is recorded per
+ * {@code ApiService} method, and connection phases are recorded across all calls.
+ */
+public class ApiMetricsSink implements NetworkMetricsSink {
+    private final MetricsRegistry registry;
+    private final Timer dns;
+    private final Timer connect;
+    private final Timer tls;
+    private final Timer ttfb;
+    private final Histogram responseBytes;
+    private final Counter failures;
+
+    public ApiMetricsSink(@NonNull MetricsRegistry registry) {
+        this.registry = registry;
+        this.dns = registry.timer("http.dns");
+        this.connect = registry.timer("http.connect");
+        this.tls = registry.timer("http.tls");
+        this.ttfb = registry.timer("http.ttfb");
+        this.responseBytes = registry.histogram("http.response_bytes", MetricsRegistry.UNIT_BYTES);
+        this.failures = registry.counter("http.failures");
+    }
+
+    @Override
+    public void record(@NonNull CallMetrics metrics) {
+        registry.timer("api." + metrics.getEndpoint()).recordMillis(metrics.getTotalMs());
+        recordPhase(dns, metrics.getDnsMs());
+        recordPhase(connect, metrics.getConnectMs());
+        recordPhase(tls, metrics.getTlsMs());
+        recordPhase(ttfb, metrics.getTtfbMs());
+        responseBytes.record(metrics.getResponseBytes());
+        if (!metrics.isSuccess() || metrics.getStatusCode() >= 400) {
+            failures.increment();
+        }
+    }
+
+    private static void recordPhase(Timer timer, long millis) {
+        if (millis != CallMetrics.NOT_MEASURED) {
+            timer.recordMillis(millis);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.shipment.app.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic event count for the current flush interval.
+ */
+public class Counter {
+    private final AtomicLong count = new AtomicLong();
+
+    public void increment() {
+        count.incrementAndGet();
+    }
+
+    public void add(long delta) {
+        count.addAndGet(delta);
+    }
+
+    long getAndReset() {
+        return count.getAndSet(0);
+    }
+}
@@ -0,0 +1,55 @@
+package com.shipment.app.metrics;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import androidx.annotation.NonNull;
+
+/**
+ * Coarse device tier attached to every metrics batch, so percentiles from low-end
+ * hardware are not averaged away by flagship devices.
+ */
+public enum DeviceClass {
+    LOW("low"),
+    MID("mid"),
+    HIGH("high");
+
+    private static final long LOW_RAM_BYTES = 2L * 1024 * 1024 * 1024;
+    private static final long HIGH_RAM_BYTES = 6L * 1024 * 1024 * 1024;
+    private static final int HIGH_CORE_COUNT = 8;
+
+    @NonNull
+    private final String value;
+
+    DeviceClass(@NonNull String value) {
+        this.value = value;
+    }
+
+    @NonNull
+    public String getValue() {
+        return value;
+    }
+
+    @NonNull
+    public static DeviceClass detect(@NonNull Context context) {
+        ActivityManager activityManager =
+            (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        if (activityManager == null) {
+            return MID;
+        }
+        if (activityManager.isLowRamDevice()) {
+            return LOW;
+        }
+
+        ActivityManager.MemoryInfo memoryInfo = new ActivityManager.MemoryInfo();
+        activityManager.getMemoryInfo(memoryInfo);
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        if (memoryInfo.totalMem < LOW_RAM_BYTES) {
+            return LOW;
+        }
+        if (memoryInfo.totalMem >= HIGH_RAM_BYTES && cores >= HIGH_CORE_COUNT) {
+            return HIGH;
+        }
+        return MID;
+    }
+}
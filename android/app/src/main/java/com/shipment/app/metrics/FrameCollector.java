@@ -0,0 +1,18 @@
+package com.shipment.app.metrics;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Receives one callback per rendered frame from {@link FrameMonitor}. Frames arrive on
+ * the main thread at display rate, so implementations must not allocate or block.
+ */
+public interface FrameCollector {
+    /**
+     * @param screen screen that was visible, or {@code null} outside a tracked screen
+     * @param phase  work in progress when the frame was drawn, e.g. "binding OrdersAdapter"
+     */
+    @MainThread
+    void onFrame(@Nullable String screen, @Nullable String phase, long durationNanos, boolean isJank);
+}
@@ -0,0 +1,61 @@
+package com.shipment.app.metrics;
+
+import android.app.Activity;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.metrics.performance.FrameData;
+import androidx.metrics.performance.JankStats;
+import androidx.metrics.performance.StateInfo;
+import java.util.List;
+
+/**
+ * Tracks frame durations for an activity window with JankStats and passes each frame,
+ * labeled with its {@link FrameStates}, to a {@link FrameCollector}. Tracking is
+ * paused while the activity is not resumed.
+ */
+public class FrameMonitor implements DefaultLifecycleObserver {
+    private final JankStats jankStats;
+
+    private FrameMonitor(@NonNull Activity activity, @NonNull FrameCollector collector) {
+        this.jankStats = JankStats.createAndTrack(activity.getWindow(),
+            frameData -> dispatch(frameData, collector));
+    }
+
+    /**
+     * Starts monitoring {@code activity}. The returned monitor follows the activity's
+     * lifecycle and needs no further calls.
+     */
+    @NonNull
+    public static <T extends Activity & LifecycleOwner> FrameMonitor install(
+            @NonNull T activity, @NonNull FrameCollector collector) {
+        FrameMonitor monitor = new FrameMonitor(activity, collector);
+        activity.getLifecycle().addObserver(monitor);
+        return monitor;
+    }
+
+    private static void dispatch(FrameData frameData, FrameCollector collector) {
+        String screen = null;
+        String phase = null;
+        List<StateInfo> states = frameData.getStates();
+        for (int i = 0; i < states.size(); i++) {
+            StateInfo state = states.get(i);
+            if (FrameStates.KEY_SCREEN.equals(state.getKey())) {
+                screen = state.getValue();
+            } else if (FrameStates.KEY_PHASE.equals(state.getKey())) {
+                phase = state.getValue();
+            }
+        }
+        collector.onFrame(screen, phase, frameData.getFrameDurationUiNanos(), frameData.isJank());
+    }
+
+    @Override
+    public void onResume(@NonNull LifecycleOwner owner) {
+        jankStats.setTrackingEnabled(true);
+    }
+
+    @Override
+    public void onPause(@NonNull LifecycleOwner owner) {
+        jankStats.setTrackingEnabled(false);
+    }
+}
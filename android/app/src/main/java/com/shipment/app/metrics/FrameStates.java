@@ -0,0 +1,69 @@
+package com.shipment.app.metrics;
+
+import android.view.View;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.metrics.performance.PerformanceMetricsState;
+
+/**
+ * Labels frames with the visible screen and the work in progress, so
+ * {@link FrameMonitor} can attribute jank. States are stored on the window's view
+ * hierarchy, so fragments only need one of their own views to set them.
+ */
+public final class FrameStates {
+    static final String KEY_SCREEN = "screen";
+    static final String KEY_PHASE = "phase";
+
+    public static final String SCREEN_ORDERS = "orders";
+    public static final String SCREEN_VERIFICATION = "verification";
+
+    private FrameStates() {
+    }
+
+    public static void enterScreen(@NonNull View view, @NonNull String screen) {
+        PerformanceMetricsState state = stateFor(view);
+        if (state != null) {
+            state.putState(KEY_SCREEN, screen);
+        }
+    }
+
+    public static void exitScreen(@NonNull View view) {
+        PerformanceMetricsState state = stateFor(view);
+        if (state != null) {
+            state.removeState(KEY_SCREEN);
+            state.removeState(KEY_PHASE);
+        }
+    }
+
+    /**
+     * Marks every frame as belonging to {@code phase} until {@link #endPhase(View)}.
+     */
+    public static void beginPhase(@NonNull View view, @NonNull String phase) {
+        PerformanceMetricsState state = stateFor(view);
+        if (state != null) {
+            state.putState(KEY_PHASE, phase);
+        }
+    }
+
+    public static void endPhase(@NonNull View view) {
+        PerformanceMetricsState state = stateFor(view);
+        if (state != null) {
+            state.removeState(KEY_PHASE);
+        }
+    }
+
+    /**
+     * Marks only the next frame, for one-shot work such as applying a new list.
+     */
+    public static void markFrame(@NonNull View view, @NonNull String phase) {
+        PerformanceMetricsState state = stateFor(view);
+        if (state != null) {
+            state.putSingleFrameState(KEY_PHASE, phase);
+        }
+    }
+
+    @Nullable
+    private static PerformanceMetricsState stateFor(View view) {
+        return PerformanceMetricsState.getHolderForHierarchy(view).getState();
+    }
+}
@@ -0,0 +1,94 @@
+package com.shipment.app.metrics;
+
+import androidx.annotation.NonNull;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size log-linear histogram in the style of HdrHistogram. Values below 32 get
+ * exact buckets. Above that, each power of two is split into 16 linear sub-buckets,
+ * which keeps relative error under 1/16 (about 6%) up to 2^32. Memory use is fixed, and
+ * {@link #record(long)} is a single atomic increment with no allocation, so it is safe
+ * on the main thread and in bind paths.
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    private static final int MAX_MAGNITUDE = 32;
+    static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (MAX_MAGNITUDE - SUB_BUCKET_BITS) * SUB_BUCKET_HALF;
+
+    private final String unit;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram(@NonNull String unit) {
+        this.unit = unit;
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long currentMax;
+        while (value > (currentMax = max.get())) {
+            if (max.compareAndSet(currentMax, value)) {
+                break;
+            }
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        if (msb >= MAX_MAGNITUDE) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = msb - (SUB_BUCKET_BITS - 1);
+        int top = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (top - SUB_BUCKET_HALF);
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF + 1;
+        long top = offset % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return top << shift;
+    }
+
+    /**
+     * Drains the recorded values into a sparse snapshot and starts a new interval.
+     */
+    @NonNull
+    HistogramSnapshot snapshotAndReset(@NonNull String name) {
+        int nonEmpty = 0;
+        long[] drained = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            drained[i] = buckets.getAndSet(i, 0);
+            if (drained[i] != 0) {
+                nonEmpty++;
+            }
+        }
+        long[] values = new long[nonEmpty];
+        long[] counts = new long[nonEmpty];
+        for (int i = 0, j = 0; i < BUCKET_COUNT; i++) {
+            if (drained[i] != 0) {
+                values[j] = bucketLowerBound(i);
+                counts[j] = drained[i];
+                j++;
+            }
+        }
+        return new HistogramSnapshot(name, unit, count.getAndSet(0), sum.getAndSet(0),
+            max.getAndSet(0), values, counts);
+    }
+}
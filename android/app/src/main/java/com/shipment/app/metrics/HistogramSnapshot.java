@@ -0,0 +1,79 @@
+package com.shipment.app.metrics;
+
+import androidx.annotation.NonNull;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Sparse, serializable copy of a {@link Histogram} interval. Buckets are sent as
+ * parallel arrays of bucket lower bounds and counts, so the server can merge
+ * intervals from many devices before it computes percentiles.
+ */
+public class HistogramSnapshot {
+    @SerializedName("name")
+    private final String name;
+
+    @SerializedName("unit")
+    private final String unit;
+
+    @SerializedName("count")
+    private final long count;
+
+    @SerializedName("sum")
+    private final long sum;
+
+    @SerializedName("max")
+    private final long max;
+
+    @SerializedName("p50")
+    private final long p50;
+
+    @SerializedName("p95")
+    private final long p95;
+
+    @SerializedName("p99")
+    private final long p99;
+
+    @SerializedName("bucketValues")
+    private final long[] bucketValues;
+
+    @SerializedName("bucketCounts")
+    private final long[] bucketCounts;
+
+    HistogramSnapshot(@NonNull String name, @NonNull String unit, long count, long sum, long max,
+                      @NonNull long[] bucketValues, @NonNull long[] bucketCounts) {
+        this.name = name;
+        this.unit = unit;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+        this.bucketValues = bucketValues;
+        this.bucketCounts = bucketCounts;
+        this.p50 = valueAtPercentile(50);
+        this.p95 = valueAtPercentile(95);
+        this.p99 = valueAtPercentile(99);
+    }
+
+    private long valueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if (seen >= target) {
+                return Math.min(bucketValues[i], max);
+            }
+        }
+        return max;
+    }
+
+    public String getName() { return name; }
+    public String getUnit() { return unit; }
+    public long getCount() { return count; }
+    public long getSum() { return sum; }
+    public long getMax() { return max; }
+    public long getP50() { return p50; }
+    public long getP95() { return p95; }
+    public long getP99() { return p99; }
+}
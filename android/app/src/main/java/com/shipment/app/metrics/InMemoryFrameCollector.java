@@ -0,0 +1,58 @@
+package com.shipment.app.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stand-in collector that keeps frame results in memory instead of reporting them.
+ * Install it with {@code ShipmentApplication#setFrameCollector} in instrumented tests or
+ * local profiling sessions, then check jank counts per screen and phase.
+ */
+public class InMemoryFrameCollector implements FrameCollector {
+    private final Map<String, Integer> frameCounts = new HashMap<>();
+    private final Map<String, Integer> jankCounts = new HashMap<>();
+    private final List<String> jankPhases = new ArrayList<>();
+
+    @Override
+    public synchronized void onFrame(@Nullable String screen, @Nullable String phase,
+                                     long durationNanos, boolean isJank) {
+        increment(frameCounts, screen);
+        if (isJank) {
+            increment(jankCounts, screen);
+            jankPhases.add(screen + "/" + phase);
+        }
+    }
+
+    private static void increment(Map<String, Integer> counts, String key) {
+        Integer current = counts.get(key);
+        counts.put(key, current != null ? current + 1 : 1);
+    }
+
+    public synchronized int getFrameCount(@Nullable String screen) {
+        Integer count = frameCounts.get(screen);
+        return count != null ? count : 0;
+    }
+
+    public synchronized int getJankCount(@Nullable String screen) {
+        Integer count = jankCounts.get(screen);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Janky frames in arrival order, formatted as {@code screen/phase}.
+     */
+    @NonNull
+    public synchronized List<String> getJankPhases() {
+        return new ArrayList<>(jankPhases);
+    }
+
+    public synchronized void clear() {
+        frameCounts.clear();
+        jankCounts.clear();
+        jankPhases.clear();
+    }
+}
@@ -0,0 +1,111 @@
+package com.shipment.app.metrics;
+
+import androidx.annotation.NonNull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide store of counters, histograms and timers. Metrics are created on first
+ * use and live for the lifetime of the process. Hot paths should look a metric up once
+ * and keep the reference, so recording stays allocation-free.
+ */
+public class MetricsRegistry {
+    public static final String UNIT_MICROS = "us";
+    public static final String UNIT_BYTES = "bytes";
+
+    private static volatile MetricsRegistry instance;
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+        // Private constructor
+    }
+
+    @NonNull
+    public static MetricsRegistry getInstance() {
+        if (instance == null) {
+            synchronized (MetricsRegistry.class) {
+                if (instance == null) {
+                    instance = new MetricsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    @NonNull
+    public Counter counter(@NonNull String name) {
+        Counter counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    @NonNull
+    public Histogram histogram(@NonNull String name, @NonNull String unit) {
+        Histogram histogram = histograms.get(name);
+        return histogram != null ? histogram : histograms.computeIfAbsent(name, key -> new Histogram(unit));
+    }
+
+    @NonNull
+    public Timer timer(@NonNull String name) {
+        Timer timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, key -> new Timer());
+    }
+
+    /**
+     * Drains every metric into a snapshot, leaving out those with nothing recorded since
+     * the previous call.
+     */
+    @NonNull
+    public Snapshot snapshotAndReset() {
+        Map<String, Long> counterValues = new HashMap<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            long value = entry.getValue().getAndReset();
+            if (value != 0) {
+                counterValues.put(entry.getKey(), value);
+            }
+        }
+
+        List<HistogramSnapshot> histogramValues = new ArrayList<>();
+        for (Map.Entry<String, Timer> entry : timers.entrySet()) {
+            addIfNotEmpty(histogramValues,
+                entry.getValue().getHistogram().snapshotAndReset(entry.getKey()));
+        }
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            addIfNotEmpty(histogramValues, entry.getValue().snapshotAndReset(entry.getKey()));
+        }
+        return new Snapshot(counterValues, histogramValues);
+    }
+
+    private static void addIfNotEmpty(List<HistogramSnapshot> target, HistogramSnapshot snapshot) {
+        if (snapshot.getCount() > 0) {
+            target.add(snapshot);
+        }
+    }
+
+    public static class Snapshot {
+        private final Map<String, Long> counters;
+        private final List<HistogramSnapshot> histograms;
+
+        Snapshot(Map<String, Long> counters, List<HistogramSnapshot> histograms) {
+            this.counters = counters;
+            this.histograms = histograms;
+        }
+
+        public Map<String, Long> getCounters() {
+            return counters;
+        }
+
+        public List<HistogramSnapshot> getHistograms() {
+            return histograms;
+        }
+
+        public boolean isEmpty() {
+            return counters.isEmpty() && histograms.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.shipment.app.metrics;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import com.shipment.app.BuildConfig;
+import com.shipment.app.api.ApiService;
+import com.shipment.app.api.requests.MetricsBatchRequest;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import retrofit2.Response;
+
+/**
+ * Periodically drains the {@link MetricsRegistry} and posts one batch to the server.
+ * Uploads are best effort. A failed batch is dropped instead of retried, so telemetry
+ * can never build up a backlog that competes with real traffic.
+ */
+public class MetricsUploader {
+    private static final String TAG = "MetricsUploader";
+    private static final long FLUSH_INTERVAL_SECONDS = 60;
+
+    private final ApiService apiService;
+    private final MetricsRegistry registry;
+    private final DeviceClass deviceClass;
+    private final ScheduledExecutorService scheduler;
+    private long intervalStartMs = System.currentTimeMillis();
+
+    public MetricsUploader(@NonNull ApiService apiService, @NonNull MetricsRegistry registry,
+                           @NonNull DeviceClass deviceClass) {
+        this.apiService = apiService;
+        this.registry = registry;
+        this.deviceClass = deviceClass;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, TAG);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::flush,
+            FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Schedules an immediate flush, for example when the app moves to the background.
+     */
+    public void flushNow() {
+        scheduler.execute(this::flush);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void flush() {
+        long intervalEndMs = System.currentTimeMillis();
+        MetricsRegistry.Snapshot snapshot = registry.snapshotAndReset();
+        long startMs = intervalStartMs;
+        intervalStartMs = intervalEndMs;
+        if (snapshot.isEmpty()) {
+            return;
+        }
+
+        MetricsBatchRequest batch = new MetricsBatchRequest.Builder()
+            .setDeviceClass(deviceClass.getValue())
+            .setSdkInt(android.os.Build.VERSION.SDK_INT)
+            .setAppVersion(BuildConfig.VERSION_NAME)
+            .setIntervalStartMs(startMs)
+            .setIntervalEndMs(intervalEndMs)
+            .setCounters(snapshot.getCounters())
+            .setHistograms(snapshot.getHistograms())
+            .build();
+        try {
+            Response<Void> response = apiService.uploadMetrics(batch).execute();
+            if (!response.isSuccessful()) {
+                Log.w(TAG, "Metrics upload rejected: " + response.code());
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Metrics upload failed, dropping batch", e);
+        }
+    }
+}
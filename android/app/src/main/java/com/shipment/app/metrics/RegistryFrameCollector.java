@@ -0,0 +1,68 @@
+package com.shipment.app.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Feeds frame data into the {@link MetricsRegistry}. For each screen it records a frame
+ * time histogram and frame and jank counters. Janky frames are also counted per phase,
+ * which shows which work caused the stutter.
+ */
+public class RegistryFrameCollector implements FrameCollector {
+    private static final String NO_SCREEN = "other";
+    private static final String NO_PHASE = "idle";
+
+    private final MetricsRegistry registry;
+    // Only touched on the main thread
+    private final Map<String, ScreenMetrics> screens = new HashMap<>();
+
+    public RegistryFrameCollector(@NonNull MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onFrame(@Nullable String screen, @Nullable String phase, long durationNanos, boolean isJank) {
+        String screenName = screen != null ? screen : NO_SCREEN;
+        ScreenMetrics metrics = screens.get(screenName);
+        if (metrics == null) {
+            metrics = new ScreenMetrics(registry, screenName);
+            screens.put(screenName, metrics);
+        }
+
+        metrics.frameTime.recordNanos(durationNanos);
+        metrics.frames.increment();
+        if (isJank) {
+            metrics.jankFrames.increment();
+            metrics.jankCounter(phase != null ? phase : NO_PHASE).increment();
+        }
+    }
+
+    private static class ScreenMetrics {
+        final MetricsRegistry registry;
+        final String screen;
+        final Timer frameTime;
+        final Counter frames;
+        final Counter jankFrames;
+        // Phases are constants, so after the first janky frame of each the lookup allocates nothing
+        final Map<String, Counter> jankByPhase = new HashMap<>();
+
+        ScreenMetrics(MetricsRegistry registry, String screen) {
+            this.registry = registry;
+            this.screen = screen;
+            frameTime = registry.timer("frame." + screen);
+            frames = registry.counter("frames." + screen);
+            jankFrames = registry.counter("jank_frames." + screen);
+        }
+
+        Counter jankCounter(String phase) {
+            Counter counter = jankByPhase.get(phase);
+            if (counter == null) {
+                counter = registry.counter("jank." + screen + "." + phase);
+                jankByPhase.put(phase, counter);
+            }
+            return counter;
+        }
+    }
+}
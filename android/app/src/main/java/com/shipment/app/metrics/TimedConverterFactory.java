@@ -0,0 +1,58 @@
+package com.shipment.app.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.shipment.app.api.cbor.CborConverterFactory;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Wraps another converter factory and records how long response deserialization takes.
+ * Reading the body happens inside the converter, so the timing covers streaming the
+ * payload as well as building the objects. CBOR and JSON bodies are timed separately,
+ * so the two wire formats can be compared on real traffic.
+ */
+public class TimedConverterFactory extends Converter.Factory {
+    private final Converter.Factory delegate;
+    private final Timer jsonParseTimer;
+    private final Timer cborParseTimer;
+
+    public TimedConverterFactory(@NonNull Converter.Factory delegate, @NonNull MetricsRegistry registry) {
+        this.delegate = delegate;
+        this.jsonParseTimer = registry.timer("json.parse");
+        this.cborParseTimer = registry.timer("cbor.parse");
+    }
+
+    @Nullable
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(@NonNull Type type,
+                                                            @NonNull Annotation[] annotations,
+                                                            @NonNull Retrofit retrofit) {
+        Converter<ResponseBody, ?> converter = delegate.responseBodyConverter(type, annotations, retrofit);
+        if (converter == null) {
+            return null;
+        }
+        return body -> {
+            Timer parseTimer = CborConverterFactory.isCbor(body.contentType()) ? cborParseTimer : jsonParseTimer;
+            long start = parseTimer.start();
+            try {
+                return converter.convert(body);
+            } finally {
+                parseTimer.stop(start);
+            }
+        };
+    }
+
+    @Nullable
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(@NonNull Type type,
+                                                          @NonNull Annotation[] parameterAnnotations,
+                                                          @NonNull Annotation[] methodAnnotations,
+                                                          @NonNull Retrofit retrofit) {
+        return delegate.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+    }
+}
@@ -0,0 +1,31 @@
+package com.shipment.app.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histogram recorded in microseconds. Callers capture {@link #start()} and
+ * pass it back to {@link #stop(long)}, so a timing allocates nothing.
+ */
+public class Timer {
+    private final Histogram histogram = new Histogram(MetricsRegistry.UNIT_MICROS);
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    public void stop(long startNanos) {
+        histogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+
+    public void recordMillis(long millis) {
+        histogram.record(TimeUnit.MILLISECONDS.toMicros(millis));
+    }
+
+    public void recordNanos(long nanos) {
+        histogram.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    Histogram getHistogram() {
+        return histogram;
+    }
+}
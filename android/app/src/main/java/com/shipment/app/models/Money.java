@@ -0,0 +1,111 @@
+package com.shipment.app.models;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable monetary amount held as a scaled long in minor units (cents), so
+ * comparisons and arithmetic never go through {@link BigDecimal} or boxing.
+ */
+public final class Money {
+    public static final String DEFAULT_CURRENCY = "USD";
+    /** Matches the DECIMAL(10, 2) columns the server stores amounts in. */
+    public static final int SCALE = 2;
+    private static final long MINOR_PER_MAJOR = 100L;
+
+    public static final Money ZERO = new Money(0L, DEFAULT_CURRENCY);
+
+    private final long minorUnits;
+    @NonNull
+    private final String currencyCode;
+
+    private Money(long minorUnits, @NonNull String currencyCode) {
+        this.minorUnits = minorUnits;
+        this.currencyCode = currencyCode;
+    }
+
+    @NonNull
+    public static Money ofMinor(long minorUnits, @Nullable String currencyCode) {
+        String currency = currencyCode != null ? currencyCode : DEFAULT_CURRENCY;
+        if (minorUnits == 0L && DEFAULT_CURRENCY.equals(currency)) {
+            return ZERO;
+        }
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * Parses a decimal amount such as {@code "209.98"}. Malformed input yields
+     * {@link #ZERO} rather than throwing, since it comes straight off the wire.
+     */
+    @NonNull
+    public static Money parse(@Nullable String amount, @Nullable String currencyCode) {
+        if (amount == null || amount.isEmpty()) {
+            return ofMinor(0L, currencyCode);
+        }
+        try {
+            long minor = new BigDecimal(amount.trim())
+                .setScale(SCALE, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .longValueExact();
+            return ofMinor(minor, currencyCode);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return ofMinor(0L, currencyCode);
+        }
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    @NonNull
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    /**
+     * Amount in major units for handing to a {@link java.text.NumberFormat}. Exact for
+     * any value the DECIMAL(10, 2) columns can hold.
+     */
+    public double toMajorUnits() {
+        return (double) minorUnits / MINOR_PER_MAJOR;
+    }
+
+    @NonNull
+    public Money times(int quantity) {
+        return ofMinor(minorUnits * quantity, currencyCode);
+    }
+
+    @NonNull
+    public Money plus(@NonNull Money other) {
+        if (!currencyCode.equals(other.currencyCode)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currencyCode + " vs " + other.currencyCode);
+        }
+        return ofMinor(minorUnits + other.minorUnits, currencyCode);
+    }
+
+    @NonNull
+    public String toDecimalString() {
+        return BigDecimal.valueOf(minorUnits, SCALE).toPlainString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money)) return false;
+        Money other = (Money) o;
+        return minorUnits == other.minorUnits && currencyCode.equals(other.currencyCode);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currencyCode.hashCode();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return toDecimalString() + " " + currencyCode;
+    }
+}
@@ -3,22 +3,27 @@ package com.shipment.app.models;
 import android.os.Parcel;
 import android.os.Parcelable;
 import androidx.annotation.NonNull;
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.math.BigDecimal;
 import com.shipment.app.models.TimelineEvent;
+import com.shipment.app.utils.IsoTimestampTypeAdapter;
+import com.shipment.app.utils.MoneyTypeAdapter;
+import com.shipment.app.utils.OrderStatusTypeAdapter;
 
 public class Order implements Parcelable {
     @SerializedName("id")
     private String id;
 
     @SerializedName("status")
-    private String status;
+    @JsonAdapter(OrderStatusTypeAdapter.class)
+    private OrderStatus status;
 
     @SerializedName("total_fiat_amount")
-    private String totalFiatAmount;
+    @JsonAdapter(MoneyTypeAdapter.class)
+    private Money totalFiatAmount;
 
     @SerializedName("items")
     private List<OrderItem> items;
@@ -29,42 +34,58 @@ public class Order implements Parcelable {
     @SerializedName("orderPlacer")
     private User user;
 
+    // Compact responses send these ids instead of the nested objects
+    @SerializedName("store_id")
+    private String storeId;
+
+    @SerializedName("user_id")
+    private String userId;
+
     @SerializedName("created_at")
-    private String createdAt;
+    @JsonAdapter(IsoTimestampTypeAdapter.class)
+    private long createdAt;
 
     @SerializedName("updated_at")
-    private String updatedAt;
+    @JsonAdapter(IsoTimestampTypeAdapter.class)
+    private long updatedAt;
 
     @SerializedName("timeline")
     private List<TimelineEvent> timeline;
 
+    // Server-side revision, bumped on every change, so late or duplicate updates can be told apart
+    @SerializedName("version")
+    private long version;
+
     public Order() {
         // Required empty constructor
     }
 
     protected Order(Parcel in) {
         id = in.readString();
-        status = in.readString();
-        totalFiatAmount = in.readString();
+        status = OrderStatus.fromValue(in.readString());
+        totalFiatAmount = Money.ofMinor(in.readLong(), in.readString());
         items = in.createTypedArrayList(OrderItem.CREATOR);
         store = in.readParcelable(Store.class.getClassLoader());
         user = in.readParcelable(User.class.getClassLoader());
-        createdAt = in.readString();
-        updatedAt = in.readString();
+        createdAt = in.readLong();
+        updatedAt = in.readLong();
         timeline = in.createTypedArrayList(TimelineEvent.CREATOR);
+        version = in.readLong();
     }
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeString(id);
-        dest.writeString(status);
-        dest.writeString(totalFiatAmount);
+        dest.writeString(getStatus().getValue());
+        dest.writeLong(getTotalFiatAmount().getMinorUnits());
+        dest.writeString(getTotalFiatAmount().getCurrencyCode());
         dest.writeTypedList(items);
         dest.writeParcelable(store, flags);
         dest.writeParcelable(user, flags);
-        dest.writeString(createdAt);
-        dest.writeString(updatedAt);
+        dest.writeLong(createdAt);
+        dest.writeLong(updatedAt);
         dest.writeTypedList(timeline);
+        dest.writeLong(version);
     }
 
     @Override
@@ -93,19 +114,21 @@ public class Order implements Parcelable {
         this.id = id;
     }
 
-    public String getStatus() {
-        return status;
+    @NonNull
+    public OrderStatus getStatus() {
+        return status != null ? status : OrderStatus.PENDING;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(OrderStatus status) {
         this.status = status;
     }
 
-    public String getTotalFiatAmount() {
-        return totalFiatAmount;
+    @NonNull
+    public Money getTotalFiatAmount() {
+        return totalFiatAmount != null ? totalFiatAmount : Money.ZERO;
     }
 
-    public void setTotalFiatAmount(String totalFiatAmount) {
+    public void setTotalFiatAmount(Money totalFiatAmount) {
         this.totalFiatAmount = totalFiatAmount;
     }
 
@@ -125,6 +148,14 @@ public class Order implements Parcelable {
         this.store = store;
     }
 
+    public String getStoreId() {
+        return store != null ? store.getId() : storeId;
+    }
+
+    public String getUserId() {
+        return user != null ? user.getId() : userId;
+    }
+
     public User getUser() {
         return user;
     }
@@ -133,22 +164,30 @@ public class Order implements Parcelable {
         this.user = user;
     }
 
-    public String getCreatedAt() {
+    public long getCreatedAt() {
         return createdAt;
     }
 
-    public void setCreatedAt(String createdAt) {
+    public void setCreatedAt(long createdAt) {
         this.createdAt = createdAt;
     }
 
-    public String getUpdatedAt() {
+    public long getUpdatedAt() {
         return updatedAt;
     }
 
-    public void setUpdatedAt(String updatedAt) {
+    public void setUpdatedAt(long updatedAt) {
         this.updatedAt = updatedAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public List<TimelineEvent> getTimeline() {
         return timeline;
     }
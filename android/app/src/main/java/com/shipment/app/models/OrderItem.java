@@ -3,19 +3,25 @@ package com.shipment.app.models;
 import android.os.Parcel;
 import android.os.Parcelable;
 import androidx.annotation.NonNull;
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.shipment.app.api.ApiService;
+import com.shipment.app.utils.MoneyTypeAdapter;
 import java.util.ArrayList;
 import java.util.List;
+import okhttp3.HttpUrl;
 
 public class OrderItem implements Parcelable {
     @SerializedName("quantity")
     private int quantity;
 
     @SerializedName("unit_price")
-    private String unitPrice;
+    @JsonAdapter(MoneyTypeAdapter.class)
+    private Money unitPrice;
 
     @SerializedName("total_price")
-    private String totalPrice;
+    @JsonAdapter(MoneyTypeAdapter.class)
+    private Money totalPrice;
 
     @SerializedName("product")
     private Product product;
@@ -26,16 +32,18 @@ public class OrderItem implements Parcelable {
 
     protected OrderItem(Parcel in) {
         quantity = in.readInt();
-        unitPrice = in.readString();
-        totalPrice = in.readString();
+        unitPrice = Money.ofMinor(in.readLong(), in.readString());
+        totalPrice = Money.ofMinor(in.readLong(), in.readString());
         product = in.readParcelable(Product.class.getClassLoader());
     }
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeInt(quantity);
-        dest.writeString(unitPrice);
-        dest.writeString(totalPrice);
+        dest.writeLong(getUnitPrice().getMinorUnits());
+        dest.writeString(getUnitPrice().getCurrencyCode());
+        dest.writeLong(getTotalPrice().getMinorUnits());
+        dest.writeString(getTotalPrice().getCurrencyCode());
         dest.writeParcelable(product, flags);
     }
 
@@ -65,19 +73,24 @@ public class OrderItem implements Parcelable {
         this.quantity = quantity;
     }
 
-    public String getUnitPrice() {
-        return unitPrice;
+    @NonNull
+    public Money getUnitPrice() {
+        return unitPrice != null ? unitPrice : Money.ZERO;
     }
 
-    public void setUnitPrice(String unitPrice) {
+    public void setUnitPrice(Money unitPrice) {
         this.unitPrice = unitPrice;
     }
 
-    public String getTotalPrice() {
-        return totalPrice;
+    /**
+     * Line total as sent by the server, or unit price times quantity when it is missing.
+     */
+    @NonNull
+    public Money getTotalPrice() {
+        return totalPrice != null ? totalPrice : getUnitPrice().times(quantity);
     }
 
-    public void setTotalPrice(String totalPrice) {
+    public void setTotalPrice(Money totalPrice) {
         this.totalPrice = totalPrice;
     }
 
@@ -172,7 +185,11 @@ public class OrderItem implements Parcelable {
         }
 
         public String getImageUrl() {
-            return !images.isEmpty() ? "http://192.168.0.4:3001" + images.get(0) : null;
+            if (images.isEmpty()) {
+                return null;
+            }
+            HttpUrl url = HttpUrl.get(ApiService.getBaseUrl()).resolve(images.get(0));
+            return url != null ? url.toString() : null;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.shipment.app.models;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Display-ready projection of an {@link Order} for the orders list. Every string is
+ * formatted up front so binding a row only assigns fields to views.
+ */
+public class OrderRow {
+    private final Order order;
+    private final String title;
+    private final String formattedDate;
+    private final String formattedTotal;
+    private final String itemsCountText;
+    private final String statusLabel;
+    private final OrderStatus status;
+
+    private OrderRow(Builder builder) {
+        this.order = builder.order;
+        this.title = builder.title;
+        this.formattedDate = builder.formattedDate;
+        this.formattedTotal = builder.formattedTotal;
+        this.itemsCountText = builder.itemsCountText;
+        this.statusLabel = builder.statusLabel;
+        this.status = builder.status;
+    }
+
+    @NonNull
+    public Order getOrder() {
+        return order;
+    }
+
+    public String getId() {
+        return order.getId();
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getFormattedDate() {
+        return formattedDate;
+    }
+
+    public String getFormattedTotal() {
+        return formattedTotal;
+    }
+
+    public String getItemsCountText() {
+        return itemsCountText;
+    }
+
+    public String getStatusLabel() {
+        return statusLabel;
+    }
+
+    @NonNull
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public int getStatusBackgroundRes() {
+        return status.getBackgroundRes();
+    }
+
+    public int getStatusIconRes() {
+        return status.getIconRes();
+    }
+
+    public static class Builder {
+        private Order order;
+        private String title;
+        private String formattedDate;
+        private String formattedTotal;
+        private String itemsCountText;
+        private String statusLabel;
+        private OrderStatus status = OrderStatus.PENDING;
+
+        public Builder setOrder(Order order) {
+            this.order = order;
+            return this;
+        }
+
+        public Builder setTitle(String title) {
+            this.title = title;
+            return this;
+        }
+
+        public Builder setFormattedDate(String formattedDate) {
+            this.formattedDate = formattedDate;
+            return this;
+        }
+
+        public Builder setFormattedTotal(String formattedTotal) {
+            this.formattedTotal = formattedTotal;
+            return this;
+        }
+
+        public Builder setItemsCountText(String itemsCountText) {
+            this.itemsCountText = itemsCountText;
+            return this;
+        }
+
+        public Builder setStatusLabel(String statusLabel) {
+            this.statusLabel = statusLabel;
+            return this;
+        }
+
+        public Builder setStatus(OrderStatus status) {
+            this.status = status != null ? status : OrderStatus.PENDING;
+            return this;
+        }
+
+        public OrderRow build() {
+            if (order == null) {
+                throw new IllegalStateException("Order is required");
+            }
+            return new OrderRow(this);
+        }
+    }
+}
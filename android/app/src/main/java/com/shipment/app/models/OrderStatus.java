@@ -0,0 +1,70 @@
+package com.shipment.app.models;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.StringRes;
+import com.shipment.app.R;
+
+public enum OrderStatus {
+    PENDING("pending", R.string.status_pending, R.drawable.status_pending, R.drawable.ic_pending),
+    CONFIRMED("confirmed", R.string.status_confirmed, R.drawable.status_confirmed, R.drawable.ic_confirmed),
+    PROCESSING("processing", R.string.status_processing, R.drawable.status_processing, R.drawable.ic_processing),
+    PACKED("packed", R.string.status_packed, R.drawable.status_packed, R.drawable.ic_packed),
+    SHIPPED("shipped", R.string.status_shipped, R.drawable.status_shipped, R.drawable.ic_shipped),
+    DELIVERED("delivered", R.string.status_delivered, R.drawable.status_delivered, R.drawable.ic_delivered),
+    CANCELLED("cancelled", R.string.status_cancelled, R.drawable.status_cancelled, R.drawable.ic_cancelled),
+    REFUNDED("refunded", R.string.status_refunded, R.drawable.status_cancelled, R.drawable.ic_cancelled);
+
+    // values() clones the backing array on every call
+    private static final OrderStatus[] VALUES = values();
+
+    @NonNull
+    private final String value;
+    @StringRes
+    private final int labelRes;
+    @DrawableRes
+    private final int backgroundRes;
+    @DrawableRes
+    private final int iconRes;
+
+    OrderStatus(@NonNull String value, @StringRes int labelRes,
+                @DrawableRes int backgroundRes, @DrawableRes int iconRes) {
+        this.value = value;
+        this.labelRes = labelRes;
+        this.backgroundRes = backgroundRes;
+        this.iconRes = iconRes;
+    }
+
+    @NonNull
+    public String getValue() {
+        return value;
+    }
+
+    @StringRes
+    public int getLabelRes() {
+        return labelRes;
+    }
+
+    @DrawableRes
+    public int getBackgroundRes() {
+        return backgroundRes;
+    }
+
+    @DrawableRes
+    public int getIconRes() {
+        return iconRes;
+    }
+
+    @NonNull
+    public static OrderStatus fromValue(@Nullable String value) {
+        if (value != null) {
+            for (OrderStatus status : VALUES) {
+                if (status.value.equalsIgnoreCase(value)) {
+                    return status;
+                }
+            }
+        }
+        return PENDING;
+    }
+}
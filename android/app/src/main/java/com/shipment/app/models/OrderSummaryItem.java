@@ -1,21 +1,30 @@
 package com.shipment.app.models;
 
 import androidx.annotation.NonNull;
-import java.math.BigDecimal;
 
+/**
+ * One product line of an order as the details screen shows it. Prices are formatted
+ * when the item is built, so binding a row does no number formatting.
+ */
 public class OrderSummaryItem {
     private final String productId;
     private final String name;
-    private final BigDecimal price;
+    private final Money price;
     private final int quantity;
+    private final Money lineTotal;
     private final String imageUrl;
+    private final String formattedPrice;
+    private final String formattedTotal;
 
     private OrderSummaryItem(Builder builder) {
         this.productId = builder.productId;
         this.name = builder.name;
         this.price = builder.price;
         this.quantity = builder.quantity;
+        this.lineTotal = builder.price.times(builder.quantity);
         this.imageUrl = builder.imageUrl;
+        this.formattedPrice = builder.formattedPrice;
+        this.formattedTotal = builder.formattedTotal;
     }
 
     public String getProductId() {
@@ -26,7 +35,8 @@ public class OrderSummaryItem {
         return name;
     }
 
-    public BigDecimal getPrice() {
+    @NonNull
+    public Money getPrice() {
         return price;
     }
 
@@ -34,16 +44,31 @@ public class OrderSummaryItem {
         return quantity;
     }
 
+    @NonNull
+    public Money getLineTotal() {
+        return lineTotal;
+    }
+
     public String getImageUrl() {
         return imageUrl;
     }
 
+    public String getFormattedPrice() {
+        return formattedPrice;
+    }
+
+    public String getFormattedTotal() {
+        return formattedTotal;
+    }
+
     public static class Builder {
         private String productId;
         private String name;
-        private BigDecimal price;
+        private Money price = Money.ZERO;
         private int quantity;
         private String imageUrl;
+        private String formattedPrice;
+        private String formattedTotal;
 
         public Builder setProductId(String productId) {
             this.productId = productId;
@@ -55,17 +80,8 @@ public class OrderSummaryItem {
             return this;
         }
 
-        public Builder setPrice(String price) {
-            try {
-                this.price = new BigDecimal(price);
-            } catch (NumberFormatException e) {
-                this.price = BigDecimal.ZERO;
-            }
-            return this;
-        }
-
-        public Builder setPrice(BigDecimal price) {
-            this.price = price != null ? price : BigDecimal.ZERO;
+        public Builder setPrice(Money price) {
+            this.price = price != null ? price : Money.ZERO;
             return this;
         }
 
@@ -79,6 +95,16 @@ public class OrderSummaryItem {
             return this;
         }
 
+        public Builder setFormattedPrice(String formattedPrice) {
+            this.formattedPrice = formattedPrice;
+            return this;
+        }
+
+        public Builder setFormattedTotal(String formattedTotal) {
+            this.formattedTotal = formattedTotal;
+            return this;
+        }
+
         public OrderSummaryItem build() {
             return new OrderSummaryItem(this);
         }
@@ -2,33 +2,34 @@ package com.shipment.app.models;
 
 import android.os.Parcel;
 import android.os.Parcelable;
+import androidx.annotation.NonNull;
+import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
+import com.shipment.app.utils.IsoTimestampTypeAdapter;
+import com.shipment.app.utils.OrderStatusTypeAdapter;
 
 public class TimelineEvent implements Parcelable {
     @SerializedName("status")
-    private String status;
+    @JsonAdapter(OrderStatusTypeAdapter.class)
+    private OrderStatus status;
 
     @SerializedName("time")
-    private String time;
-
-    private transient Date parsedTime;
+    @JsonAdapter(IsoTimestampTypeAdapter.class)
+    private long time;
 
     public TimelineEvent() {
         // Required empty constructor
     }
 
     protected TimelineEvent(Parcel in) {
-        status = in.readString();
-        time = in.readString();
+        status = OrderStatus.fromValue(in.readString());
+        time = in.readLong();
     }
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeString(status);
-        dest.writeString(time);
+        dest.writeString(getStatus().getValue());
+        dest.writeLong(time);
     }
 
     @Override
@@ -48,19 +49,15 @@ public class TimelineEvent implements Parcelable {
         }
     };
 
-    public String getStatus() {
-        return status;
+    @NonNull
+    public OrderStatus getStatus() {
+        return status != null ? status : OrderStatus.PENDING;
     }
 
-    public Date getTime() {
-        if (parsedTime == null && time != null) {
-            try {
-                SimpleDateFormat isoFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
-                parsedTime = isoFormat.parse(time);
-            } catch (Exception e) {
-                parsedTime = new Date(0); // Fallback to epoch if parsing fails
-            }
-        }
-        return parsedTime != null ? parsedTime : new Date(0);
+    /**
+     * Event time in epoch millis, parsed once during deserialization.
+     */
+    public long getTime() {
+        return time;
     }
 }
\ No newline at end of file
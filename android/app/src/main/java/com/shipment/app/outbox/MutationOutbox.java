@@ -0,0 +1,156 @@
+package com.shipment.app.outbox;
+
+import android.util.AtomicFile;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ordered, durable queue of order mutations. Callers add to it from any thread without
+ * touching the disk; the in-memory list is the source of truth and every change is
+ * written through to an {@link AtomicFile} on a single background thread, so writes land
+ * in order and a crash never leaves a half-written file.
+ * <p>
+ * Each user has their own file, since a mutation can only be sent with the session of
+ * the user who made it. Signing out detaches the queue without deleting it, and it is
+ * sent when that user signs in again.
+ */
+public class MutationOutbox {
+    private static final String TAG = "MutationOutbox";
+    private static final String FILE_PREFIX = "order_outbox_";
+    private static final String FILE_SUFFIX = ".json";
+
+    private final File directory;
+    private final Gson gson;
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private final List<PendingMutation> mutations = new ArrayList<>();
+    private final MutableLiveData<Integer> pendingCount = new MutableLiveData<>(0);
+    // Null while signed out; mutations are then kept in memory only
+    @Nullable
+    private String userId;
+    @Nullable
+    private AtomicFile file;
+
+    /**
+     * Loads any mutations {@code userId} left in a previous process, so must not run on
+     * the main thread.
+     */
+    @WorkerThread
+    public MutationOutbox(@NonNull File directory, @NonNull Gson gson, @Nullable String userId) {
+        this.directory = directory;
+        this.gson = gson;
+        switchUser(userId);
+    }
+
+    /**
+     * Replaces the queue with {@code userId}'s, or with an empty one when signed out, and
+     * returns false if it already was that user's. Loading a user's queue reads the disk,
+     * so signing in must not call this on the main thread.
+     */
+    public synchronized boolean switchUser(@Nullable String userId) {
+        if (Objects.equals(userId, this.userId)) {
+            return false;
+        }
+        this.userId = userId;
+        mutations.clear();
+        file = userId != null ? new AtomicFile(new File(directory, FILE_PREFIX + userId + FILE_SUFFIX)) : null;
+        load();
+        return true;
+    }
+
+    public synchronized void add(@NonNull PendingMutation mutation) {
+        mutations.add(mutation);
+        persist();
+    }
+
+    /**
+     * Returns up to {@code limit} of the oldest mutations, in the order they were added.
+     */
+    @NonNull
+    public synchronized List<PendingMutation> peek(int limit) {
+        return new ArrayList<>(mutations.subList(0, Math.min(limit, mutations.size())));
+    }
+
+    public synchronized void remove(@NonNull PendingMutation mutation) {
+        if (mutations.remove(mutation)) {
+            persist();
+        }
+    }
+
+    public synchronized void recordAttempt(@NonNull PendingMutation mutation) {
+        mutation.incrementAttempts();
+        persist();
+    }
+
+    public synchronized boolean isEmpty() {
+        return mutations.isEmpty();
+    }
+
+    /**
+     * Number of mutations not yet accepted by the server, for "waiting to sync" UI.
+     */
+    @NonNull
+    public LiveData<Integer> getPendingCount() {
+        return pendingCount;
+    }
+
+    private void load() {
+        if (file == null) {
+            pendingCount.postValue(0);
+            return;
+        }
+        try {
+            String json = new String(file.readFully(), StandardCharsets.UTF_8);
+            List<PendingMutation> stored = gson.fromJson(json,
+                new TypeToken<List<PendingMutation>>() {}.getType());
+            if (stored != null) {
+                mutations.addAll(stored);
+            }
+        } catch (FileNotFoundException e) {
+            // Nothing queued yet
+        } catch (Exception e) {
+            Log.e(TAG, "Could not read outbox, starting empty", e);
+        }
+        pendingCount.postValue(mutations.size());
+    }
+
+    // Called with the lock held; the snapshot is taken here and written off-thread
+    private void persist() {
+        pendingCount.postValue(mutations.size());
+        AtomicFile target = file;
+        if (target == null) {
+            return;
+        }
+        String json = gson.toJson(mutations);
+        diskExecutor.execute(() -> write(target, json));
+    }
+
+    private static void write(AtomicFile file, String json) {
+        FileOutputStream out = null;
+        try {
+            out = file.startWrite();
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+            file.finishWrite(out);
+        } catch (IOException e) {
+            Log.e(TAG, "Could not write outbox", e);
+            if (out != null) {
+                file.failWrite(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.shipment.app.outbox;
+
+import android.content.Context;
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import com.shipment.app.ShipmentApplication;
+import com.shipment.app.repositories.OrderRepository;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends queued order mutations once the device has a network connection. Each run sends
+ * one batch in order; if more remain it queues another run, and on a transient failure
+ * it lets WorkManager retry with exponential backoff.
+ */
+public class OutboxFlushWorker extends Worker {
+    private static final String UNIQUE_WORK_NAME = "order-outbox-flush";
+    private static final int BATCH_SIZE = 20;
+    private static final long INITIAL_BACKOFF_SECONDS = 10;
+
+    public OutboxFlushWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Requests a flush. Calls made while a flush is running append another run after it,
+     * so a mutation added mid-flush is never left behind.
+     */
+    public static void schedule(@NonNull Context context) {
+        Constraints constraints = new Constraints.Builder()
+            .setRequiredNetworkType(NetworkType.CONNECTED)
+            .build();
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(OutboxFlushWorker.class)
+            .setConstraints(constraints)
+            .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, INITIAL_BACKOFF_SECONDS, TimeUnit.SECONDS)
+            .build();
+        WorkManager.getInstance(context)
+            .enqueueUniqueWork(UNIQUE_WORK_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        ShipmentApplication app = (ShipmentApplication) getApplicationContext();
+        if (!app.isInitialized()) {
+            // Started in a fresh process before the object graph is ready
+            return Result.retry();
+        }
+
+        OrderRepository repository = app.getOrderRepository();
+        switch (repository.flushOutbox(BATCH_SIZE)) {
+            case DRAINED:
+                return Result.success();
+            case MORE:
+                schedule(getApplicationContext());
+                return Result.success();
+            case RETRY:
+            default:
+                return Result.retry();
+        }
+    }
+}
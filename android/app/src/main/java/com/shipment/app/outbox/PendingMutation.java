@@ -0,0 +1,124 @@
+package com.shipment.app.outbox;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.gson.annotations.SerializedName;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A status change recorded locally and waiting to be sent. The id doubles as the
+ * {@code Idempotency-Key} header, so a request that reached the server but whose response
+ * was lost can be replayed without applying the change twice.
+ * <p>
+ * A mutation targets either one order or, for a bulk change, a list of orders that is
+ * sent as a single batch request.
+ */
+public class PendingMutation {
+    @SerializedName("id")
+    private final String id;
+
+    @SerializedName("order_id")
+    private final String orderId;
+
+    // Only set for bulk changes
+    @SerializedName("order_ids")
+    private final List<String> orderIds;
+
+    @SerializedName("status")
+    private final String status;
+
+    @SerializedName("created_at")
+    private final long createdAt;
+
+    @SerializedName("attempts")
+    private int attempts;
+
+    private PendingMutation(Builder builder) {
+        this.id = builder.id;
+        this.orderId = builder.orderId;
+        this.orderIds = builder.orderIds;
+        this.status = builder.status;
+        this.createdAt = builder.createdAt;
+        this.attempts = builder.attempts;
+    }
+
+    @NonNull
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * The target order of a single change; null for a bulk change.
+     */
+    @Nullable
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public boolean isBatch() {
+        return orderIds != null;
+    }
+
+    /**
+     * Every order this mutation changes, for single and bulk changes alike.
+     */
+    @NonNull
+    public List<String> getOrderIds() {
+        return orderIds != null ? orderIds : Collections.singletonList(orderId);
+    }
+
+    @NonNull
+    public String getStatus() {
+        return status;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    void incrementAttempts() {
+        attempts++;
+    }
+
+    public static class Builder {
+        private String id = UUID.randomUUID().toString();
+        private String orderId;
+        private List<String> orderIds;
+        private String status;
+        private long createdAt = System.currentTimeMillis();
+        private int attempts;
+
+        public Builder setOrderId(@NonNull String orderId) {
+            this.orderId = orderId;
+            return this;
+        }
+
+        public Builder setOrderIds(@NonNull Collection<String> orderIds) {
+            this.orderIds = new ArrayList<>(orderIds);
+            return this;
+        }
+
+        public Builder setStatus(@NonNull String status) {
+            this.status = status;
+            return this;
+        }
+
+        public PendingMutation build() {
+            if ((orderId == null) == (orderIds == null) || status == null) {
+                throw new IllegalStateException("status and either orderId or orderIds are required");
+            }
+            if (orderIds != null && orderIds.isEmpty()) {
+                throw new IllegalStateException("orderIds must not be empty");
+            }
+            return new PendingMutation(this);
+        }
+    }
+}
@@ -2,26 +2,51 @@ package com.shipment.app.repositories;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import com.shipment.app.api.ApiService;
+import com.shipment.app.api.auth.TokenStore;
 import com.shipment.app.api.requests.AuthRequest;
 import com.shipment.app.api.responses.AuthResponse;
+import com.shipment.app.services.WebSocketService;
 import com.shipment.app.utils.AuthValidator;
+import com.shipment.app.utils.RequestLiveData;
 import com.shipment.app.utils.RetryHelper;
 import com.shipment.app.utils.Resource;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import retrofit2.Response;
 import java.util.Map;
 
-public class AuthRepository {
+/**
+ * Owns the signed-in session. Besides the tokens, it caches the user's profile in memory
+ * and in preferences. The profile is filled from the login response and kept until the
+ * server pushes a {@code profile_update}, so screens can ask {@link #isSeller()} and
+ * similar questions synchronously instead of calling {@code /api/profile}.
+ */
+public class AuthRepository implements WebSocketService.ProfileUpdateListener {
+    private static final String TAG = "AuthRepository";
     private static final String PREF_NAME = "auth_prefs";
-    private static final String KEY_TOKEN = "auth_token";
     private static final String KEY_USER_ID = "user_id";
     private static final String KEY_USER_ROLE = "user_role";
     private static final String KEY_USER_TYPE = "user_type";
+    private static final String KEY_STORE_ID = "store_id";
+    private static final String KEY_PROFILE = "profile_json";
+    private static final String ROLE_SELLER = "seller";
 
     private final ApiService apiService;
+    private final TokenStore tokenStore;
+    private final Gson gson;
     private final SharedPreferences prefs;
+    // Read once from preferences; after that only written
+    private volatile String userId;
+    private volatile String role;
+    private volatile String userType;
+    private volatile String storeId;
+    @Nullable
+    private volatile AuthResponse cachedProfile;
     private final MutableLiveData<Boolean> isAuthenticated = new MutableLiveData<>();
     private final MutableLiveData<String> userRole = new MutableLiveData<>();
     private AuthStateListener authStateListener;
@@ -33,30 +58,38 @@ public class AuthRepository {
     public void addAuthStateListener(AuthStateListener listener) {
         this.authStateListener = listener;
         if (listener != null) {
-            listener.onAuthStateChanged(isAuthenticated.getValue() != null && isAuthenticated.getValue(), getAuthToken());
+            // isAuthenticated is posted, so it may not be set yet when this runs off the main thread
+            listener.onAuthStateChanged(tokenStore.hasSession(), getAuthToken());
         }
     }
 
-    public AuthRepository(Context context, ApiService apiService) {
+    public AuthRepository(Context context, ApiService apiService, TokenStore tokenStore, Gson gson) {
         this.apiService = apiService;
+        this.tokenStore = tokenStore;
+        this.gson = gson;
         this.prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        String token = getAuthToken();
-        isAuthenticated.postValue(token != null && !token.isEmpty());
+        userId = prefs.getString(KEY_USER_ID, null);
+        role = prefs.getString(KEY_USER_ROLE, null);
+        userType = prefs.getString(KEY_USER_TYPE, null);
+        storeId = prefs.getString(KEY_STORE_ID, null);
+        cachedProfile = readCachedProfile();
+        isAuthenticated.postValue(tokenStore.hasSession());
         userRole.postValue(getUserRole());
+        // The refresh token was rejected; the tokens are already gone
+        tokenStore.addSessionListener(this::clearAuthData);
     }
 
-    public LiveData<Resource<AuthResponse>> register(AuthRequest.RegisterRequest request) {
-        MutableLiveData<Resource<AuthResponse>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
+    public RequestLiveData<AuthResponse> register(AuthRequest.RegisterRequest request) {
+        RequestLiveData<AuthResponse> result = new RequestLiveData<>();
 
         try {
             // Validate registration data using web's validation logic
             Map<String, Object> validatedData = AuthValidator.validateRegistrationData(request);
 
             RetryHelper.RetryableOperation<AuthResponse> operation = () -> 
-                apiService.register(new AuthRequest.RegisterRequest.Builder()
+                result.track(apiService.register(new AuthRequest.RegisterRequest.Builder()
                     .fromMap(validatedData)
-                    .build())
+                    .build()))
                     .execute();
 
             new Thread(() -> {
@@ -84,9 +117,8 @@ public class AuthRepository {
         return result;
     }
 
-    public LiveData<Resource<AuthResponse>> login(String email, String password) {
-        MutableLiveData<Resource<AuthResponse>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
+    public RequestLiveData<AuthResponse> login(String email, String password) {
+        RequestLiveData<AuthResponse> result = new RequestLiveData<>();
 
         if (email == null || email.trim().isEmpty()) {
             result.setValue(Resource.error("Email is required", null));
@@ -99,10 +131,10 @@ public class AuthRepository {
         }
 
         RetryHelper.RetryableOperation<AuthResponse> operation = () ->
-            apiService.login(new AuthRequest.LoginRequest.Builder()
+            result.track(apiService.login(new AuthRequest.LoginRequest.Builder()
                 .setEmail(email.trim())
                 .setPassword(password)
-                .build())
+                .build()))
                 .execute();
 
         new Thread(() -> {
@@ -124,15 +156,26 @@ public class AuthRepository {
         return result;
     }
 
-    public LiveData<Resource<Void>> logout() {
-        MutableLiveData<Resource<Void>> result = new MutableLiveData<>();
-        
+    public RequestLiveData<Void> logout() {
+        RequestLiveData<Void> result = new RequestLiveData<>();
+
+        // The server revokes the session by its refresh token, so read it before clearing
+        String refreshToken = tokenStore.getRefreshToken();
+
         // Clear auth data immediately
         clearAuthData();
-        
+
+        if (refreshToken == null) {
+            result.setValue(Resource.success(null));
+            return result;
+        }
+
         // Sync with server in background
         RetryHelper.RetryableOperation<Void> operation = () ->
-            apiService.logout().execute();
+            result.track(apiService.logout(new AuthRequest.RefreshRequest.Builder()
+                .setRefreshToken(refreshToken)
+                .build()))
+                .execute();
 
         new Thread(() -> {
             try {
@@ -146,9 +189,8 @@ public class AuthRepository {
         return result;
     }
 
-    public LiveData<Resource<AuthResponse>> updateProfile(String firstName, String lastName, String email, String username) {
-        MutableLiveData<Resource<AuthResponse>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
+    public RequestLiveData<AuthResponse> updateProfile(String firstName, String lastName, String email, String username) {
+        RequestLiveData<AuthResponse> result = new RequestLiveData<>();
 
         if (firstName == null || firstName.trim().isEmpty()) {
             result.setValue(Resource.error("First name is required", null));
@@ -177,7 +219,7 @@ public class AuthRepository {
         profileData.put("username", username.trim());
 
         RetryHelper.RetryableOperation<AuthResponse> operation = () ->
-            apiService.updateProfile(profileData).execute();
+            result.track(apiService.updateProfile(profileData)).execute();
 
         new Thread(() -> {
             try {
@@ -185,6 +227,7 @@ public class AuthRepository {
                 if (response.isSuccessful() && response.body() != null) {
                     AuthResponse authResponse = response.body();
                     saveAuthData(authResponse);
+                    cacheProfile(authResponse.getUserProfile());
                     result.postValue(Resource.success(authResponse));
                 } else {
                     if (response.code() == 409) {
@@ -201,31 +244,36 @@ public class AuthRepository {
         return result;
     }
 
-    public LiveData<Resource<AuthResponse>> getProfile() {
-        MutableLiveData<Resource<AuthResponse>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
+    public RequestLiveData<AuthResponse> getProfile() {
+        RequestLiveData<AuthResponse> result = new RequestLiveData<>();
 
-        String token = getAuthToken();
-        if (token == null) {
+        if (!tokenStore.hasSession()) {
             result.setValue(Resource.error("No authentication token found", null));
             return result;
         }
 
-        RetryHelper.RetryableOperation<AuthResponse> operation = () ->
-            apiService.getProfile().execute();
+        // Fresh until the server pushes a profile change
+        AuthResponse profile = cachedProfile;
+        if (profile != null) {
+            result.setValue(Resource.success(profile));
+            return result;
+        }
 
-        android.util.Log.d("AuthRepository", "Getting profile with token: " + token);
+        RetryHelper.RetryableOperation<AuthResponse> operation = () ->
+            result.track(apiService.getProfile()).execute();
 
         new Thread(() -> {
             try {
                 Response<AuthResponse> response = RetryHelper.executeWithRetry(operation);
                 if (response.isSuccessful() && response.body() != null) {
+                    cacheProfile(response.body());
                     result.postValue(Resource.success(response.body()));
                 } else {
                     android.util.Log.w("AuthRepository", "Profile request failed with code: " + response.code() + 
                         ", message: " + (response.errorBody() != null ? response.errorBody().string() : "No error body"));
                     if (response.code() == 401) {
-                        clearAuthData();
+                        // The authenticator already tried a refresh; if the session could
+                        // not be renewed it has been ended and the user sent to login
                         result.postValue(Resource.error("Session expired. Please login again.", null));
                     } else {
                         result.postValue(Resource.error("Failed to get profile", null));
@@ -241,21 +289,79 @@ public class AuthRepository {
 
     private void saveAuthData(AuthResponse response) {
         if (response.getToken() != null && response.getUser() != null) {
-            prefs.edit()
-                .putString(KEY_TOKEN, response.getToken())
-                .putString(KEY_USER_ID, response.getUser().getId())
-                .putString(KEY_USER_ROLE, response.getUser().getRole())
-                .putString(KEY_USER_TYPE, response.getUser().getUserType())
-                .apply();
+            tokenStore.update(response.getToken(), response.getRefreshToken(), response.getExpiresIn());
+            // Login and register carry the whole profile, so no fetch is needed afterwards
+            cacheProfile(response.getUserProfile());
             isAuthenticated.postValue(true);
-            userRole.postValue(response.getUser().getRole());
             if (authStateListener != null) {
                 authStateListener.onAuthStateChanged(true, response.getToken());
             }
         }
     }
 
-    private void clearAuthData() {
+    /**
+     * Replaces the cached profile and the session fields derived from it.
+     */
+    private synchronized void cacheProfile(@NonNull AuthResponse profile) {
+        AuthResponse.UserData user = profile.getUser();
+        userId = user.getId();
+        role = user.getRole();
+        userType = user.getUserType();
+        storeId = user.getStore() != null ? user.getStore().getId() : null;
+        cachedProfile = profile;
+        prefs.edit()
+            .putString(KEY_USER_ID, userId)
+            .putString(KEY_USER_ROLE, role)
+            .putString(KEY_USER_TYPE, userType)
+            .putString(KEY_STORE_ID, storeId)
+            .putString(KEY_PROFILE, gson.toJson(profile))
+            .apply();
+        userRole.postValue(role);
+    }
+
+    @Nullable
+    private AuthResponse readCachedProfile() {
+        String json = prefs.getString(KEY_PROFILE, null);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return gson.fromJson(json, AuthResponse.class);
+        } catch (JsonParseException e) {
+            android.util.Log.w(TAG, "Discarding unreadable cached profile", e);
+            return null;
+        }
+    }
+
+    /**
+     * The server changed something about this user. The pushed role and store take
+     * effect at once; the rest of the profile is fetched again on next use.
+     */
+    @Override
+    public synchronized void onProfileUpdate(@Nullable String role, @Nullable String storeId) {
+        if (!tokenStore.hasSession()) {
+            return;
+        }
+        if (role != null) {
+            this.role = role;
+        }
+        this.storeId = storeId;
+        cachedProfile = null;
+        prefs.edit()
+            .putString(KEY_USER_ROLE, this.role)
+            .putString(KEY_STORE_ID, storeId)
+            .remove(KEY_PROFILE)
+            .apply();
+        userRole.postValue(this.role);
+    }
+
+    private synchronized void clearAuthData() {
+        tokenStore.clear();
+        userId = null;
+        role = null;
+        userType = null;
+        storeId = null;
+        cachedProfile = null;
         prefs.edit().clear().apply();
         isAuthenticated.postValue(false);
         userRole.postValue(null);
@@ -264,7 +370,11 @@ public class AuthRepository {
         }
     }
 
-    private <T> void handleAuthError(Exception e, MutableLiveData<Resource<T>> result) {
+    private <T> void handleAuthError(Exception e, RequestLiveData<T> result) {
+        if (result.isCancelled()) {
+            // The caller is gone; a cancelled call is not a reason to sign out
+            return;
+        }
         String message = e.getMessage();
         if (message != null && message.contains("User not found")) {
             clearAuthData();
@@ -279,19 +389,32 @@ public class AuthRepository {
     }
 
     public String getAuthToken() {
-        return prefs.getString(KEY_TOKEN, null);
+        return tokenStore.getAccessToken();
     }
 
     public String getUserId() {
-        return prefs.getString(KEY_USER_ID, null);
+        return userId;
     }
 
     public String getUserRole() {
-        return prefs.getString(KEY_USER_ROLE, null);
+        return role;
     }
 
     public String getUserType() {
-        return prefs.getString(KEY_USER_TYPE, null);
+        return userType;
+    }
+
+    @Nullable
+    public String getStoreId() {
+        return storeId;
+    }
+
+    /**
+     * Whether the signed-in user sells, answered from the cached session without a
+     * request. Matches the server's {@code viewer.isSeller}: a seller with a store.
+     */
+    public boolean isSeller() {
+        return ROLE_SELLER.equals(role) && storeId != null;
     }
 
     public LiveData<Boolean> isAuthenticated() {
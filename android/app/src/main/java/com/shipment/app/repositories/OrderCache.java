@@ -0,0 +1,196 @@
+package com.shipment.app.repositories;
+
+import android.util.LruCache;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.shipment.app.models.Order;
+import com.shipment.app.models.OrderStatus;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * App-scoped, in-memory cache of the most recently seen orders, keyed by id. Screens
+ * pass only an order id through navigation and look the order up here, so a full
+ * {@link Order} with its items and timeline never travels through a Bundle.
+ * <p>
+ * It is also where status changes are reconciled. A local change is shown right away
+ * while the last server-confirmed state is remembered. Server responses and WebSocket
+ * echoes only count if they carry a newer {@link Order#getVersion() version}, so the
+ * echo of our own change is a no-op. A rejected change rolls back to the confirmed
+ * state. Every method that returns an order returns it only when the visible status
+ * changed, which is when screens need to redraw.
+ * <p>
+ * Entries are a best-effort head start: after process death the cache is empty and
+ * the screen falls back to the network.
+ */
+public class OrderCache {
+    private static final int MAX_ORDERS = 200;
+
+    private final LruCache<String, Order> orders = new LruCache<>(MAX_ORDERS);
+    // Orders with local changes the server has not answered yet
+    private final Map<String, LocalChanges> localChanges = new HashMap<>();
+
+    private static class LocalChanges {
+        int pending;
+        OrderStatus localStatus;
+        // Null until the server's state for the order is known
+        OrderStatus confirmedStatus;
+        long confirmedVersion = Long.MIN_VALUE;
+    }
+
+    /**
+     * Caches an order from a server response unless a newer version is already cached.
+     * If local changes to it are still in flight, they stay visible on top of it.
+     */
+    public synchronized void put(@Nullable Order order) {
+        if (order == null || order.getId() == null) {
+            return;
+        }
+        Order cached = orders.get(order.getId());
+        if (cached != null && order.getVersion() < cached.getVersion()) {
+            // A response that left the server before a newer echo must not undo it
+            return;
+        }
+        LocalChanges changes = localChanges.get(order.getId());
+        if (changes != null) {
+            confirm(changes, order.getStatus(), order.getVersion());
+            order.setStatus(changes.localStatus);
+        }
+        orders.put(order.getId(), order);
+    }
+
+    public void putAll(@NonNull List<Order> orders) {
+        for (Order order : orders) {
+            put(order);
+        }
+    }
+
+    @Nullable
+    public synchronized Order get(@Nullable String orderId) {
+        return orderId != null ? orders.get(orderId) : null;
+    }
+
+    /**
+     * Shows a status change before the server has accepted it.
+     */
+    @Nullable
+    public synchronized Order applyLocal(@NonNull String orderId, @NonNull OrderStatus status) {
+        Order order = orders.get(orderId);
+        LocalChanges changes = localChanges.get(orderId);
+        if (changes == null) {
+            changes = new LocalChanges();
+            if (order != null) {
+                confirm(changes, order.getStatus(), order.getVersion());
+            }
+            localChanges.put(orderId, changes);
+        }
+        changes.pending++;
+        changes.localStatus = status;
+
+        if (order == null || order.getStatus() == status) {
+            return null;
+        }
+        order.setStatus(status);
+        return order;
+    }
+
+    /**
+     * Applies a status pushed by the server, ignoring duplicates and anything older than
+     * what is already known.
+     */
+    @Nullable
+    public synchronized Order applyServer(@NonNull String orderId, @NonNull OrderStatus status,
+                                          long version) {
+        Order order = orders.get(orderId);
+        LocalChanges changes = localChanges.get(orderId);
+        if (changes != null) {
+            // Local changes win until they are answered
+            confirm(changes, status, version);
+            return null;
+        }
+        // A negative version comes from a server without versioning; apply it as is
+        boolean versioned = version >= 0;
+        if (order == null || (versioned && version <= order.getVersion())) {
+            return null;
+        }
+        if (versioned) {
+            order.setVersion(version);
+        }
+        if (order.getStatus() == status) {
+            return null;
+        }
+        order.setStatus(status);
+        return order;
+    }
+
+    /**
+     * Records that the server accepted a local change; {@code serverOrder} is its copy
+     * of the order afterwards.
+     */
+    @Nullable
+    public synchronized Order resolveLocal(@NonNull String orderId, @Nullable Order serverOrder) {
+        LocalChanges changes = localChanges.get(orderId);
+        if (changes != null && serverOrder != null) {
+            confirm(changes, serverOrder.getStatus(), serverOrder.getVersion());
+        }
+        if (serverOrder != null && orders.get(orderId) == null) {
+            orders.put(orderId, serverOrder);
+        }
+        return finishLocal(orderId);
+    }
+
+    /**
+     * Records that the server accepted a local change when only the resulting status and
+     * version are known, as with bulk changes.
+     */
+    @Nullable
+    public synchronized Order resolveLocal(@NonNull String orderId, @NonNull OrderStatus status,
+                                           long version) {
+        LocalChanges changes = localChanges.get(orderId);
+        if (changes != null) {
+            confirm(changes, status, version);
+        }
+        return finishLocal(orderId);
+    }
+
+    /**
+     * Records that the server rejected a local change.
+     */
+    @Nullable
+    public synchronized Order rollbackLocal(@NonNull String orderId) {
+        return finishLocal(orderId);
+    }
+
+    public synchronized void clear() {
+        orders.evictAll();
+        localChanges.clear();
+    }
+
+    private Order finishLocal(String orderId) {
+        LocalChanges changes = localChanges.get(orderId);
+        if (changes == null || --changes.pending > 0) {
+            // Newer local changes are still on screen
+            return null;
+        }
+        localChanges.remove(orderId);
+
+        Order order = orders.get(orderId);
+        if (order == null || changes.confirmedStatus == null) {
+            return null;
+        }
+        order.setVersion(changes.confirmedVersion);
+        if (order.getStatus() == changes.confirmedStatus) {
+            return null;
+        }
+        order.setStatus(changes.confirmedStatus);
+        return order;
+    }
+
+    private static void confirm(LocalChanges changes, OrderStatus status, long version) {
+        if (changes.confirmedStatus == null || version > changes.confirmedVersion) {
+            changes.confirmedStatus = status;
+            changes.confirmedVersion = version;
+        }
+    }
+}
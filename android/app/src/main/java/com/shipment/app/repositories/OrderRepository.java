@@ -1,18 +1,122 @@
 package com.shipment.app.repositories;
 
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.LruCache;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import com.google.gson.Gson;
+import androidx.annotation.WorkerThread;
+import androidx.lifecycle.LiveData;
 import com.shipment.app.api.ApiService;
+import com.shipment.app.api.requests.BatchStatusRequest;
+import com.shipment.app.api.responses.BatchStatusResponse;
+import com.shipment.app.api.responses.CompactOrdersResponse;
+import com.shipment.app.api.responses.OrderDetailsResponse;
 import com.shipment.app.api.responses.VerificationResponse;
 import com.shipment.app.models.Order;
+import com.shipment.app.models.OrderStatus;
+import com.shipment.app.outbox.MutationOutbox;
+import com.shipment.app.outbox.OutboxFlushWorker;
+import com.shipment.app.outbox.PendingMutation;
+import com.shipment.app.services.WebSocketService;
+import com.shipment.app.utils.Cancellable;
+import com.shipment.app.utils.NetworkUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
-public class OrderRepository {
+public class OrderRepository implements WebSocketService.OrderUpdateListener {
+    // Only what the orders list and details screens actually read
+    private static final String LIST_FIELDS = "status,total_fiat_amount,created_at,items,merchantStore";
+    private static final String DETAIL_FIELDS =
+        "status,total_fiat_amount,created_at,updated_at,items,merchantStore,orderPlacer";
+    private static final String DETAIL_INCLUDES = "history,qrStatus,viewerRole";
+
+    private static final String TAG = "OrderRepository";
+    // Matches the server's limit for PUT /api/orders/status/batch
+    private static final int MAX_STATUS_BATCH_SIZE = 200;
+    // Prefetched details cover the rows on screen; old enough ones are fetched again
+    private static final int MAX_PREFETCHED_DETAILS = 20;
+    private static final long PREFETCH_TTL_MS = 60_000;
+    // A queued change that keeps failing is given up after this many sends or this long,
+    // so one change the server always refuses cannot hold back the changes behind it
+    private static final int MAX_MUTATION_ATTEMPTS = 10;
+    private static final long MAX_MUTATION_AGE_MS = TimeUnit.HOURS.toMillis(24);
+
+    private final Context context;
     private final ApiService apiService;
-    private final Gson gson;
+    private final OrderCache orderCache;
+    private final MutationOutbox outbox;
+    private final List<OrderChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final LruCache<String, PrefetchedDetails> prefetchedDetails =
+        new LruCache<>(MAX_PREFETCHED_DETAILS);
+    // Guarded by prefetchedDetails
+    private final Map<String, PrefetchInFlight> prefetchesInFlight = new HashMap<>();
+
+    private static class PrefetchInFlight {
+        final retrofit2.Call<OrderDetailsResponse> call;
+        // The batch whose cancellation cancels the call; the latest one that asked for it
+        Object batch;
+
+        PrefetchInFlight(retrofit2.Call<OrderDetailsResponse> call, Object batch) {
+            this.call = call;
+            this.batch = batch;
+        }
+    }
+
+    private static class PrefetchedDetails {
+        final OrderDetailsResponse details;
+        final long fetchedAtMs;
+
+        PrefetchedDetails(OrderDetailsResponse details, long fetchedAtMs) {
+            this.details = details;
+            this.fetchedAtMs = fetchedAtMs;
+        }
+    }
+
+    public enum FlushResult {
+        /** Nothing left to send. */
+        DRAINED,
+        /** A batch went through and more mutations are waiting. */
+        MORE,
+        /** A mutation failed transiently and should be retried later. */
+        RETRY
+    }
+
+    /**
+     * Told when an order's visible status changes, whether from a local change, the
+     * server, or a rollback. Called on a background thread.
+     */
+    public interface OrderChangeListener {
+        void onOrderChanged(@NonNull Order order);
+
+        /**
+         * Several orders changed together, e.g. from a bulk status change. Override to
+         * handle them in one pass instead of once per order.
+         */
+        default void onOrdersChanged(@NonNull List<Order> orders) {
+            for (Order order : orders) {
+                onOrderChanged(order);
+            }
+        }
+
+        /**
+         * Queued status changes to these orders will not happen: the server refused them
+         * or they could not be delivered. The orders are already back at their confirmed
+         * status; this is for telling the user.
+         */
+        default void onStatusChangesRejected(@NonNull List<String> orderIds) {
+        }
+    }
 
     public interface OrderCallback {
         void onSuccess(@Nullable Order order);
@@ -24,45 +128,206 @@ public class OrderRepository {
         void onError(@NonNull String message);
     }
 
+    public interface OrderDetailsCallback {
+        void onSuccess(@NonNull OrderDetailsResponse details);
+        void onError(@NonNull String message);
+    }
+
     public interface VerificationCallback {
         void onSuccess(@NonNull VerificationResponse response);
         void onError(@NonNull String message);
     }
 
-    public OrderRepository(ApiService apiService) {
+    public OrderRepository(Context context, ApiService apiService, OrderCache orderCache,
+                           MutationOutbox outbox) {
         if (apiService == null) {
             throw new IllegalArgumentException("ApiService must not be null");
         }
+        if (orderCache == null || outbox == null) {
+            throw new IllegalArgumentException("OrderCache and MutationOutbox must not be null");
+        }
+        this.context = context.getApplicationContext();
         this.apiService = apiService;
-        this.gson = new Gson();
+        this.orderCache = orderCache;
+        this.outbox = outbox;
+        // Changes queued before the process died are still pending on the server
+        showQueuedChanges();
+    }
+
+    public void addOrderChangeListener(@NonNull OrderChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeOrderChangeListener(@NonNull OrderChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void notifyIfChanged(@Nullable Order changed) {
+        if (changed == null) {
+            return;
+        }
+        // The prefetched timeline no longer matches the order
+        prefetchedDetails.remove(changed.getId());
+        for (OrderChangeListener listener : changeListeners) {
+            listener.onOrderChanged(changed);
+        }
+    }
+
+    private void notifyIfChanged(@NonNull List<Order> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        for (Order order : changed) {
+            prefetchedDetails.remove(order.getId());
+        }
+        for (OrderChangeListener listener : changeListeners) {
+            listener.onOrdersChanged(changed);
+        }
+    }
+
+    private void notifyRejected(@NonNull List<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        for (OrderChangeListener listener : changeListeners) {
+            listener.onStatusChangesRejected(orderIds);
+        }
     }
 
-    public void getUserOrders(@NonNull OrderListCallback callback) {
-        apiService.getUserOrders().enqueue(new retrofit2.Callback<List<Order>>() {
+    private static void addIfChanged(@NonNull List<Order> changed, @Nullable Order order) {
+        if (order != null) {
+            changed.add(order);
+        }
+    }
+
+    /**
+     * WebSocket echo of a status change. Duplicates and echoes of our own changes are
+     * dropped by version in {@link OrderCache}.
+     */
+    @Override
+    public void onOrderUpdate(@NonNull String orderId, @NonNull OrderStatus status, long version) {
+        notifyIfChanged(orderCache.applyServer(orderId, status, version));
+    }
+
+    @Override
+    public void onOrdersUpdate(@NonNull OrderStatus status, @NonNull Map<String, Long> versions) {
+        List<Order> changed = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : versions.entrySet()) {
+            addIfChanged(changed, orderCache.applyServer(entry.getKey(), status, entry.getValue()));
+        }
+        notifyIfChanged(changed);
+    }
+
+    /**
+     * Returns the last loaded copy of an order, if it is still in memory. Screens use it
+     * to render immediately from an id passed through navigation.
+     */
+    @Nullable
+    public Order getCachedOrder(@Nullable String orderId) {
+        return orderCache.get(orderId);
+    }
+
+    public void clearCache() {
+        orderCache.clear();
+        prefetchedDetails.evictAll();
+    }
+
+    /**
+     * Switches the outbox to {@code userId}'s queue, or detaches it on sign-out, and shows
+     * the new user's queued changes over cached orders. Reads the disk when signing in.
+     */
+    public void switchUser(@Nullable String userId) {
+        if (outbox.switchUser(userId)) {
+            showQueuedChanges();
+        }
+    }
+
+    private void showQueuedChanges() {
+        for (PendingMutation mutation : outbox.peek(Integer.MAX_VALUE)) {
+            OrderStatus status = OrderStatus.fromValue(mutation.getStatus());
+            for (String orderId : mutation.getOrderIds()) {
+                orderCache.applyLocal(orderId, status);
+            }
+        }
+    }
+
+    @NonNull
+    public Cancellable getUserOrders(@NonNull OrderListCallback callback) {
+        return fetchOrders(apiService.getUserOrdersCompact(LIST_FIELDS), callback);
+    }
+
+    /**
+     * Orders placed with the signed-in seller's store, the ones whose status they manage.
+     */
+    @NonNull
+    public Cancellable getStoreOrders(@NonNull OrderListCallback callback) {
+        return fetchOrders(apiService.getStoreOrdersCompact(LIST_FIELDS), callback);
+    }
+
+    @NonNull
+    private Cancellable fetchOrders(@NonNull retrofit2.Call<CompactOrdersResponse> request,
+                                    @NonNull OrderListCallback callback) {
+        request.enqueue(new retrofit2.Callback<CompactOrdersResponse>() {
             @Override
-            public void onResponse(@NonNull retrofit2.Call<List<Order>> call,
-                                 @NonNull retrofit2.Response<List<Order>> response) {
+            public void onResponse(@NonNull retrofit2.Call<CompactOrdersResponse> call,
+                                 @NonNull retrofit2.Response<CompactOrdersResponse> response) {
+                if (call.isCanceled()) {
+                    return;
+                }
                 if (response.isSuccessful() && response.body() != null) {
-                    callback.onSuccess(response.body());
+                    List<Order> orders = inflateCompactOrders(response.body());
+                    orderCache.putAll(orders);
+                    callback.onSuccess(orders);
                 } else {
                     callback.onError("Failed to fetch orders: " + response.message());
                 }
             }
 
             @Override
-            public void onFailure(@NonNull retrofit2.Call<List<Order>> call,
+            public void onFailure(@NonNull retrofit2.Call<CompactOrdersResponse> call,
                                 @NonNull Throwable t) {
-                callback.onError("Network error: " + t.getMessage());
+                if (!call.isCanceled()) {
+                    callback.onError("Network error: " + t.getMessage());
+                }
             }
         });
+        return request::cancel;
     }
 
-    public void getOrderDetails(@NonNull String orderId, @NonNull OrderCallback callback) {
-        apiService.getOrder(orderId).enqueue(new retrofit2.Callback<Order>() {
+    /**
+     * Reattaches the deduplicated stores and users to their orders. Orders from the same
+     * store share one {@link Order.Store} instance.
+     */
+    @NonNull
+    static List<Order> inflateCompactOrders(@NonNull CompactOrdersResponse response) {
+        Map<String, Order.Store> stores = response.getStores();
+        Map<String, Order.User> users = response.getUsers();
+        List<Order> orders = response.getOrders();
+        for (Order order : orders) {
+            String storeId = order.getStoreId();
+            if (order.getStore() == null && storeId != null) {
+                order.setStore(stores.get(storeId));
+            }
+            String userId = order.getUserId();
+            if (order.getUser() == null && userId != null) {
+                order.setUser(users.get(userId));
+            }
+        }
+        return orders;
+    }
+
+    @NonNull
+    public Cancellable getOrderDetails(@NonNull String orderId, @NonNull OrderCallback callback) {
+        retrofit2.Call<Order> request = apiService.getOrder(orderId, DETAIL_FIELDS);
+        request.enqueue(new retrofit2.Callback<Order>() {
             @Override
             public void onResponse(@NonNull retrofit2.Call<Order> call,
                                  @NonNull retrofit2.Response<Order> response) {
+                if (call.isCanceled()) {
+                    return;
+                }
                 if (response.isSuccessful() && response.body() != null) {
+                    orderCache.put(response.body());
                     callback.onSuccess(response.body());
                 } else {
                     callback.onError("Failed to fetch order: " + response.message());
@@ -72,20 +337,166 @@ public class OrderRepository {
             @Override
             public void onFailure(@NonNull retrofit2.Call<Order> call,
                                 @NonNull Throwable t) {
-                callback.onError("Network error: " + t.getMessage());
+                if (!call.isCanceled()) {
+                    callback.onError("Network error: " + t.getMessage());
+                }
             }
         });
+        return request::cancel;
     }
 
-    public void verifyOrderQR(@NonNull String qrData, @NonNull VerificationCallback callback) {
+    /**
+     * Loads the order together with its status history, QR status and the caller's role
+     * in a single request.
+     */
+    @NonNull
+    public Cancellable getAggregatedOrderDetails(@NonNull String orderId,
+                                                 @NonNull OrderDetailsCallback callback) {
+        retrofit2.Call<OrderDetailsResponse> request =
+            apiService.getOrderDetails(orderId, DETAIL_FIELDS, DETAIL_INCLUDES);
+        request.enqueue(new retrofit2.Callback<OrderDetailsResponse>() {
+            @Override
+            public void onResponse(@NonNull retrofit2.Call<OrderDetailsResponse> call,
+                                 @NonNull retrofit2.Response<OrderDetailsResponse> response) {
+                if (call.isCanceled()) {
+                    return;
+                }
+                OrderDetailsResponse details = response.body();
+                if (response.isSuccessful() && details != null && details.getOrder() != null) {
+                    details.getOrder().setTimeline(details.getHistory());
+                    orderCache.put(details.getOrder());
+                    callback.onSuccess(details);
+                } else {
+                    callback.onError("Failed to fetch order: " + response.message());
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull retrofit2.Call<OrderDetailsResponse> call,
+                                @NonNull Throwable t) {
+                if (!call.isCanceled()) {
+                    callback.onError("Network error: " + t.getMessage());
+                }
+            }
+        });
+        return request::cancel;
+    }
+
+    /**
+     * Loads the details of orders the user is likely to open, at background priority, so
+     * {@link #getPrefetchedDetails} can answer without a request. Orders already prefetched
+     * are skipped. An order already on its way moves to this batch, so cancelling the
+     * batch before it only cancels the orders this one no longer asks for. Nothing is sent
+     * on metered networks or in battery saver.
+     */
+    @NonNull
+    public Cancellable prefetchOrderDetails(@NonNull Collection<String> orderIds) {
+        if (!NetworkUtils.isPrefetchAllowed(context)) {
+            return Cancellable.NONE;
+        }
+        Object batch = new Object();
+        boolean owned = false;
+        for (String orderId : orderIds) {
+            PrefetchInFlight inFlight;
+            synchronized (prefetchedDetails) {
+                if (getPrefetchedDetails(orderId) != null) {
+                    continue;
+                }
+                owned = true;
+                inFlight = prefetchesInFlight.get(orderId);
+                if (inFlight != null) {
+                    inFlight.batch = batch;
+                    continue;
+                }
+                inFlight = new PrefetchInFlight(
+                    apiService.prefetchOrderDetails(orderId, DETAIL_FIELDS, DETAIL_INCLUDES), batch);
+                prefetchesInFlight.put(orderId, inFlight);
+            }
+            PrefetchInFlight request = inFlight;
+            request.call.enqueue(new retrofit2.Callback<OrderDetailsResponse>() {
+                @Override
+                public void onResponse(@NonNull retrofit2.Call<OrderDetailsResponse> call,
+                                     @NonNull retrofit2.Response<OrderDetailsResponse> response) {
+                    OrderDetailsResponse details = response.body();
+                    synchronized (prefetchedDetails) {
+                        prefetchesInFlight.remove(orderId, request);
+                        if (call.isCanceled() || !response.isSuccessful()
+                                || details == null || details.getOrder() == null) {
+                            return;
+                        }
+                        details.getOrder().setTimeline(details.getHistory());
+                        orderCache.put(details.getOrder());
+                        prefetchedDetails.put(orderId,
+                            new PrefetchedDetails(details, SystemClock.elapsedRealtime()));
+                    }
+                }
+
+                @Override
+                public void onFailure(@NonNull retrofit2.Call<OrderDetailsResponse> call,
+                                    @NonNull Throwable t) {
+                    synchronized (prefetchedDetails) {
+                        prefetchesInFlight.remove(orderId, request);
+                    }
+                    // The details screen fetches for itself if this did not work out
+                    if (!call.isCanceled()) {
+                        Log.d(TAG, "Prefetch failed for order " + orderId, t);
+                    }
+                }
+            });
+        }
+        if (!owned) {
+            return Cancellable.NONE;
+        }
+        return () -> {
+            List<retrofit2.Call<OrderDetailsResponse>> toCancel = new ArrayList<>();
+            synchronized (prefetchedDetails) {
+                Iterator<PrefetchInFlight> iterator = prefetchesInFlight.values().iterator();
+                while (iterator.hasNext()) {
+                    PrefetchInFlight inFlight = iterator.next();
+                    if (inFlight.batch == batch) {
+                        // Removed now, so a later batch sends a fresh call instead of adopting this one
+                        iterator.remove();
+                        toCancel.add(inFlight.call);
+                    }
+                }
+            }
+            for (retrofit2.Call<OrderDetailsResponse> call : toCancel) {
+                call.cancel();
+            }
+        };
+    }
+
+    /**
+     * Returns recently prefetched details for an order, or null if there are none or they
+     * have gone stale.
+     */
+    @Nullable
+    public OrderDetailsResponse getPrefetchedDetails(@NonNull String orderId) {
+        PrefetchedDetails prefetched = prefetchedDetails.get(orderId);
+        if (prefetched == null) {
+            return null;
+        }
+        if (SystemClock.elapsedRealtime() - prefetched.fetchedAtMs > PREFETCH_TTL_MS) {
+            prefetchedDetails.remove(orderId);
+            return null;
+        }
+        return prefetched.details;
+    }
+
+    @NonNull
+    public Cancellable verifyOrderQR(@NonNull String qrData, @NonNull VerificationCallback callback) {
         try {
             Map<String, String> verificationData = new HashMap<>();
             verificationData.put("qrData", qrData);
 
-            apiService.verifyQRCode(verificationData).enqueue(new retrofit2.Callback<VerificationResponse>() {
+            retrofit2.Call<VerificationResponse> request = apiService.verifyQRCode(verificationData);
+            request.enqueue(new retrofit2.Callback<VerificationResponse>() {
                 @Override
                 public void onResponse(@NonNull retrofit2.Call<VerificationResponse> call,
                                      @NonNull retrofit2.Response<VerificationResponse> response) {
+                    if (call.isCanceled()) {
+                        return;
+                    }
                     if (response.isSuccessful() && response.body() != null) {
                         VerificationResponse result = response.body();
                         if (result.isSuccess()) {
@@ -101,39 +512,200 @@ public class OrderRepository {
                 @Override
                 public void onFailure(@NonNull retrofit2.Call<VerificationResponse> call,
                                     @NonNull Throwable t) {
-                    callback.onError("Network error: " + t.getMessage());
+                    if (!call.isCanceled()) {
+                        callback.onError("Network error: " + t.getMessage());
+                    }
                 }
             });
+            return request::cancel;
         } catch (Exception e) {
             callback.onError("Error verifying QR code: " + e.getMessage());
+            return Cancellable.NONE;
         }
     }
 
-    public void updateOrderStatus(@NonNull String orderId, @NonNull String status,
-                                @NonNull OrderCallback callback) {
-        try {
+    /**
+     * Queues a status change and returns without waiting for the network. The change is
+     * shown at once through {@link OrderChangeListener}s, persisted, and sent in order by
+     * {@link OutboxFlushWorker}, so it survives going offline or the process being killed.
+     */
+    @NonNull
+    public PendingMutation updateOrderStatus(@NonNull String orderId, @NonNull OrderStatus status) {
+        PendingMutation mutation = new PendingMutation.Builder()
+            .setOrderId(orderId)
+            .setStatus(status.getValue())
+            .build();
+        outbox.add(mutation);
+        notifyIfChanged(orderCache.applyLocal(orderId, status));
+        OutboxFlushWorker.schedule(context);
+        return mutation;
+    }
+
+    /**
+     * Queues one status for many orders. Like {@link #updateOrderStatus} it returns at once;
+     * the orders are sent as batch requests of up to {@value #MAX_STATUS_BATCH_SIZE},
+     * each applied by the server in one transaction, and listeners see the whole
+     * selection change in a single {@link OrderChangeListener#onOrdersChanged} call.
+     */
+    @NonNull
+    public List<PendingMutation> updateOrderStatuses(@NonNull Collection<String> orderIds,
+                                                     @NonNull OrderStatus status) {
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        List<PendingMutation> mutations = new ArrayList<>();
+        List<Order> changed = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_STATUS_BATCH_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + MAX_STATUS_BATCH_SIZE, ids.size()));
+            PendingMutation mutation = new PendingMutation.Builder()
+                .setOrderIds(chunk)
+                .setStatus(status.getValue())
+                .build();
+            outbox.add(mutation);
+            mutations.add(mutation);
+            for (String orderId : chunk) {
+                addIfChanged(changed, orderCache.applyLocal(orderId, status));
+            }
+        }
+        notifyIfChanged(changed);
+        if (!mutations.isEmpty()) {
+            OutboxFlushWorker.schedule(context);
+        }
+        return mutations;
+    }
+
+    @NonNull
+    public LiveData<Integer> getPendingMutationCount() {
+        return outbox.getPendingCount();
+    }
+
+    /**
+     * Sends up to {@code batchSize} queued mutations, oldest first, stopping at the first
+     * one that should be retried so later changes never overtake it. A mutation that has
+     * been retried too often or for too long is dropped and rolled back instead.
+     */
+    @NonNull
+    @WorkerThread
+    public FlushResult flushOutbox(int batchSize) {
+        for (PendingMutation mutation : outbox.peek(batchSize)) {
+            if (isExhausted(mutation)) {
+                deadLetter(mutation);
+                continue;
+            }
+            if (mutation.isBatch()) {
+                if (!flushBatch(mutation)) {
+                    return FlushResult.RETRY;
+                }
+                continue;
+            }
             Map<String, Object> statusData = new HashMap<>();
-            statusData.put("status", status);
+            statusData.put("status", mutation.getStatus());
+            try {
+                retrofit2.Response<Order> response = apiService
+                    .updateOrderStatus(mutation.getOrderId(), mutation.getId(), statusData)
+                    .execute();
+                if (response.isSuccessful()) {
+                    outbox.remove(mutation);
+                    notifyIfChanged(orderCache.resolveLocal(mutation.getOrderId(), response.body()));
+                } else if (isPermanentFailure(response.code())) {
+                    // Retrying cannot change the outcome; the next refresh shows the real status
+                    Log.w(TAG, "Status change for order " + mutation.getOrderId()
+                        + " rejected with " + response.code());
+                    outbox.remove(mutation);
+                    notifyIfChanged(orderCache.rollbackLocal(mutation.getOrderId()));
+                    notifyRejected(Collections.singletonList(mutation.getOrderId()));
+                } else {
+                    outbox.recordAttempt(mutation);
+                    return FlushResult.RETRY;
+                }
+            } catch (IOException e) {
+                outbox.recordAttempt(mutation);
+                return FlushResult.RETRY;
+            }
+        }
+        return outbox.isEmpty() ? FlushResult.DRAINED : FlushResult.MORE;
+    }
 
-            apiService.updateOrderStatus(orderId, statusData).enqueue(new retrofit2.Callback<Order>() {
-                @Override
-                public void onResponse(@NonNull retrofit2.Call<Order> call,
-                                     @NonNull retrofit2.Response<Order> response) {
-                    if (response.isSuccessful() && response.body() != null) {
-                        callback.onSuccess(response.body());
+    /**
+     * Sends a bulk status change. Returns false if it should be retried later.
+     */
+    @WorkerThread
+    private boolean flushBatch(@NonNull PendingMutation mutation) {
+        BatchStatusRequest request = new BatchStatusRequest.Builder()
+            .setStatus(mutation.getStatus())
+            .setOrderIds(mutation.getOrderIds())
+            .build();
+        try {
+            retrofit2.Response<BatchStatusResponse> response = apiService
+                .updateOrderStatuses(mutation.getId(), request)
+                .execute();
+            List<Order> changed = new ArrayList<>();
+            List<String> rejected = new ArrayList<>();
+            if (response.isSuccessful() && response.body() != null) {
+                outbox.remove(mutation);
+                Map<String, BatchStatusResponse.OrderVersion> accepted = new HashMap<>();
+                for (BatchStatusResponse.OrderVersion order : response.body().getOrders()) {
+                    accepted.put(order.getId(), order);
+                }
+                // Every id is settled exactly once; ids the server refused roll back
+                for (String orderId : mutation.getOrderIds()) {
+                    BatchStatusResponse.OrderVersion order = accepted.get(orderId);
+                    if (order != null) {
+                        addIfChanged(changed, orderCache.resolveLocal(orderId,
+                            OrderStatus.fromValue(order.getStatus()), order.getVersion()));
                     } else {
-                        callback.onError("Failed to update order status: " + response.message());
+                        addIfChanged(changed, orderCache.rollbackLocal(orderId));
+                        rejected.add(orderId);
                     }
                 }
-
-                @Override
-                public void onFailure(@NonNull retrofit2.Call<Order> call,
-                                    @NonNull Throwable t) {
-                    callback.onError("Network error: " + t.getMessage());
+                if (!response.body().getFailed().isEmpty()) {
+                    Log.w(TAG, response.body().getFailed().size() + " of "
+                        + mutation.getOrderIds().size() + " orders rejected from bulk status change");
                 }
-            });
-        } catch (Exception e) {
-            callback.onError("Error updating order status: " + e.getMessage());
+            } else if (isPermanentFailure(response.code())) {
+                Log.w(TAG, "Bulk status change of " + mutation.getOrderIds().size()
+                    + " orders rejected with " + response.code());
+                outbox.remove(mutation);
+                for (String orderId : mutation.getOrderIds()) {
+                    addIfChanged(changed, orderCache.rollbackLocal(orderId));
+                }
+                rejected.addAll(mutation.getOrderIds());
+            } else {
+                outbox.recordAttempt(mutation);
+                return false;
+            }
+            notifyIfChanged(changed);
+            notifyRejected(rejected);
+            return true;
+        } catch (IOException e) {
+            outbox.recordAttempt(mutation);
+            return false;
         }
     }
+
+    private static boolean isExhausted(@NonNull PendingMutation mutation) {
+        return mutation.getAttempts() >= MAX_MUTATION_ATTEMPTS
+            || System.currentTimeMillis() - mutation.getCreatedAt() > MAX_MUTATION_AGE_MS;
+    }
+
+    /**
+     * Drops a mutation that kept failing and puts its orders back at their confirmed status.
+     */
+    @WorkerThread
+    private void deadLetter(@NonNull PendingMutation mutation) {
+        Log.w(TAG, "Giving up on status change " + mutation.getId() + " for "
+            + mutation.getOrderIds().size() + " orders after " + mutation.getAttempts() + " attempts");
+        outbox.remove(mutation);
+        List<Order> changed = new ArrayList<>();
+        for (String orderId : mutation.getOrderIds()) {
+            addIfChanged(changed, orderCache.rollbackLocal(orderId));
+        }
+        notifyIfChanged(changed);
+        notifyRejected(mutation.getOrderIds());
+    }
+
+    private static boolean isPermanentFailure(int code) {
+        // 401 waits for a new token, 408/429 are throttling and 409 means a replay of the
+        // same key is still being processed. Business rules such as stock answer 422.
+        return code >= 400 && code < 500
+            && code != 401 && code != 408 && code != 409 && code != 429;
+    }
 }
\ No newline at end of file
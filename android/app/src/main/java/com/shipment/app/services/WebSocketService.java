@@ -3,24 +3,58 @@ package com.shipment.app.services;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import com.shipment.app.BuildConfig;
+import com.shipment.app.metrics.Counter;
+import com.shipment.app.metrics.MetricsRegistry;
+import com.shipment.app.models.OrderStatus;
+import io.socket.client.Manager;
 import io.socket.client.IO;
 import io.socket.client.Socket;
 import io.socket.emitter.Emitter;
+import org.json.JSONArray;
 import org.json.JSONObject;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class WebSocketService {
     private static final String TAG = "WebSocketService";
     private static volatile WebSocketService instance;
     private Socket socket;
+    // Handshake payload; the client resends it on every reconnect
+    private volatile Map<String, String> auth;
     private final List<OrderUpdateListener> orderUpdateListeners = new ArrayList<>();
+    private final List<ProfileUpdateListener> profileUpdateListeners = new ArrayList<>();
+    private final Counter reconnectAttempts = MetricsRegistry.getInstance().counter("ws.reconnect_attempts");
+    private final Counter reconnects = MetricsRegistry.getInstance().counter("ws.reconnects");
+    private final Counter connectErrors = MetricsRegistry.getInstance().counter("ws.connect_errors");
+
+    /** Version sent by servers that predate order versioning. */
+    public static final long UNKNOWN_VERSION = -1;
 
     public interface OrderUpdateListener {
-        void onOrderUpdate(@NonNull String orderId, @NonNull String status);
+        void onOrderUpdate(@NonNull String orderId, @NonNull OrderStatus status, long version);
+
+        /**
+         * Many orders moved to the same status at once. {@code versions} maps order ids to
+         * their new versions.
+         */
+        default void onOrdersUpdate(@NonNull OrderStatus status, @NonNull Map<String, Long> versions) {
+            for (Map.Entry<String, Long> entry : versions.entrySet()) {
+                onOrderUpdate(entry.getKey(), status, entry.getValue());
+            }
+        }
+    }
+
+    public interface ProfileUpdateListener {
+        /**
+         * The signed-in user's profile changed on the server. {@code storeId} is null when
+         * the user has no store.
+         */
+        void onProfileUpdate(@Nullable String role, @Nullable String storeId);
     }
 
     private WebSocketService() {
@@ -51,7 +85,8 @@ public class WebSocketService {
     public void connect(@NonNull String token) {
         try {
             IO.Options options = new IO.Options();
-            Map<String, String> auth = new HashMap<>();
+            // Concurrent, since updateToken writes it from OkHttp threads
+            auth = new ConcurrentHashMap<>();
             auth.put("token", token);
             options.auth = auth;
             socket = IO.socket(getWebSocketUrl(), options);
@@ -73,7 +108,12 @@ public class WebSocketService {
             Log.d(TAG, "Socket disconnected")
         );
 
+        // Reconnection events are emitted by the underlying Manager, not the socket
+        socket.io().on(Manager.EVENT_RECONNECT_ATTEMPT, args -> reconnectAttempts.increment());
+        socket.io().on(Manager.EVENT_RECONNECT, args -> reconnects.increment());
+
         socket.on(Socket.EVENT_CONNECT_ERROR, args -> {
+            connectErrors.increment();
             if (args.length > 0 && args[0] instanceof Exception) {
                 Log.e(TAG, "Connection error", (Exception) args[0]);
             } else {
@@ -86,13 +126,52 @@ public class WebSocketService {
                 try {
                     JSONObject data = (JSONObject) args[0];
                     String orderId = data.getString("orderId");
-                    String status = data.getString("status");
-                    notifyOrderUpdate(orderId, status);
+                    OrderStatus status = OrderStatus.fromValue(data.getString("status"));
+                    notifyOrderUpdate(orderId, status, data.optLong("version", UNKNOWN_VERSION));
                 } catch (Exception e) {
                     Log.e(TAG, "Error parsing order update", e);
                 }
             }
         });
+
+        // A bulk status change arrives as one event instead of one per order
+        socket.on("orders_update", args -> {
+            if (args.length > 0 && args[0] instanceof JSONObject) {
+                try {
+                    JSONObject data = (JSONObject) args[0];
+                    OrderStatus status = OrderStatus.fromValue(data.getString("status"));
+                    JSONArray orders = data.getJSONArray("orders");
+                    Map<String, Long> versions = new HashMap<>();
+                    for (int i = 0; i < orders.length(); i++) {
+                        JSONObject order = orders.getJSONObject(i);
+                        versions.put(order.getString("orderId"), order.optLong("version", UNKNOWN_VERSION));
+                    }
+                    notifyOrdersUpdate(status, versions);
+                } catch (Exception e) {
+                    Log.e(TAG, "Error parsing orders update", e);
+                }
+            }
+        });
+
+        socket.on("profile_update", args -> {
+            if (args.length > 0 && args[0] instanceof JSONObject) {
+                JSONObject data = (JSONObject) args[0];
+                notifyProfileUpdate(
+                    data.isNull("role") ? null : data.optString("role"),
+                    data.isNull("storeId") ? null : data.optString("storeId"));
+            }
+        });
+    }
+
+    /**
+     * Swaps in a refreshed token so reconnects after it expires still authenticate. The
+     * open connection is not affected; the server only checks the token on handshake.
+     */
+    public void updateToken(@NonNull String token) {
+        Map<String, String> current = auth;
+        if (current != null) {
+            current.put("token", token);
+        }
     }
 
     public void addOrderUpdateListener(@NonNull OrderUpdateListener listener) {
@@ -109,10 +188,40 @@ public class WebSocketService {
         }
     }
 
-    private void notifyOrderUpdate(@NonNull String orderId, @NonNull String status) {
+    public void addProfileUpdateListener(@NonNull ProfileUpdateListener listener) {
+        synchronized (profileUpdateListeners) {
+            if (!profileUpdateListeners.contains(listener)) {
+                profileUpdateListeners.add(listener);
+            }
+        }
+    }
+
+    public void removeProfileUpdateListener(@NonNull ProfileUpdateListener listener) {
+        synchronized (profileUpdateListeners) {
+            profileUpdateListeners.remove(listener);
+        }
+    }
+
+    private void notifyProfileUpdate(@Nullable String role, @Nullable String storeId) {
+        synchronized (profileUpdateListeners) {
+            for (ProfileUpdateListener listener : profileUpdateListeners) {
+                listener.onProfileUpdate(role, storeId);
+            }
+        }
+    }
+
+    private void notifyOrderUpdate(@NonNull String orderId, @NonNull OrderStatus status, long version) {
         synchronized (orderUpdateListeners) {
             for (OrderUpdateListener listener : orderUpdateListeners) {
-                listener.onOrderUpdate(orderId, status);
+                listener.onOrderUpdate(orderId, status, version);
+            }
+        }
+    }
+
+    private void notifyOrdersUpdate(@NonNull OrderStatus status, @NonNull Map<String, Long> versions) {
+        synchronized (orderUpdateListeners) {
+            for (OrderUpdateListener listener : orderUpdateListeners) {
+                listener.onOrdersUpdate(status, versions);
             }
         }
     }
@@ -122,9 +231,13 @@ public class WebSocketService {
             socket.disconnect();
             socket = null;
         }
+        auth = null;
         synchronized (orderUpdateListeners) {
             orderUpdateListeners.clear();
         }
+        synchronized (profileUpdateListeners) {
+            profileUpdateListeners.clear();
+        }
     }
 
     @Nullable
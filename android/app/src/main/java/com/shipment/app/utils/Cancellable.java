@@ -0,0 +1,13 @@
+package com.shipment.app.utils;
+
+/**
+ * Handle to a repository request that is still running. Cancelling aborts the
+ * underlying HTTP call and guarantees the request's callback or result is never
+ * delivered, so nothing keeps the caller reachable once it is gone.
+ */
+public interface Cancellable {
+    /** For requests that had nothing to send. */
+    Cancellable NONE = () -> { };
+
+    void cancel();
+}
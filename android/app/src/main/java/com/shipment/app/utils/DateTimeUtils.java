@@ -0,0 +1,62 @@
+package com.shipment.app.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Thread-safe ISO-8601 parsing and display formatting. {@link DateTimeFormatter} is
+ * immutable, so the formatters below are shared by every thread.
+ */
+public final class DateTimeUtils {
+    public static final long UNKNOWN_TIME = 0L;
+
+    private static final DateTimeFormatter DATE_FORMAT =
+        DateTimeFormatter.ofPattern("MMMM dd, yyyy", Locale.getDefault())
+            .withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter DATE_TIME_FORMAT =
+        DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm:ss", Locale.getDefault())
+            .withZone(ZoneId.systemDefault());
+
+    private DateTimeUtils() {
+    }
+
+    /**
+     * Parses an ISO-8601 timestamp such as {@code 2025-02-11T10:15:30.000Z} or one with
+     * an explicit offset. Returns {@link #UNKNOWN_TIME} if the value cannot be parsed.
+     */
+    public static long parseIsoMillis(@Nullable String value) {
+        if (value == null || value.isEmpty()) {
+            return UNKNOWN_TIME;
+        }
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            try {
+                return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                return UNKNOWN_TIME;
+            }
+        }
+    }
+
+    @NonNull
+    public static String toIsoString(long millis) {
+        return DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(millis));
+    }
+
+    @NonNull
+    public static String formatDate(long millis) {
+        return millis == UNKNOWN_TIME ? "" : DATE_FORMAT.format(Instant.ofEpochMilli(millis));
+    }
+
+    @NonNull
+    public static String formatDateTime(long millis) {
+        return millis == UNKNOWN_TIME ? "" : DATE_TIME_FORMAT.format(Instant.ofEpochMilli(millis));
+    }
+}
@@ -0,0 +1,35 @@
+package com.shipment.app.utils;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Reads ISO-8601 timestamps straight into epoch millis so models never hold
+ * date strings that have to be re-parsed on the UI thread.
+ */
+public class IsoTimestampTypeAdapter extends TypeAdapter<Long> {
+    @Override
+    public void write(JsonWriter out, Long value) throws IOException {
+        if (value == null || value == DateTimeUtils.UNKNOWN_TIME) {
+            out.nullValue();
+            return;
+        }
+        out.value(DateTimeUtils.toIsoString(value));
+    }
+
+    @Override
+    public Long read(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return DateTimeUtils.UNKNOWN_TIME;
+        }
+        if (token == JsonToken.NUMBER) {
+            return in.nextLong();
+        }
+        return DateTimeUtils.parseIsoMillis(in.nextString());
+    }
+}
@@ -0,0 +1,33 @@
+package com.shipment.app.utils;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.shipment.app.models.Money;
+import java.io.IOException;
+
+/**
+ * Reads the server's DECIMAL amounts, sent either as strings or numbers, into
+ * {@link Money} once at deserialization time.
+ */
+public class MoneyTypeAdapter extends TypeAdapter<Money> {
+    @Override
+    public void write(JsonWriter out, Money value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.value(value.toDecimalString());
+    }
+
+    @Override
+    public Money read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return Money.ZERO;
+        }
+        // nextString() also accepts numeric tokens and keeps their exact text
+        return Money.parse(in.nextString(), Money.DEFAULT_CURRENCY);
+    }
+}
@@ -5,6 +5,7 @@ import android.net.ConnectivityManager;
 import android.net.NetworkCapabilities;
 import android.net.NetworkInfo;
 import android.os.Build;
+import android.os.PowerManager;
 import androidx.annotation.NonNull;
 import com.shipment.app.BuildConfig;
 import okhttp3.Interceptor;
@@ -66,6 +67,26 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Whether speculative downloads are welcome right now. They are not on a metered
+     * connection, with Data Saver on or in battery saver.
+     */
+    public static boolean isPrefetchAllowed(Context context) {
+        if (context == null) return false;
+
+        ConnectivityManager connectivityManager = (ConnectivityManager)
+            context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivityManager == null || connectivityManager.isActiveNetworkMetered()) {
+            return false;
+        }
+        if (connectivityManager.getRestrictBackgroundStatus()
+                == ConnectivityManager.RESTRICT_BACKGROUND_STATUS_ENABLED) {
+            return false;
+        }
+        PowerManager powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        return powerManager == null || !powerManager.isPowerSaveMode();
+    }
+
     public static String getErrorMessage(Throwable throwable) {
         if (throwable == null || throwable.getMessage() == null) {
             return "Unknown error occurred";
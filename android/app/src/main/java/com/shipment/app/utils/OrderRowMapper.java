@@ -0,0 +1,67 @@
+package com.shipment.app.utils;
+
+import android.content.res.Resources;
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+import com.shipment.app.R;
+import com.shipment.app.models.Order;
+import com.shipment.app.models.OrderItem;
+import com.shipment.app.models.OrderRow;
+import com.shipment.app.models.OrderStatus;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Converts orders into {@link OrderRow}s. The currency formatter held here is not
+ * thread-safe, so an instance must only be used from a single worker thread.
+ */
+public class OrderRowMapper {
+    private final Resources resources;
+    private final NumberFormat currencyFormatter;
+
+    public OrderRowMapper(@NonNull Resources resources) {
+        this.resources = resources;
+        this.currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
+    }
+
+    @NonNull
+    @WorkerThread
+    public List<OrderRow> map(@NonNull List<Order> orders) {
+        List<OrderRow> rows = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            rows.add(map(order));
+        }
+        return rows;
+    }
+
+    @NonNull
+    @WorkerThread
+    public OrderRow map(@NonNull Order order) {
+        OrderStatus status = order.getStatus();
+        List<OrderItem> items = order.getItems();
+        int itemCount = items != null ? items.size() : 0;
+
+        return new OrderRow.Builder()
+            .setOrder(order)
+            .setTitle(formatTitle(items))
+            .setFormattedDate(DateTimeUtils.formatDate(order.getCreatedAt()))
+            .setFormattedTotal(currencyFormatter.format(order.getTotalFiatAmount().toMajorUnits()))
+            .setItemsCountText(resources.getString(R.string.items_count, itemCount))
+            .setStatus(status)
+            .setStatusLabel(resources.getString(status.getLabelRes()))
+            .build();
+    }
+
+    private String formatTitle(List<OrderItem> items) {
+        if (items == null || items.isEmpty()) {
+            return "";
+        }
+        String firstName = items.get(0).getProduct().getName();
+        if (items.size() == 1) {
+            return resources.getString(R.string.order_items_format, firstName);
+        }
+        return resources.getString(R.string.order_items_with_more_format, firstName, items.size() - 1);
+    }
+}
@@ -0,0 +1,28 @@
+package com.shipment.app.utils;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.shipment.app.models.OrderStatus;
+import java.io.IOException;
+
+public class OrderStatusTypeAdapter extends TypeAdapter<OrderStatus> {
+    @Override
+    public void write(JsonWriter out, OrderStatus value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.value(value.getValue());
+    }
+
+    @Override
+    public OrderStatus read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return OrderStatus.PENDING;
+        }
+        return OrderStatus.fromValue(in.nextString());
+    }
+}
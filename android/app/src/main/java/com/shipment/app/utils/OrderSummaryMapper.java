@@ -0,0 +1,57 @@
+package com.shipment.app.utils;
+
+import android.content.res.Resources;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.shipment.app.R;
+import com.shipment.app.models.Money;
+import com.shipment.app.models.OrderItem;
+import com.shipment.app.models.OrderSummaryItem;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Converts order items into {@link OrderSummaryItem}s with their price strings already
+ * formatted. Like {@link OrderRowMapper}, an instance holds a currency formatter that is
+ * not thread-safe and must stay on one thread.
+ */
+public class OrderSummaryMapper {
+    private final Resources resources;
+    private final NumberFormat currencyFormatter;
+
+    public OrderSummaryMapper(@NonNull Resources resources) {
+        this.resources = resources;
+        this.currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
+    }
+
+    @NonNull
+    public List<OrderSummaryItem> map(@Nullable List<OrderItem> items) {
+        if (items == null) {
+            return Collections.emptyList();
+        }
+        List<OrderSummaryItem> summaryItems = new ArrayList<>(items.size());
+        for (OrderItem item : items) {
+            summaryItems.add(map(item));
+        }
+        return summaryItems;
+    }
+
+    @NonNull
+    public OrderSummaryItem map(@NonNull OrderItem item) {
+        Money price = item.getUnitPrice();
+        return new OrderSummaryItem.Builder()
+            .setProductId(item.getProduct().getId())
+            .setName(item.getProduct().getName())
+            .setPrice(price)
+            .setImageUrl(item.getProduct().getImageUrl())
+            .setQuantity(item.getQuantity())
+            .setFormattedPrice(resources.getString(R.string.order_summary_price_format,
+                currencyFormatter.format(price.toMajorUnits()), item.getQuantity()))
+            .setFormattedTotal(resources.getString(R.string.order_summary_total_format,
+                currencyFormatter.format(price.times(item.getQuantity()).toMajorUnits())))
+            .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.shipment.app.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
+import java.util.concurrent.atomic.AtomicReference;
+import retrofit2.Call;
+
+/**
+ * A {@link Resource} result for requests that run on their own thread and may retry.
+ * Each attempt's {@link Call} goes through {@link #track}, so {@link #cancel()} aborts
+ * whichever attempt is running and stops further ones. After cancelling, nothing more
+ * is posted.
+ * <p>
+ * Removing the last observer cancels too, so a request dies with the screen that
+ * observed it. A stopped screen keeps its observer, so going to the background does not.
+ */
+public class RequestLiveData<T> extends MutableLiveData<Resource<T>> implements Cancellable {
+    private final AtomicReference<Call<?>> currentCall = new AtomicReference<>();
+    private volatile boolean cancelled;
+
+    public RequestLiveData() {
+        super(Resource.loading(null));
+    }
+
+    /**
+     * Registers the call about to be executed. A call tracked after cancellation is
+     * cancelled before it starts, so its {@code execute()} fails right away.
+     */
+    @NonNull
+    public <R> Call<R> track(@NonNull Call<R> call) {
+        currentCall.set(call);
+        if (cancelled) {
+            call.cancel();
+        }
+        return call;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        Call<?> call = currentCall.getAndSet(null);
+        if (call != null) {
+            call.cancel();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void removeObserver(@NonNull Observer<? super Resource<T>> observer) {
+        super.removeObserver(observer);
+        if (!hasObservers()) {
+            cancel();
+        }
+    }
+
+    @Override
+    public void postValue(@Nullable Resource<T> value) {
+        if (!cancelled) {
+            super.postValue(value);
+        }
+    }
+
+    @Override
+    public void setValue(@Nullable Resource<T> value) {
+        if (!cancelled) {
+            super.setValue(value);
+        }
+    }
+}
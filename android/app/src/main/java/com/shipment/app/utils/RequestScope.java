@@ -0,0 +1,61 @@
+package com.shipment.app.utils;
+
+import androidx.annotation.NonNull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The requests a screen currently has in flight, at most one per key. Starting a request
+ * under a key cancels the one it supersedes, and {@link #cancelAll()} cancels everything.
+ * ViewModels call it from {@code onCleared()}.
+ * <p>
+ * Once cancelled, the scope stays closed and cancels new requests right away, so a late
+ * call from a dying screen cannot start work nobody will receive.
+ */
+public class RequestScope {
+    private final Map<String, Cancellable> requests = new HashMap<>();
+    private boolean closed;
+
+    /**
+     * Tracks {@code request} under {@code key}, cancelling the previous request with the
+     * same key.
+     */
+    public void launch(@NonNull String key, @NonNull Cancellable request) {
+        Cancellable toCancel;
+        synchronized (this) {
+            if (closed) {
+                toCancel = request;
+            } else {
+                Cancellable previous = requests.put(key, request);
+                toCancel = previous != request ? previous : null;
+            }
+        }
+        if (toCancel != null) {
+            toCancel.cancel();
+        }
+    }
+
+    public void cancel(@NonNull String key) {
+        Cancellable request;
+        synchronized (this) {
+            request = requests.remove(key);
+        }
+        if (request != null) {
+            request.cancel();
+        }
+    }
+
+    public void cancelAll() {
+        List<Cancellable> toCancel;
+        synchronized (this) {
+            closed = true;
+            toCancel = new ArrayList<>(requests.values());
+            requests.clear();
+        }
+        for (Cancellable request : toCancel) {
+            request.cancel();
+        }
+    }
+}
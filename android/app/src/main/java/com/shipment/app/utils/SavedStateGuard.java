@@ -0,0 +1,154 @@
+package com.shipment.app.utils;
+
+import android.os.Bundle;
+import android.os.Parcel;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
+import com.shipment.app.metrics.Histogram;
+import com.shipment.app.metrics.MetricsRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps fragment saved state and navigation arguments small. Everything saved here ends
+ * up in one binder transaction with a ~1 MB process-wide limit, and going over it throws
+ * {@code TransactionTooLargeException} when the app is backgrounded.
+ * <p>
+ * Saved state over {@link #MAX_STATE_BYTES} is logged with the size of every entry and
+ * counted, then the app's own entries are trimmed, largest first; a screen that loses an
+ * entry reloads it by id. Framework entries are never removed. Arguments cannot be trimmed
+ * safely, so oversized arguments are only logged. Both sizes are recorded so regressions
+ * show up in metrics.
+ */
+public class SavedStateGuard extends FragmentManager.FragmentLifecycleCallbacks {
+    private static final String TAG = "SavedStateGuard";
+    static final int MAX_STATE_BYTES = 64 * 1024;
+    static final int MAX_ARGUMENT_BYTES = 16 * 1024;
+    private static final String[] FRAMEWORK_KEY_PREFIXES = {"android:", "androidx."};
+
+    private final Histogram stateBytes;
+    private final Histogram argumentBytes;
+    private final MetricsRegistry registry;
+
+    public SavedStateGuard(@NonNull MetricsRegistry registry) {
+        this.registry = registry;
+        this.stateBytes = registry.histogram("saved_state.bytes", MetricsRegistry.UNIT_BYTES);
+        this.argumentBytes = registry.histogram("nav.args.bytes", MetricsRegistry.UNIT_BYTES);
+    }
+
+    @Override
+    public void onFragmentCreated(@NonNull FragmentManager fm, @NonNull Fragment f, Bundle savedInstanceState) {
+        Bundle args = f.getArguments();
+        if (args == null) {
+            return;
+        }
+        int size = sizeOf(args);
+        argumentBytes.record(size);
+        if (size > MAX_ARGUMENT_BYTES) {
+            Log.w(TAG, f.getClass().getSimpleName() + " arguments are " + size
+                + " bytes; pass an id and read the object from a cache instead");
+        }
+    }
+
+    @Override
+    public void onFragmentSaveInstanceState(@NonNull FragmentManager fm, @NonNull Fragment f,
+                                            @NonNull Bundle outState) {
+        int size = sizeOf(outState);
+        stateBytes.record(size);
+        if (size <= MAX_STATE_BYTES) {
+            return;
+        }
+
+        String name = f.getClass().getSimpleName();
+        Log.w(TAG, name + " saved state is " + size + " bytes: " + describe(outState));
+        registry.counter("saved_state.oversize").increment();
+        while (size > MAX_STATE_BYTES) {
+            String largestKey = null;
+            int largestSize = -1;
+            for (String key : outState.keySet()) {
+                if (!isAppOwned(key)) {
+                    continue;
+                }
+                int entrySize = sizeOfEntry(outState, key);
+                if (entrySize > largestSize) {
+                    largestKey = key;
+                    largestSize = entrySize;
+                }
+            }
+            if (largestKey == null) {
+                break;
+            }
+            Log.w(TAG, name + " dropping saved state \"" + largestKey + "\" (" + largestSize + " bytes)");
+            registry.counter("saved_state.trimmed").increment();
+            outState.remove(largestKey);
+            size = sizeOf(outState);
+        }
+        if (size > MAX_STATE_BYTES) {
+            Log.e(TAG, name + " saved state is still " + size + " bytes after trimming: " + describe(outState));
+        }
+    }
+
+    /**
+     * Keys written by the fragment and savedstate libraries hold view, child fragment and
+     * {@code SavedStateHandle} state, which the framework restores without asking the
+     * screen. Removing one can break restoration, so only the app's own keys are trimmed.
+     */
+    static boolean isAppOwned(@NonNull String key) {
+        for (String prefix : FRAMEWORK_KEY_PREFIXES) {
+            if (key.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lists the entries of {@code bundle} with their sizes, largest first.
+     */
+    @NonNull
+    private static String describe(@NonNull Bundle bundle) {
+        List<String> keys = new ArrayList<>(bundle.keySet());
+        Map<String, Integer> sizes = new HashMap<>();
+        for (String key : keys) {
+            sizes.put(key, sizeOfEntry(bundle, key));
+        }
+        Collections.sort(keys, (a, b) -> Integer.compare(sizes.get(b), sizes.get(a)));
+        StringBuilder description = new StringBuilder();
+        for (String key : keys) {
+            if (description.length() > 0) {
+                description.append(", ");
+            }
+            description.append(key).append('=').append(sizes.get(key));
+        }
+        return description.toString();
+    }
+
+    /**
+     * Returns the number of bytes {@code bundle} takes up when parceled.
+     */
+    public static int sizeOf(@NonNull Bundle bundle) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeBundle(bundle);
+            return parcel.dataSize();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static int sizeOfEntry(@NonNull Bundle bundle, @NonNull String key) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeValue(bundle.get(key));
+            return parcel.dataSize();
+        } finally {
+            parcel.recycle();
+        }
+    }
+}
@@ -4,44 +4,39 @@ import android.app.Application;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.MediatorLiveData;
 import com.shipment.app.ShipmentApplication;
 import com.shipment.app.api.requests.AuthRequest;
 import com.shipment.app.api.responses.AuthResponse;
 import com.shipment.app.repositories.AuthRepository;
-import com.shipment.app.services.WebSocketService;
+import com.shipment.app.utils.RequestLiveData;
+import com.shipment.app.utils.RequestScope;
 import com.shipment.app.utils.Resource;
+import java.util.HashMap;
 import java.util.Map;
 
 public class AuthViewModel extends AndroidViewModel {
     private final AuthRepository authRepository;
-    private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
+    // Follows the tracked requests through sources that are removed once they settle
+    private final MediatorLiveData<Boolean> isLoading = new MediatorLiveData<>();
+    private final Map<String, LiveData<?>> loadingSources = new HashMap<>();
+    // Cancelled in onCleared, which aborts the HTTP call and drops its result
+    private final RequestScope requests = new RequestScope();
 
     public AuthViewModel(@NonNull Application application) {
         super(application);
         authRepository = ((ShipmentApplication) application).getAuthRepository();
+        isLoading.setValue(false);
     }
 
+    /**
+     * The request is cancelled once the caller stops observing the returned LiveData, so
+     * an abandoned login screen does not keep it alive. Signing in connects the WebSocket
+     * through the app's auth state listener.
+     */
     public LiveData<Resource<AuthResponse>> login(String email, String password) {
         isLoading.setValue(true);
-        MutableLiveData<Resource<AuthResponse>> result = new MutableLiveData<>();
-        result.setValue(Resource.loading(null));
-        
-        authRepository.login(email, password).observeForever(response -> {
-            if (response.getStatus() == Resource.Status.LOADING) {
-                return; // Keep loading state
-            }
-            isLoading.setValue(false);
-            result.setValue(response);
-            
-            if (response.getStatus() == Resource.Status.SUCCESS && response.getData() != null) {
-                // Initialize WebSocket connection after successful login
-                ((ShipmentApplication) getApplication()).getWebSocketService()
-                    .connect(authRepository.getAuthToken());
-            }
-        });
-        
-        return result;
+        return track("login", authRepository.login(email, password));
     }
 
     public LiveData<Resource<AuthResponse>> register(
@@ -84,39 +79,21 @@ public class AuthViewModel extends AndroidViewModel {
                 .build();
         }
         
-        LiveData<Resource<AuthResponse>> result = authRepository.register(request);
-        isLoading.setValue(false);
-        return result;
+        return track("register", authRepository.register(request));
     }
 
     public LiveData<Resource<Void>> logout() {
-        isLoading.setValue(true);
-        MutableLiveData<Resource<Void>> result = new MutableLiveData<>();
-        
         // Disconnect WebSocket before logging out
-        WebSocketService.getInstance(null).disconnect();
-        
-        // Create a one-time observer that removes itself after receiving a non-loading response
-        LiveData<Resource<Void>> logoutResponse = authRepository.logout();
-        logoutResponse.observeForever(new androidx.lifecycle.Observer<Resource<Void>>() {
-            @Override
-            public void onChanged(Resource<Void> response) {
-                if (response.getStatus() != Resource.Status.LOADING) {
-                    isLoading.setValue(false);
-                    result.setValue(response);
-                    logoutResponse.removeObserver(this);
-                }
-            }
-        });
-        
-        return result;
+        ((ShipmentApplication) getApplication()).getWebSocketService().disconnect();
+
+        // Local auth data is cleared right away. The server call is deliberately not
+        // tracked, so revoking the session still happens if this screen goes away.
+        return authRepository.logout();
     }
 
     public LiveData<Resource<AuthResponse>> getProfile() {
         isLoading.setValue(true);
-        LiveData<Resource<AuthResponse>> result = authRepository.getProfile();
-        isLoading.setValue(false);
-        return result;
+        return track("profile", authRepository.getProfile());
     }
 
     public LiveData<Boolean> isAuthenticated() {
@@ -129,9 +106,7 @@ public class AuthViewModel extends AndroidViewModel {
 
     public LiveData<Resource<AuthResponse>> updateProfile(String firstName, String lastName, String email, String username) {
         isLoading.setValue(true);
-        LiveData<Resource<AuthResponse>> result = authRepository.updateProfile(firstName, lastName, email, username);
-        isLoading.setValue(false);
-        return result;
+        return track("updateProfile", authRepository.updateProfile(firstName, lastName, email, username));
     }
 
     public LiveData<Boolean> getIsLoading() {
@@ -145,4 +120,34 @@ public class AuthViewModel extends AndroidViewModel {
     public String getUserId() {
         return authRepository.getUserId();
     }
+
+    /**
+     * Ties a request to this ViewModel and mirrors its progress into {@link #getIsLoading()}.
+     * The request itself is returned, so the caller's observer is the one whose removal
+     * cancels it; {@code isLoading} only listens while it is observed and drops the
+     * source once the request settles.
+     */
+    private <T> LiveData<Resource<T>> track(@NonNull String key, @NonNull RequestLiveData<T> request) {
+        LiveData<?> previous = loadingSources.put(key, request);
+        if (previous != null) {
+            isLoading.removeSource(previous);
+        }
+        requests.launch(key, request);
+        isLoading.addSource(request, response -> {
+            // A request cancelled with its screen never settles, so it is checked when
+            // the next screen observes isLoading
+            if (request.isCancelled() || response.getStatus() != Resource.Status.LOADING) {
+                isLoading.removeSource(request);
+                loadingSources.remove(key, request);
+                isLoading.setValue(!loadingSources.isEmpty());
+            }
+        });
+        return request;
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        requests.cancelAll();
+    }
 }
\ No newline at end of file
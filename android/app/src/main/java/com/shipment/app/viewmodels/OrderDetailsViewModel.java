@@ -6,44 +6,51 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import com.shipment.app.ShipmentApplication;
-import com.shipment.app.api.ApiService;
+import com.shipment.app.api.responses.OrderDetailsResponse;
 import com.shipment.app.api.responses.VerificationResponse;
 import com.shipment.app.models.Order;
-import com.shipment.app.repositories.AuthRepository;
+import com.shipment.app.models.OrderStatus;
+import com.shipment.app.models.TimelineEvent;
 import com.shipment.app.repositories.OrderRepository;
-import com.shipment.app.utils.Resource;
+import com.shipment.app.utils.RequestScope;
+import java.util.List;
 
-public class OrderDetailsViewModel extends AndroidViewModel {
+public class OrderDetailsViewModel extends AndroidViewModel implements OrderRepository.OrderChangeListener {
     private final OrderRepository orderRepository;
-    private final AuthRepository authRepository;
     private final MutableLiveData<Order> order;
+    private final MutableLiveData<OrderDetailsResponse.QrStatus> qrStatus;
     private final MutableLiveData<Boolean> isLoading;
     private final MutableLiveData<String> error;
     private final MutableLiveData<Boolean> isSeller;
+    // Cancelled in onCleared, so a slow response never outlives the screen
+    private final RequestScope requests = new RequestScope();
 
     public OrderDetailsViewModel(@NonNull Application application) {
         super(application);
-        ApiService apiService = ((ShipmentApplication) application).getApiService();
-        orderRepository = new OrderRepository(apiService);
-        authRepository = new AuthRepository(application, apiService);
+        orderRepository = ((ShipmentApplication) application).getOrderRepository();
         order = new MutableLiveData<>();
+        qrStatus = new MutableLiveData<>();
         isLoading = new MutableLiveData<>(false);
         error = new MutableLiveData<>();
-        isSeller = new MutableLiveData<>(false);
-        checkSellerStatus();
+        // Known from the cached session, so seller controls show before details load
+        isSeller = new MutableLiveData<>(
+            ((ShipmentApplication) application).getAuthRepository().isSeller());
+        orderRepository.addOrderChangeListener(this);
     }
 
-    private void checkSellerStatus() {
-        authRepository.getProfile().observeForever(response -> {
-            if (response.getStatus() == Resource.Status.SUCCESS && response.getData() != null) {
-                String role = response.getData().getUser().getRole();
-                boolean hasSeller = "seller".equals(role) && 
-                    response.getData().getUser().getStore() != null;
-                isSeller.postValue(hasSeller);
-            } else {
-                isSeller.postValue(false);
-            }
-        });
+    @Override
+    public void onOrderChanged(@NonNull Order changed) {
+        Order current = order.getValue();
+        if (current != null && current.getId().equals(changed.getId())) {
+            order.postValue(changed);
+        }
+    }
+
+    public void updateStatus(@NonNull OrderStatus status) {
+        Order current = order.getValue();
+        if (current != null) {
+            orderRepository.updateOrderStatus(current.getId(), status);
+        }
     }
 
     public LiveData<Order> getOrder() {
@@ -54,6 +61,10 @@ public class OrderDetailsViewModel extends AndroidViewModel {
         return isSeller;
     }
 
+    public LiveData<OrderDetailsResponse.QrStatus> getQrStatus() {
+        return qrStatus;
+    }
+
     public LiveData<Boolean> getIsLoading() {
         return isLoading;
     }
@@ -67,11 +78,26 @@ public class OrderDetailsViewModel extends AndroidViewModel {
             return;
         }
 
+        // The orders list prefetched the rows it showed; those open without a request
+        OrderDetailsResponse prefetched = orderRepository.getPrefetchedDetails(orderId);
+        if (prefetched != null) {
+            showDetails(prefetched);
+            return;
+        }
+
+        // Render the copy the list already loaded while the full details are fetched
+        Order cached = orderRepository.getCachedOrder(orderId);
+        if (cached != null && order.getValue() == null) {
+            order.setValue(cached);
+        }
+
         isLoading.setValue(true);
-        orderRepository.getOrderDetails(orderId, new OrderRepository.OrderCallback() {
+        // Order, history, QR status and the viewer's role arrive in one response
+        requests.launch("details", orderRepository.getAggregatedOrderDetails(orderId,
+                new OrderRepository.OrderDetailsCallback() {
             @Override
-            public void onSuccess(@NonNull Order orderDetails) {
-                order.postValue(orderDetails);
+            public void onSuccess(@NonNull OrderDetailsResponse details) {
+                showDetails(details);
                 isLoading.postValue(false);
             }
 
@@ -80,7 +106,14 @@ public class OrderDetailsViewModel extends AndroidViewModel {
                 error.postValue(message);
                 isLoading.postValue(false);
             }
-        });
+        }));
+    }
+
+    private void showDetails(@NonNull OrderDetailsResponse details) {
+        order.postValue(details.getOrder());
+        qrStatus.postValue(details.getQrStatus());
+        OrderDetailsResponse.Viewer viewer = details.getViewer();
+        isSeller.postValue(viewer != null && viewer.isSeller());
     }
 
     public void verifyQrCode(String qrData) {
@@ -89,15 +122,12 @@ public class OrderDetailsViewModel extends AndroidViewModel {
         }
 
         isLoading.setValue(true);
-        orderRepository.verifyOrderQR(qrData, new OrderRepository.VerificationCallback() {
+        requests.launch("verify", orderRepository.verifyOrderQR(qrData,
+                new OrderRepository.VerificationCallback() {
             @Override
             public void onSuccess(@NonNull VerificationResponse response) {
-                // Refresh order details after successful verification
                 if (response.isSuccess() && response.getVerificationResult() != null) {
-                    Order currentOrder = order.getValue();
-                    if (currentOrder != null) {
-                        loadOrderDetails(currentOrder.getId());
-                    }
+                    applyVerifiedOrder(response.getVerificationResult().getOrder());
                     error.postValue(null);
                 } else {
                     error.postValue(response.getMessage());
@@ -110,12 +140,31 @@ public class OrderDetailsViewModel extends AndroidViewModel {
                 error.postValue(message);
                 isLoading.postValue(false);
             }
-        });
+        }));
+    }
+
+    /**
+     * The verification response already carries the order's new status and timeline,
+     * so they are merged into the loaded order instead of fetching it again.
+     */
+    private void applyVerifiedOrder(Order verifiedOrder) {
+        Order currentOrder = order.getValue();
+        if (currentOrder == null || verifiedOrder == null
+                || !currentOrder.getId().equals(verifiedOrder.getId())) {
+            return;
+        }
+        currentOrder.setStatus(verifiedOrder.getStatus());
+        List<TimelineEvent> timeline = verifiedOrder.getTimeline();
+        if (timeline != null && !timeline.isEmpty()) {
+            currentOrder.setTimeline(timeline);
+        }
+        order.postValue(currentOrder);
     }
 
     @Override
     protected void onCleared() {
         super.onCleared();
-        // Cleanup if needed
+        requests.cancelAll();
+        orderRepository.removeOrderChangeListener(this);
     }
 }
\ No newline at end of file
@@ -1,24 +1,51 @@
 package com.shipment.app.viewmodels;
 
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 import com.shipment.app.models.Order;
+import com.shipment.app.models.OrderRow;
+import com.shipment.app.models.OrderStatus;
 import com.shipment.app.repositories.OrderRepository;
-import com.shipment.app.services.WebSocketService;
+import com.shipment.app.utils.OrderRowMapper;
+import com.shipment.app.utils.RequestScope;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-public class OrdersViewModel extends ViewModel implements WebSocketService.OrderUpdateListener {
+public class OrdersViewModel extends ViewModel implements OrderRepository.OrderChangeListener {
     private final OrderRepository repository;
+    private final OrderRowMapper rowMapper;
+    // Sellers see their store's orders and can change their status in bulk
+    private final boolean sellerMode;
+    // Single thread keeps mapping results in submission order and the mapper confined
+    private final ExecutorService mappingExecutor = Executors.newSingleThreadExecutor();
     private final MutableLiveData<List<Order>> orders = new MutableLiveData<>();
+    private final MutableLiveData<List<OrderRow>> orderRows = new MutableLiveData<>();
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
     private final MutableLiveData<String> error = new MutableLiveData<>();
+    private final RequestScope requests = new RequestScope();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Ids of the orders picked in multi-select mode, in the order they were picked
+    private final MutableLiveData<Set<String>> selectedIds =
+        new MutableLiveData<>(Collections.emptySet());
+    // Status changes rolled back since the screen last showed them
+    private final MutableLiveData<Integer> rejectedStatusChanges = new MutableLiveData<>(0);
 
-    public OrdersViewModel(OrderRepository repository) {
+    public OrdersViewModel(OrderRepository repository, OrderRowMapper rowMapper, boolean sellerMode) {
         this.repository = repository;
-        WebSocketService.getInstance(null).addOrderUpdateListener(this);
+        this.rowMapper = rowMapper;
+        this.sellerMode = sellerMode;
+        repository.addOrderChangeListener(this);
         loadOrders();
     }
 
@@ -26,6 +53,10 @@ public class OrdersViewModel extends ViewModel implements WebSocketService.Order
         return orders;
     }
 
+    public LiveData<List<OrderRow>> getOrderRows() {
+        return orderRows;
+    }
+
     public LiveData<Boolean> getIsLoading() {
         return isLoading;
     }
@@ -34,18 +65,40 @@ public class OrdersViewModel extends ViewModel implements WebSocketService.Order
         return error;
     }
 
+    public LiveData<Set<String>> getSelectedIds() {
+        return selectedIds;
+    }
+
+    /**
+     * Multi-select changes order status, which only a store's seller may do.
+     */
+    public boolean canSelect() {
+        return sellerMode;
+    }
+
+    /**
+     * Number of orders whose queued status change was rolled back and not yet shown.
+     */
+    public LiveData<Integer> getRejectedStatusChanges() {
+        return rejectedStatusChanges;
+    }
+
+    public void onRejectedStatusChangesShown() {
+        rejectedStatusChanges.setValue(0);
+    }
+
     public void loadOrders() {
         if (Boolean.TRUE.equals(isLoading.getValue())) return;
 
         isLoading.setValue(true);
         error.setValue(null);
 
-        repository.getUserOrders(new OrderRepository.OrderListCallback() {
+        OrderRepository.OrderListCallback callback = new OrderRepository.OrderListCallback() {
             @Override
             public void onSuccess(@NonNull List<Order> orderList) {
                 // Sort orders by date, newest first
-                orderList.sort((o1, o2) -> o2.getCreatedAt().compareTo(o1.getCreatedAt()));
-                orders.postValue(orderList);
+                orderList.sort((o1, o2) -> Long.compare(o2.getCreatedAt(), o1.getCreatedAt()));
+                publishOrders(orderList);
                 isLoading.postValue(false);
             }
 
@@ -54,24 +107,111 @@ public class OrdersViewModel extends ViewModel implements WebSocketService.Order
                 error.postValue(message);
                 isLoading.postValue(false);
             }
-        });
+        };
+        requests.launch("orders", sellerMode
+            ? repository.getStoreOrders(callback)
+            : repository.getUserOrders(callback));
     }
 
+    /**
+     * The repository has already reconciled the change and only calls this when the
+     * visible status moved, so each status change costs one list diff.
+     */
     @Override
-    public void onOrderUpdate(@NonNull String orderId, @NonNull String status) {
+    public void onOrderChanged(@NonNull Order changed) {
+        onOrdersChanged(Collections.singletonList(changed));
+    }
+
+    /**
+     * A bulk change replaces all affected rows at once, so it also costs a single diff.
+     */
+    @Override
+    public void onOrdersChanged(@NonNull List<Order> changed) {
         List<Order> currentOrders = orders.getValue();
-        if (currentOrders != null) {
-            List<Order> updatedOrders = new ArrayList<>(currentOrders);
-            for (int i = 0; i < updatedOrders.size(); i++) {
-                Order order = updatedOrders.get(i);
-                if (order.getId().equals(orderId)) {
-                    order.setStatus(status);
-                    updatedOrders.set(i, order);
-                    orders.postValue(updatedOrders);
-                    break;
+        if (currentOrders == null) {
+            return;
+        }
+        Map<String, Order> changedById = new HashMap<>();
+        for (Order order : changed) {
+            changedById.put(order.getId(), order);
+        }
+        List<Order> updatedOrders = null;
+        for (int i = 0; i < currentOrders.size(); i++) {
+            Order replacement = changedById.get(currentOrders.get(i).getId());
+            if (replacement != null) {
+                if (updatedOrders == null) {
+                    updatedOrders = new ArrayList<>(currentOrders);
                 }
+                updatedOrders.set(i, replacement);
             }
         }
+        if (updatedOrders != null) {
+            publishOrders(updatedOrders);
+        }
+    }
+
+    /**
+     * Called on the outbox's thread, so the count is updated on the main thread.
+     */
+    @Override
+    public void onStatusChangesRejected(@NonNull List<String> orderIds) {
+        mainHandler.post(() -> {
+            Integer shown = rejectedStatusChanges.getValue();
+            rejectedStatusChanges.setValue((shown != null ? shown : 0) + orderIds.size());
+        });
+    }
+
+    /**
+     * Changes an order's status. The list updates immediately; the change is sent in the
+     * background and rolled back if the server rejects it.
+     */
+    public void updateStatus(@NonNull String orderId, @NonNull OrderStatus status) {
+        repository.updateOrderStatus(orderId, status);
+    }
+
+    public void toggleSelection(@NonNull String orderId) {
+        if (!sellerMode) {
+            return;
+        }
+        Set<String> selection = new LinkedHashSet<>(currentSelection());
+        if (!selection.remove(orderId)) {
+            selection.add(orderId);
+        }
+        selectedIds.setValue(Collections.unmodifiableSet(selection));
+    }
+
+    public void clearSelection() {
+        if (!currentSelection().isEmpty()) {
+            selectedIds.setValue(Collections.emptySet());
+        }
+    }
+
+    /**
+     * Moves every selected order to {@code status} with one bulk request and leaves
+     * multi-select mode. Rows update immediately, as with {@link #updateStatus}.
+     */
+    public void updateSelectedStatus(@NonNull OrderStatus status) {
+        Set<String> selection = currentSelection();
+        if (selection.isEmpty()) {
+            return;
+        }
+        repository.updateOrderStatuses(selection, status);
+        clearSelection();
+    }
+
+    @NonNull
+    private Set<String> currentSelection() {
+        Set<String> selection = selectedIds.getValue();
+        return selection != null ? selection : Collections.emptySet();
+    }
+
+    /**
+     * Warms the details of the given orders, typically the rows on screen, so opening one
+     * needs no request. A newer call cancels the prefetches of orders it no longer lists
+     * and keeps the rest running.
+     */
+    public void prefetchDetails(@NonNull List<String> orderIds) {
+        requests.launch("prefetch", repository.prefetchOrderDetails(orderIds));
     }
 
     public void refresh() {
@@ -84,19 +224,28 @@ public class OrdersViewModel extends ViewModel implements WebSocketService.Order
             return;
         }
 
+        OrderStatus target = OrderStatus.fromValue(status);
         List<Order> currentOrders = orders.getValue();
         if (currentOrders != null) {
             List<Order> filteredOrders = currentOrders.stream()
-                .filter(order -> order.getStatus().equalsIgnoreCase(status))
-                .sorted((o1, o2) -> o2.getCreatedAt().compareTo(o1.getCreatedAt()))
+                .filter(order -> order.getStatus() == target)
+                .sorted((o1, o2) -> Long.compare(o2.getCreatedAt(), o1.getCreatedAt()))
                 .toList();
-            orders.setValue(filteredOrders);
+            publishOrders(filteredOrders);
         }
     }
 
+    private void publishOrders(@NonNull List<Order> orderList) {
+        orders.postValue(orderList);
+        mappingExecutor.execute(() -> orderRows.postValue(rowMapper.map(orderList)));
+    }
+
     @Override
     protected void onCleared() {
         super.onCleared();
-        WebSocketService.getInstance(null).removeOrderUpdateListener(this);
+        requests.cancelAll();
+        repository.removeOrderChangeListener(this);
+        mainHandler.removeCallbacksAndMessages(null);
+        mappingExecutor.shutdownNow();
     }
 }
\ No newline at end of file
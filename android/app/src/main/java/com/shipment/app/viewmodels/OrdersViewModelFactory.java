@@ -4,7 +4,7 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.ViewModel;
 import androidx.lifecycle.ViewModelProvider;
 import com.shipment.app.ShipmentApplication;
-import com.shipment.app.repositories.OrderRepository;
+import com.shipment.app.utils.OrderRowMapper;
 
 public class OrdersViewModelFactory implements ViewModelProvider.Factory {
     @NonNull
@@ -16,7 +16,8 @@ public class OrdersViewModelFactory implements ViewModelProvider.Factory {
             if (app == null || !app.isInitialized()) {
                 throw new IllegalStateException("Application not initialized");
             }
-            return (T) new OrdersViewModel(new OrderRepository(app.getApiService()));
+            return (T) new OrdersViewModel(app.getOrderRepository(),
+                new OrderRowMapper(app.getResources()), app.getAuthRepository().isSeller());
         }
         throw new IllegalArgumentException("Unknown ViewModel class: " + modelClass.getName());
     }
@@ -5,8 +5,10 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import com.shipment.app.ShipmentApplication;
 import com.shipment.app.api.ApiService;
 import com.shipment.app.api.responses.VerificationResponse;
+import com.shipment.app.utils.RequestScope;
 import java.util.HashMap;
 import java.util.Map;
 import retrofit2.Call;
@@ -18,10 +20,13 @@ public class ProductVerificationViewModel extends AndroidViewModel {
     private final MutableLiveData<String> error = new MutableLiveData<>();
     private final MutableLiveData<VerificationResponse> verificationResult = new MutableLiveData<>();
     private final ApiService apiService;
+    // Cancelled in onCleared, so leaving the scanner frees the connection at once
+    private final RequestScope requests = new RequestScope();
 
     public ProductVerificationViewModel(@NonNull Application application) {
         super(application);
-        apiService = ApiService.getInstance();
+        // Shares the app's client, so verification reuses pooled connections and interceptors
+        apiService = ((ShipmentApplication) application).getApiService();
     }
 
     public LiveData<Boolean> getIsLoading() {
@@ -43,10 +48,14 @@ public class ProductVerificationViewModel extends AndroidViewModel {
         Map<String, String> requestData = new HashMap<>();
         requestData.put("qrData", qrData);
         
-        apiService.verifyQRCode(requestData).enqueue(new Callback<VerificationResponse>() {
+        Call<VerificationResponse> request = apiService.verifyQRCode(requestData);
+        request.enqueue(new Callback<VerificationResponse>() {
             @Override
             public void onResponse(@NonNull Call<VerificationResponse> call,
                                  @NonNull Response<VerificationResponse> response) {
+                if (call.isCanceled()) {
+                    return;
+                }
                 isLoading.setValue(false);
                 if (response.isSuccessful() && response.body() != null) {
                     VerificationResponse data = response.body();
@@ -61,11 +70,20 @@ public class ProductVerificationViewModel extends AndroidViewModel {
 
             @Override
             public void onFailure(@NonNull Call<VerificationResponse> call, @NonNull Throwable t) {
+                if (call.isCanceled()) {
+                    return;
+                }
                 isLoading.setValue(false);
                 error.setValue("Network error. Please check your connection and try again.");
             }
         });
+        // A new scan replaces one still in flight
+        requests.launch("verify", request::cancel);
     }
 
-
-}
\ No newline at end of file
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        requests.cancelAll();
+    }
+}
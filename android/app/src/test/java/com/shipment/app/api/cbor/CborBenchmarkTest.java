@@ -0,0 +1,147 @@
+package com.shipment.app.api.cbor;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.shipment.app.api.responses.CompactOrdersResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+import okio.Buffer;
+import org.junit.Test;
+
+/**
+ * Compares the two wire formats on a large compact order list: payload size (raw and
+ * gzipped, as OkHttp receives it), decode time and bytes allocated per decode. Each path
+ * runs the way its converter does in the app: JSON streams through Gson, CBOR is read into
+ * a tree by {@link CborReader} and then bound with the same adapter.
+ * <p>
+ * The fixtures come from server/scripts/generate-order-fixtures.mjs. Timings are printed
+ * rather than asserted, since they depend on the machine.
+ */
+public class CborBenchmarkTest {
+    private static final int WARMUP_ROUNDS = 30;
+    private static final int MEASURED_ROUNDS = 50;
+
+    // The JVM's per-thread allocation counter; null where it is not available
+    private static final Object THREADS = threadMXBean();
+    private static final Method ALLOCATED_BYTES = allocatedBytesCounter(THREADS);
+
+    private final Gson gson = new Gson();
+    private final TypeAdapter<CompactOrdersResponse> adapter = gson.getAdapter(CompactOrdersResponse.class);
+
+    private interface Decoder {
+        CompactOrdersResponse decode() throws IOException;
+    }
+
+    @Test
+    public void comparesJsonAndCborOnALargeOrderList() throws IOException {
+        byte[] json = fixture("compact_orders.json");
+        byte[] cbor = fixture("compact_orders.cbor");
+
+        // Both files must carry the same data for the comparison to mean anything
+        assertEquals(JsonParser.parseString(new String(json, StandardCharsets.UTF_8)),
+            new CborReader(new Buffer().write(cbor)).read());
+
+        Decoder fromJson = () -> {
+            try (Reader reader = new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8)) {
+                return adapter.fromJson(reader);
+            }
+        };
+        Decoder fromCbor = () -> adapter.fromJsonTree(new CborReader(new Buffer().write(cbor)).read());
+        assertEquals(fromJson.decode().getOrders().size(), fromCbor.decode().getOrders().size());
+
+        report("json", json, fromJson);
+        report("cbor", cbor, fromCbor);
+    }
+
+    private static void report(String format, byte[] payload, Decoder decoder) throws IOException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            decoder.decode();
+        }
+        long[] nanos = new long[MEASURED_ROUNDS];
+        long allocated = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            decoder.decode();
+            nanos[i] = System.nanoTime() - start;
+            allocated += allocatedBytes() - bytesBefore;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%s: %d bytes, %d gzipped, median decode %.2f ms, p90 %.2f ms, %s per decode%n",
+            format, payload.length, gzippedSize(payload),
+            nanos[MEASURED_ROUNDS / 2] / 1e6, nanos[MEASURED_ROUNDS * 9 / 10] / 1e6,
+            ALLOCATED_BYTES == null ? "allocations unavailable"
+                : (allocated / MEASURED_ROUNDS / 1024) + " KiB allocated");
+    }
+
+    /**
+     * Looked up reflectively because java.lang.management is missing from android.jar,
+     * which unit tests compile against.
+     */
+    private static Object threadMXBean() {
+        try {
+            return Class.forName("java.lang.management.ManagementFactory")
+                .getMethod("getThreadMXBean").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Method allocatedBytesCounter(Object threads) {
+        if (threads == null) {
+            return null;
+        }
+        try {
+            Method counter = Class.forName("com.sun.management.ThreadMXBean")
+                .getMethod("getCurrentThreadAllocatedBytes");
+            counter.invoke(threads);
+            return counter;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long allocatedBytes() {
+        if (ALLOCATED_BYTES == null) {
+            return 0;
+        }
+        try {
+            return (long) ALLOCATED_BYTES.invoke(THREADS);
+        } catch (ReflectiveOperationException e) {
+            return 0;
+        }
+    }
+
+    private static int gzippedSize(byte[] payload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        }
+        return out.size();
+    }
+
+    private byte[] fixture(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IOException("Missing fixture " + name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            for (int read; (read = in.read(chunk)) != -1; ) {
+                out.write(chunk, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.shipment.app.api.cbor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import java.io.IOException;
+import java.net.ProtocolException;
+import okio.Buffer;
+import okio.ByteString;
+import org.junit.Test;
+
+/**
+ * Fixtures were produced by the server's {@code encodeCbor} (server/src/utils/cbor.mjs),
+ * so these tests cover the whole round trip: what the server writes decodes to the same
+ * tree Gson builds from the equivalent JSON.
+ */
+public class CborReaderTest {
+
+    private static JsonElement decode(String hex) throws IOException {
+        return new CborReader(new Buffer().write(ByteString.decodeHex(hex))).read();
+    }
+
+    @Test
+    public void decodesIntegersAtEveryLengthBoundary() throws IOException {
+        JsonElement decoded = decode("8c0017181818ff19010019ffff1a000100001affffffff1b0000000100000000203818390100");
+        assertEquals(JsonParser.parseString(
+            "[0,23,24,255,256,65535,65536,4294967295,4294967296,-1,-25,-257]"), decoded);
+    }
+
+    @Test
+    public void decodesServerOrderLikeJson() throws IOException {
+        JsonElement decoded = decode("a8626964636f2d316673746174757367736869707065646776657273696f6e07"
+            + "71746f74616c5f666961745f616d6f756e74663139392e39386470616964f5646e6f7465f6"
+            + "656974656d7381a2687175616e7469747902657072696365fb4058ff5c28f5c28f"
+            + "656c6162656c6fc3bc6ec3af63c3b864c3a920e29c93");
+        assertEquals(JsonParser.parseString("{\"id\":\"o-1\",\"status\":\"shipped\",\"version\":7,"
+            + "\"total_fiat_amount\":\"199.98\",\"paid\":true,\"note\":null,"
+            + "\"items\":[{\"quantity\":2,\"price\":99.99}],\"label\":\"ünïcødé ✓\"}"), decoded);
+    }
+
+    @Test
+    public void decodesHalfAndSinglePrecisionFloats() throws IOException {
+        assertEquals(1.5f, decode("f93e00").getAsFloat(), 0f);
+        assertEquals(-2.0f, decode("f9c000").getAsFloat(), 0f);
+        assertEquals(3.25f, decode("fa40500000").getAsFloat(), 0f);
+    }
+
+    @Test
+    public void skipsTagsAndKeepsTheTaggedValue() throws IOException {
+        // Tag 1 (epoch time) around 1700000000
+        assertEquals(new JsonPrimitive(1700000000L), decode("c11a6553f100"));
+    }
+
+    @Test
+    public void rejectsIndefiniteLengths() {
+        assertThrows(ProtocolException.class, () -> decode("9f01ff"));
+    }
+
+    @Test
+    public void rejectsNestingBeyondTheLimit() {
+        StringBuilder hex = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            hex.append("81");
+        }
+        hex.append("00");
+        assertThrows(ProtocolException.class, () -> decode(hex.toString()));
+    }
+}
@@ -0,0 +1,170 @@
+package com.shipment.app.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+import androidx.lifecycle.Observer;
+import okhttp3.Request;
+import okio.Timeout;
+import org.junit.Rule;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+public class RequestLiveDataTest {
+    @Rule
+    public InstantTaskExecutorRule instantExecutor = new InstantTaskExecutorRule();
+
+    private static class FakeCall implements Call<String> {
+        boolean canceled;
+
+        @Override
+        public Response<String> execute() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void enqueue(@NonNull Callback<String> callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return true;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @NonNull
+        @Override
+        public Call<String> clone() {
+            return new FakeCall();
+        }
+
+        @NonNull
+        @Override
+        public Request request() {
+            return new Request.Builder().url("https://example.com/").build();
+        }
+
+        @NonNull
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+    }
+
+    private static class Screen implements LifecycleOwner {
+        final LifecycleRegistry lifecycle = new LifecycleRegistry(this);
+
+        Screen() {
+            lifecycle.handleLifecycleEvent(Lifecycle.Event.ON_RESUME);
+        }
+
+        @NonNull
+        @Override
+        public Lifecycle getLifecycle() {
+            return lifecycle;
+        }
+    }
+
+    // A new instance each time; LiveData ignores an observer that is already registered
+    private static <T> Observer<T> ignore() {
+        return new Observer<T>() {
+            @Override
+            public void onChanged(T value) {
+            }
+        };
+    }
+
+    @Test
+    public void removingTheLastObserverCancelsTheCallInFlight() {
+        RequestLiveData<String> request = new RequestLiveData<>();
+        FakeCall call = new FakeCall();
+        request.track(call);
+        Observer<Resource<String>> observer = ignore();
+        request.observeForever(observer);
+
+        request.removeObserver(observer);
+
+        assertTrue(call.isCanceled());
+        assertTrue(request.isCancelled());
+    }
+
+    @Test
+    public void destroyingTheObservingScreenCancelsTheCall() {
+        RequestLiveData<String> request = new RequestLiveData<>();
+        FakeCall call = new FakeCall();
+        request.track(call);
+        Screen screen = new Screen();
+        request.observe(screen, ignore());
+
+        screen.lifecycle.handleLifecycleEvent(Lifecycle.Event.ON_DESTROY);
+
+        assertTrue(call.isCanceled());
+    }
+
+    @Test
+    public void aStoppedScreenKeepsTheCallRunning() {
+        RequestLiveData<String> request = new RequestLiveData<>();
+        FakeCall call = new FakeCall();
+        request.track(call);
+        Screen screen = new Screen();
+        request.observe(screen, ignore());
+
+        screen.lifecycle.handleLifecycleEvent(Lifecycle.Event.ON_STOP);
+
+        assertFalse(call.isCanceled());
+    }
+
+    @Test
+    public void removingOneOfTwoObserversKeepsTheCallRunning() {
+        RequestLiveData<String> request = new RequestLiveData<>();
+        FakeCall call = new FakeCall();
+        request.track(call);
+        Observer<Resource<String>> first = ignore();
+        request.observeForever(first);
+        request.observeForever(ignore());
+
+        request.removeObserver(first);
+
+        assertFalse(call.isCanceled());
+    }
+
+    @Test
+    public void nothingIsDeliveredAfterCancelling() {
+        RequestLiveData<String> request = new RequestLiveData<>();
+        request.cancel();
+
+        request.setValue(Resource.success("late"));
+        request.postValue(Resource.success("later"));
+
+        assertEquals(Resource.Status.LOADING, request.getValue().getStatus());
+    }
+
+    @Test
+    public void aCallTrackedAfterCancellingIsCancelledBeforeItStarts() {
+        RequestLiveData<String> request = new RequestLiveData<>();
+        request.cancel();
+        FakeCall retry = new FakeCall();
+
+        request.track(retry);
+
+        assertTrue(retry.isCanceled());
+    }
+}
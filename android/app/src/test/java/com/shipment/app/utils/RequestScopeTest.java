@@ -0,0 +1,94 @@
+package com.shipment.app.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class RequestScopeTest {
+
+    private static class CountingRequest implements Cancellable {
+        int cancels;
+
+        @Override
+        public void cancel() {
+            cancels++;
+        }
+    }
+
+    @Test
+    public void launchCancelsThePreviousRequestWithTheSameKey() {
+        RequestScope scope = new RequestScope();
+        CountingRequest first = new CountingRequest();
+        CountingRequest second = new CountingRequest();
+
+        scope.launch("orders", first);
+        scope.launch("orders", second);
+
+        assertEquals(1, first.cancels);
+        assertEquals(0, second.cancels);
+    }
+
+    @Test
+    public void launchLeavesOtherKeysAlone() {
+        RequestScope scope = new RequestScope();
+        CountingRequest orders = new CountingRequest();
+        CountingRequest details = new CountingRequest();
+
+        scope.launch("orders", orders);
+        scope.launch("details", details);
+
+        assertEquals(0, orders.cancels);
+        assertEquals(0, details.cancels);
+    }
+
+    @Test
+    public void relaunchingTheSameRequestDoesNotCancelIt() {
+        RequestScope scope = new RequestScope();
+        CountingRequest request = new CountingRequest();
+
+        scope.launch("orders", request);
+        scope.launch("orders", request);
+
+        assertEquals(0, request.cancels);
+    }
+
+    @Test
+    public void cancelAllCancelsEveryRequestOnce() {
+        RequestScope scope = new RequestScope();
+        CountingRequest orders = new CountingRequest();
+        CountingRequest details = new CountingRequest();
+        scope.launch("orders", orders);
+        scope.launch("details", details);
+
+        scope.cancelAll();
+        scope.cancel("orders");
+
+        assertEquals(1, orders.cancels);
+        assertEquals(1, details.cancels);
+    }
+
+    @Test
+    public void requestsLaunchedAfterCancelAllAreCancelledRightAway() {
+        RequestScope scope = new RequestScope();
+        scope.cancelAll();
+        CountingRequest late = new CountingRequest();
+
+        scope.launch("orders", late);
+
+        assertEquals(1, late.cancels);
+    }
+
+    @Test
+    public void cancelOnlyCancelsItsKey() {
+        RequestScope scope = new RequestScope();
+        CountingRequest orders = new CountingRequest();
+        CountingRequest details = new CountingRequest();
+        scope.launch("orders", orders);
+        scope.launch("details", details);
+
+        scope.cancel("orders");
+
+        assertEquals(1, orders.cancels);
+        assertEquals(0, details.cancels);
+    }
+}
@@ -0,0 +1,80 @@
+// Writes a large compact order list in JSON and CBOR for the Android wire format
+// benchmark (android/app/src/test/.../CborBenchmarkTest). Both files are produced by
+// the same projection and encoder the API uses, from seeded data, so rerunning the
+// script gives byte-identical fixtures.
+//
+//   node scripts/generate-order-fixtures.mjs [orderCount]
+import fs from 'fs';
+import path from 'path';
+import { fileURLToPath } from 'url';
+import { toCompactOrders, parseFields } from '../src/utils/orderProjection.mjs';
+import { encodeCbor } from '../src/utils/cbor.mjs';
+
+const ORDER_COUNT = Number(process.argv[2]) || 250;
+const STORE_COUNT = 40;
+const USER_COUNT = 300;
+const LIST_FIELDS = 'status,total_fiat_amount,created_at,items,merchantStore,orderPlacer';
+const STATUSES = ['pending', 'confirmed', 'processing', 'shipped', 'delivered', 'cancelled'];
+const PRODUCTS = ['Ceramic mug', 'Linen tote bag', 'Wool scarf', 'Café au lait beans 1kg',
+  'Bamboo cutting board', 'Hand-dyed yarn', 'Leather notebook', 'Crème brûlée torch'];
+
+const outDir = path.resolve(path.dirname(fileURLToPath(import.meta.url)),
+  '../../android/app/src/test/resources/fixtures');
+
+// mulberry32, so the fixtures do not change between runs
+let seed = 0x5eed;
+const random = () => {
+  seed = (seed + 0x6d2b79f5) | 0;
+  let t = Math.imul(seed ^ (seed >>> 15), 1 | seed);
+  t = (t + Math.imul(t ^ (t >>> 7), 61 | t)) ^ t;
+  return ((t ^ (t >>> 14)) >>> 0) / 4294967296;
+};
+const pick = (values) => values[Math.floor(random() * values.length)];
+const uuid = () => 'xxxxxxxx-xxxx-4xxx-yxxx-xxxxxxxxxxxx'.replace(/[xy]/g, (c) => {
+  const r = Math.floor(random() * 16);
+  return (c === 'x' ? r : (r & 0x3) | 0x8).toString(16);
+});
+
+const stores = Array.from({ length: STORE_COUNT }, (_, i) => ({ id: uuid(), name: `Store ${i + 1}` }));
+const users = Array.from({ length: USER_COUNT }, (_, i) => ({
+  id: uuid(),
+  first_name: `First${i}`,
+  last_name: `Last${i}`,
+  email: `buyer${i}@example.com`
+}));
+const products = PRODUCTS.map(name => ({ id: uuid(), name, description: `${name}, made to order.` }));
+
+let time = Date.UTC(2024, 0, 1);
+const orders = Array.from({ length: ORDER_COUNT }, () => {
+  time += Math.floor(random() * 3600 * 1000);
+  const items = Array.from({ length: 1 + Math.floor(random() * 5) }, () => {
+    const quantity = 1 + Math.floor(random() * 4);
+    const unitPrice = Math.floor(random() * 20000) / 100;
+    return {
+      quantity,
+      unit_price: unitPrice.toFixed(2),
+      total_price: (unitPrice * quantity).toFixed(2),
+      product: pick(products)
+    };
+  });
+  const total = items.reduce((sum, item) => sum + Number(item.total_price), 0);
+  const plain = {
+    id: uuid(),
+    status: pick(STATUSES),
+    version: 1 + Math.floor(random() * 6),
+    total_fiat_amount: total.toFixed(2),
+    created_at: new Date(time).toISOString(),
+    updated_at: new Date(time + 60000).toISOString(),
+    items,
+    merchantStore: pick(stores),
+    orderPlacer: pick(users)
+  };
+  // Sequelize instances are serialized through toJSON(), like the route does
+  return { toJSON: () => plain };
+});
+
+const body = toCompactOrders(orders, parseFields(LIST_FIELDS, LIST_FIELDS.split(',')));
+fs.mkdirSync(outDir, { recursive: true });
+fs.writeFileSync(path.join(outDir, 'compact_orders.json'), JSON.stringify(body));
+fs.writeFileSync(path.join(outDir, 'compact_orders.cbor'), encodeCbor(body));
+console.log(`Wrote ${ORDER_COUNT} orders to ${outDir}`);
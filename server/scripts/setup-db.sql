@@ -150,6 +150,7 @@ CREATE TABLE orders (
     rating INTEGER,
     review TEXT,
     review_date TIMESTAMP WITH TIME ZONE,
+    version INTEGER NOT NULL DEFAULT 0,
     created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
     deleted_at TIMESTAMP WITH TIME ZONE
@@ -181,6 +182,17 @@ CREATE TABLE order_status_history (
     deleted_at TIMESTAMP WITH TIME ZONE
 );
 
+CREATE TABLE refresh_tokens (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP WITH TIME ZONE,
+    replaced_by UUID,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Grant all privileges on all tables to user
 GRANT ALL PRIVILEGES ON ALL TABLES IN SCHEMA public TO shipment_user;
 GRANT USAGE, SELECT ON ALL SEQUENCES IN SCHEMA public TO shipment_user;
@@ -198,6 +210,7 @@ ALTER TABLE products OWNER TO shipment_user;
 ALTER TABLE orders OWNER TO shipment_user;
 ALTER TABLE notifications OWNER TO shipment_user;
 ALTER TABLE order_status_history OWNER TO shipment_user;
+ALTER TABLE refresh_tokens OWNER TO shipment_user;
 
 -- Create indexes for performance
 CREATE INDEX idx_users_email ON users(email);
@@ -214,4 +227,5 @@ CREATE INDEX idx_notifications_is_read ON notifications(is_read);
 CREATE INDEX idx_orders_qr_status ON orders(qr_status);
 CREATE INDEX idx_status_history_order ON order_status_history(order_id);
 CREATE INDEX idx_status_history_user ON order_status_history(changed_by);
-CREATE INDEX idx_status_history_deleted_at ON order_status_history(deleted_at);
\ No newline at end of file
+CREATE INDEX idx_status_history_deleted_at ON order_status_history(deleted_at);
+CREATE INDEX idx_refresh_tokens_user ON refresh_tokens(user_id);
\ No newline at end of file
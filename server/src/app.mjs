@@ -17,10 +17,16 @@ import sellerDashboardRoutes from './routes/sellerDashboard.mjs';
 import verificationRoutes from './routes/verification.mjs';
 import orderRoutes from './routes/orders.mjs';
 import qrcodeRoutes from './routes/qrcode.mjs';
+import metricsRoutes from './routes/metrics.mjs';
 import { errorHandler } from './middleware/errorHandler.mjs';
+import compressJson from './middleware/compression.mjs';
+import negotiateBinaryFormat from './middleware/binaryFormat.mjs';
+import imageVariants from './middleware/imageVariants.mjs';
 import blockchainController from './controllers/blockchain.mjs';
 import ipfsService from './services/ipfs.mjs';
 import mintPendingNFTs from './jobs/mintPendingNFTs.mjs';
+import websocketService from './services/websocket.mjs';
+import tokenService from './services/tokens.mjs';
 
 // Load environment variables
 import dotenv from 'dotenv';
@@ -171,6 +177,19 @@ const qrcodeLimiter = rateLimit({
   legacyHeaders: false,
 });
 
+const metricsLimiter = rateLimit({
+  windowMs: 15 * 60 * 1000,
+  max: process.env.NODE_ENV === 'production' ? 60 : 600,
+  message: {
+    error: {
+      message: 'Too many metrics uploads, please try again later.',
+      code: 'ERR_RATE_LIMIT_EXCEEDED'
+    }
+  },
+  standardHeaders: true,
+  legacyHeaders: false,
+});
+
 // Configure request queue
 const queue = Queue({ activeLimit: 20, queuedLimit: -1 });
 
@@ -184,7 +203,8 @@ app.use(cors({
     'Authorization',
     'Accept',
     'X-Requested-With',
-    'Content-Disposition'
+    'Content-Disposition',
+    'Idempotency-Key'
   ],
   exposedHeaders: [
     'Content-Length',
@@ -196,6 +216,10 @@ app.use(cors({
 // Increase server timeout
 app.timeout = 120000; // 2 minutes
 
+// Brotli/gzip for JSON API responses; cellular clients benefit the most
+app.use('/api', compressJson());
+app.use('/api', negotiateBinaryFormat());
+
 // Body parsing middleware
 app.use(express.json({ limit: '50mb' }));
 app.use(express.urlencoded({ extended: true, limit: '50mb' }));
@@ -232,7 +256,7 @@ app.use('/uploads', (req, res, next) => {
   }
   
   next();
-}, express.static(uploadsDir));
+}, imageVariants(uploadsDir), express.static(uploadsDir));
 
 // Rate limiting middleware
 app.use('/api/auth', authLimiter);
@@ -253,6 +277,7 @@ app.use('/api/products', productRoutes);
 app.use('/api/orders', orderRoutes);
 app.use('/api/seller/dashboard', sellerDashboardLimiter, sellerDashboardRoutes);
 app.use('/api/qrcode', qrcodeLimiter, qrcodeRoutes);
+app.use('/api/metrics', metricsLimiter, metricsRoutes);
 
 // Health check route
 app.get('/health', (req, res) => {
@@ -303,7 +328,7 @@ const initializeApp = async () => {
     // Start server
     const PORT = process.env.PORT || 3001;
     const HOST = process.env.HOST || '0.0.0.0';
-    app.listen(PORT, HOST, () => {
+    const server = app.listen(PORT, HOST, () => {
       console.log(`Server is running on port ${PORT}`);
       console.log(`Environment: ${process.env.NODE_ENV}`);
       console.log(`API Server: http://${HOST}:${PORT}`);
@@ -322,7 +347,22 @@ const initializeApp = async () => {
           console.error('Error in periodic NFT minting job:', error);
         });
       }, 5 * 60 * 1000); // 5 minutes
+
+      // Expired refresh tokens are only useful for reuse detection until they expire
+      setInterval(() => {
+        tokenService.deleteExpired().catch(error => {
+          console.error('Error deleting expired refresh tokens:', error);
+        });
+      }, 6 * 60 * 60 * 1000); // 6 hours
     });
+
+    // Keep idle connections open longer than the mobile client's 60s pool keep-alive,
+    // so a warmed-up connection is never closed by us just as the app reuses it
+    server.keepAliveTimeout = 65 * 1000;
+    server.headersTimeout = 66 * 1000;
+
+    // Real-time order updates share the HTTP server's port
+    await websocketService.initialize(server);
   } catch (error) {
     console.error('Failed to initialize application:', error);
     process.exit(1);
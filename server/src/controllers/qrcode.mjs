@@ -3,6 +3,22 @@ import crypto from 'crypto';
 import { Order, Product, Store, User, OrderItem } from '../models/index.mjs';
 import blockchainController from '../controllers/blockchain.mjs';
 import { generateProductHologram } from '../services/imageService.mjs';
+import { emitOrderUpdate } from '../services/orderEvents.mjs';
+import sequelize from '../config/database.mjs';
+
+// Orders are versioned, so saving an instance loaded earlier fails if a status change
+// landed in between. Changes are applied to a freshly locked row instead, and the new
+// version is pushed to the order's devices like any other update.
+const updateOrderLocked = async (orderId, changes) => {
+  const updated = await sequelize.transaction(async (transaction) => {
+    const order = await Order.findByPk(orderId, { lock: transaction.LOCK.UPDATE, transaction });
+    return order.update(changes(order), { transaction });
+  });
+  emitOrderUpdate(updated).catch(error => {
+    console.error('Error emitting order update:', error);
+  });
+  return updated;
+};
 
 // Generate QR code and UV hologram for an order (called after order confirmation)
 export const generateOrderLabels = async (req, res) => {
@@ -104,14 +120,14 @@ export const generateOrderLabels = async (req, res) => {
     });
 
     // Update order with QR and hologram data
-    await order.update({
+    await updateOrderLocked(order.id, () => ({
       qr_data: {
         verificationCode,
         generatedAt: timestamp,
         version: '1.0'
       },
       qr_status: 'active'
-    });
+    }));
 
     res.json({
       success: true,
@@ -222,10 +238,10 @@ export const verifyOrderQR = async (req, res) => {
     }
 
     // Update verification statistics
-    await order.update({
-      qr_verification_count: (order.qr_verification_count || 0) + 1,
+    await updateOrderLocked(order.id, locked => ({
+      qr_verification_count: (locked.qr_verification_count || 0) + 1,
       qr_last_verified_at: new Date()
-    });
+    }));
 
     // Return verification result with order details and NFT data if available
     res.json({
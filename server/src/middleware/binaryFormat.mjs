@@ -0,0 +1,25 @@
+import { encodeCbor } from '../utils/cbor.mjs';
+
+export const CBOR_CONTENT_TYPE = 'application/cbor';
+
+// Lets clients opt into CBOR with `Accept: application/cbor`. Handlers keep calling
+// res.json(), and the same object is encoded as CBOR when the client prefers it.
+// Error responses stay JSON so they remain readable in logs and by older clients.
+const negotiateBinaryFormat = () => (req, res, next) => {
+  res.vary('Accept');
+  if (req.accepts(['application/json', CBOR_CONTENT_TYPE]) !== CBOR_CONTENT_TYPE) {
+    return next();
+  }
+
+  const json = res.json.bind(res);
+  res.json = (body) => {
+    if (res.statusCode >= 400) {
+      return json(body);
+    }
+    res.type(CBOR_CONTENT_TYPE);
+    return res.send(encodeCbor(body));
+  };
+  next();
+};
+
+export default negotiateBinaryFormat;
@@ -0,0 +1,60 @@
+import idempotencyService from '../services/idempotency.mjs';
+
+// Replays the stored response for a repeated Idempotency-Key instead of running the
+// handler again. Must come after auth, since keys are scoped per user. Requests without
+// the header are handled normally. Server errors are not stored, so the client can
+// retry them with the same key.
+
+const HEADER = 'idempotency-key';
+
+const idempotent = () => (req, res, next) => {
+  const key = req.headers[HEADER];
+  if (key === undefined) {
+    return next();
+  }
+  if (!idempotencyService.isValidKey(key)) {
+    return res.status(400).json({
+      error: { message: 'Invalid Idempotency-Key header', code: 'ERR_IDEMPOTENCY_KEY_INVALID' }
+    });
+  }
+
+  const userId = req.user.id;
+  const fingerprint = `${req.method} ${req.originalUrl}`;
+  const existing = idempotencyService.get(userId, key);
+  if (existing) {
+    if (existing.fingerprint !== fingerprint) {
+      return res.status(422).json({
+        error: { message: 'Idempotency-Key was already used for another request', code: 'ERR_IDEMPOTENCY_KEY_REUSED' }
+      });
+    }
+    if (existing.pending) {
+      return res.status(409).json({
+        error: { message: 'A request with this Idempotency-Key is still in progress', code: 'ERR_IDEMPOTENCY_IN_PROGRESS' }
+      });
+    }
+    res.set('Idempotent-Replayed', 'true');
+    return res.status(existing.statusCode).json(existing.body);
+  }
+
+  idempotencyService.begin(userId, key, fingerprint);
+  const json = res.json.bind(res);
+  res.json = (body) => {
+    if (res.statusCode >= 500) {
+      idempotencyService.release(userId, key);
+    } else {
+      // Round-trip through JSON so later mutations of model instances can't leak in
+      idempotencyService.complete(userId, key, res.statusCode, JSON.parse(JSON.stringify(body)));
+    }
+    return json(body);
+  };
+  // Handlers that end without res.json must not leave the key claimed forever
+  res.on('close', () => {
+    const entry = idempotencyService.get(userId, key);
+    if (entry?.pending) {
+      idempotencyService.release(userId, key);
+    }
+  });
+  next();
+};
+
+export default idempotent;
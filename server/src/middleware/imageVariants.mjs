@@ -0,0 +1,91 @@
+import fs from 'fs/promises';
+import path from 'path';
+
+// Serves resized variants of uploaded product images for `?w=<width>` requests, so
+// mobile clients download an image sized for the view instead of the full upload.
+// Variants are generated once with sharp and kept next to the uploads; requests
+// without `w`, for other widths, or when sharp is unavailable fall through to the
+// static handler and get the original. sharp is loaded on first use and is an
+// optional dependency, so an install where its native build fails still starts.
+
+// Keep in sync with WIDTH_BUCKETS in the Android ProductImageLoader
+export const VARIANT_WIDTHS = [96, 192, 384, 768, 1536];
+const RESIZABLE_EXTENSIONS = new Set(['.jpg', '.jpeg', '.png', '.webp']);
+const PRODUCTS_PREFIX = '/products/';
+
+let sharpPromise;
+const loadSharp = () => {
+  if (!sharpPromise) {
+    sharpPromise = import('sharp')
+      .then(module => module.default)
+      .catch(error => {
+        console.warn('Image variants disabled, sharp is not available:', error.message);
+        return null;
+      });
+  }
+  return sharpPromise;
+};
+
+const fileExists = async (file) => {
+  try {
+    await fs.access(file);
+    return true;
+  } catch {
+    return false;
+  }
+};
+
+const imageVariants = (uploadsDir) => {
+  const variantsDir = path.join(uploadsDir, '.variants');
+  // Concurrent requests for the same missing variant share one resize
+  const inFlight = new Map();
+
+  const ensureVariant = (sharp, source, target, width) => {
+    if (!inFlight.has(target)) {
+      const work = (async () => {
+        if (await fileExists(target)) return;
+        await fs.mkdir(path.dirname(target), { recursive: true });
+        const temp = `${target}.${process.pid}.tmp`;
+        await sharp(source)
+          .rotate()
+          .resize({ width, withoutEnlargement: true })
+          .toFile(temp);
+        await fs.rename(temp, target);
+      })().finally(() => inFlight.delete(target));
+      inFlight.set(target, work);
+    }
+    return inFlight.get(target);
+  };
+
+  return async (req, res, next) => {
+    const width = Number.parseInt(req.query.w, 10);
+    if (!VARIANT_WIDTHS.includes(width) || !req.path.startsWith(PRODUCTS_PREFIX)) {
+      return next();
+    }
+
+    try {
+      const relativePath = path.normalize(decodeURIComponent(req.path)).replace(/^([/\\])+/, '');
+      const source = path.join(uploadsDir, relativePath);
+      if (!source.startsWith(uploadsDir + path.sep)
+          || !RESIZABLE_EXTENSIONS.has(path.extname(source).toLowerCase())) {
+        return next();
+      }
+
+      const sharp = await loadSharp();
+      if (!sharp || !(await fileExists(source))) {
+        return next();
+      }
+      const target = path.join(variantsDir, String(width), relativePath);
+      await ensureVariant(sharp, source, target, width);
+      res.sendFile(target);
+    } catch (error) {
+      // A malformed escape in the path is the client's; the static handler answers it
+      if (!(error instanceof URIError)) {
+        console.error('Failed to serve image variant:', error);
+      }
+      next();
+    }
+  };
+};
+
+export default imageVariants;
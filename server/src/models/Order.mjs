@@ -145,6 +145,8 @@ Order.init({
   tableName: 'orders',
   timestamps: true,
   underscored: true,
+  // Incremented on every save; clients use it to order updates for the same order
+  version: true,
   indexes: [
     {
       name: 'idx_orders_user',
@@ -0,0 +1,56 @@
+import { Model, DataTypes } from 'sequelize';
+import sequelize from '../config/database.mjs';
+
+// One row per issued refresh token. Only a SHA-256 of the token is stored, so a leaked
+// table cannot be replayed. A token is used once: refreshing revokes it and points
+// replaced_by at its successor.
+class RefreshToken extends Model {
+  isActive() {
+    return !this.revoked_at && this.expires_at > new Date();
+  }
+}
+
+RefreshToken.init({
+  id: {
+    type: DataTypes.UUID,
+    defaultValue: DataTypes.UUIDV4,
+    primaryKey: true
+  },
+  user_id: {
+    type: DataTypes.UUID,
+    allowNull: false,
+    references: {
+      model: 'users',
+      key: 'id'
+    }
+  },
+  token_hash: {
+    type: DataTypes.STRING(64),
+    allowNull: false,
+    unique: true
+  },
+  expires_at: {
+    type: DataTypes.DATE,
+    allowNull: false
+  },
+  revoked_at: {
+    type: DataTypes.DATE
+  },
+  replaced_by: {
+    type: DataTypes.UUID
+  }
+}, {
+  sequelize,
+  modelName: 'RefreshToken',
+  tableName: 'refresh_tokens',
+  timestamps: true,
+  underscored: true,
+  indexes: [
+    {
+      name: 'idx_refresh_tokens_user',
+      fields: ['user_id']
+    }
+  ]
+});
+
+export default RefreshToken;
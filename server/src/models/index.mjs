@@ -1,9 +1,12 @@
+import { DataTypes } from 'sequelize';
+import sequelize from '../config/database.mjs';
 import { Order, OrderItem } from './Order.mjs';
 import OrderStatusHistory from './OrderStatusHistory.mjs';
 import Product from './Product.mjs';
 import Store from './Store.mjs';
 import User from './User.mjs';
 import Notification from './Notification.mjs';
+import RefreshToken from './RefreshToken.mjs';
 
 // Define relationships
 User.hasOne(Store, { foreignKey: 'user_id', as: 'ownedStore' });
@@ -42,14 +45,32 @@ OrderStatusHistory.belongsTo(User, {
 User.hasMany(Notification, { foreignKey: 'user_id', as: 'notifications' });
 Notification.belongsTo(User, { foreignKey: 'user_id', as: 'user' });
 
+User.hasMany(RefreshToken, { foreignKey: 'user_id', as: 'refreshTokens', onDelete: 'CASCADE' });
+RefreshToken.belongsTo(User, { foreignKey: 'user_id', as: 'user' });
+
 // Helper functions
+
+// Order.sync does not alter existing tables, so columns added later are created here
+const addMissingOrderColumns = async () => {
+  const queryInterface = sequelize.getQueryInterface();
+  const columns = await queryInterface.describeTable('orders');
+  if (!columns.version) {
+    await queryInterface.addColumn('orders', 'version', {
+      type: DataTypes.INTEGER,
+      allowNull: false,
+      defaultValue: 0
+    });
+  }
+};
+
 export const syncDatabase = async (force = false) => {
   // Drop tables in reverse dependency order
   if (force) {
     await Promise.all([
       OrderItem.drop({ cascade: true }),
       OrderStatusHistory.drop({ cascade: true }),
-      Notification.drop({ cascade: true })
+      Notification.drop({ cascade: true }),
+      RefreshToken.drop({ cascade: true })
     ]);
     await Promise.all([
       Order.drop({ cascade: true }),
@@ -64,9 +85,11 @@ export const syncDatabase = async (force = false) => {
   await Store.sync({ force });
   await Product.sync({ force });
   await Order.sync({ force });
+  await addMissingOrderColumns();
   await Promise.all([
     OrderItem.sync({ force }),
     OrderStatusHistory.sync({ force }),
+    RefreshToken.sync({ force }),
     // Ensure new/changed columns are applied before creating indexes
     Notification.sync({ force, alter: true })
   ]);
@@ -83,5 +106,6 @@ export {
   Order,
   OrderItem,
   OrderStatusHistory,
-  Notification
+  Notification,
+  RefreshToken
 };
\ No newline at end of file
@@ -3,6 +3,7 @@ import { body } from 'express-validator';
 import validateRequest from '../middleware/validateRequest.mjs';
 import auth from '../middleware/auth.mjs';
 import { User, Store } from '../models/index.mjs';
+import tokenService from '../services/tokens.mjs';
 import { ethers } from 'ethers';
 import { promises as fs } from 'fs';
 import { fileURLToPath } from 'url';
@@ -45,6 +46,11 @@ const registerValidation = [
   validateRequest,
 ];
 
+const refreshValidation = [
+  body('refreshToken').isString().notEmpty().withMessage('Refresh token is required'),
+  validateRequest,
+];
+
 const loginValidation = [
   body('email').isEmail().withMessage('Invalid email address'),
   body('password').notEmpty().withMessage('Password is required'),
@@ -185,7 +191,7 @@ router.post('/register', registerValidation, async (req, res) => {
     });
 
     // Generate auth token
-    const token = userWithStore.generateAuthToken();
+    const { token, refreshToken, expiresIn } = await tokenService.issue(userWithStore);
 
     // Get user data with store
     const userData = userWithStore.toJSON();
@@ -193,6 +199,8 @@ router.post('/register', registerValidation, async (req, res) => {
     res.status(201).json({
       message: 'Registration successful',
       token,
+      refreshToken,
+      expiresIn,
       user: {
         id: userData.id,
         email: userData.email,
@@ -281,7 +289,7 @@ router.post('/login', loginValidation, async (req, res) => {
     await user.save();
 
     // Generate auth token
-    const token = user.generateAuthToken();
+    const { token, refreshToken, expiresIn } = await tokenService.issue(user);
 
     // Get user data with store
     const userData = user.toJSON();
@@ -289,6 +297,8 @@ router.post('/login', loginValidation, async (req, res) => {
     res.json({
       message: 'Login successful',
       token,
+      refreshToken,
+      expiresIn,
       user: {
         id: userData.id,
         email: userData.email,
@@ -318,10 +328,26 @@ router.post('/login', loginValidation, async (req, res) => {
   }
 });
 
-router.post('/logout', auth, async (req, res) => {
+// Exchanges a refresh token for a new access token and refresh token. Needs no access
+// token, since the point is to recover from an expired one.
+router.post('/refresh', refreshValidation, async (req, res) => {
+  try {
+    const { token, refreshToken, expiresIn } = await tokenService.rotate(req.body.refreshToken);
+    res.json({ token, refreshToken, expiresIn });
+  } catch (error) {
+    if (error.status === 401) {
+      return res.status(401).json({ message: error.message, code: error.code });
+    }
+    console.error('Token refresh error:', error);
+    res.status(500).json({ message: 'Token refresh failed' });
+  }
+});
+
+// The access token may already have expired, so the refresh token in the body is what
+// identifies the session to end
+router.post('/logout', async (req, res) => {
   try {
-    // In a real application, you might want to invalidate the token here
-    // For now, we'll just send a success response
+    await tokenService.revoke(req.body?.refreshToken);
     res.json({ message: 'Logout successful' });
   } catch (error) {
     console.error('Logout error:', error);
@@ -0,0 +1,27 @@
+import express from 'express';
+import auth from '../middleware/auth.mjs';
+import clientMetrics from '../services/clientMetrics.mjs';
+
+const router = express.Router();
+
+// Ingest a batch of aggregated client metrics (public, devices may upload before login)
+router.post('/', (req, res) => {
+  const error = clientMetrics.validateBatch(req.body);
+  if (error) {
+    return res.status(400).json({ message: error });
+  }
+  clientMetrics.ingest(req.body);
+  res.status(204).end();
+});
+
+// p50/p95/p99 per metric and device class since the last reset
+router.get('/summary', auth(['admin']), (req, res) => {
+  res.json(clientMetrics.getSummary());
+});
+
+router.delete('/summary', auth(['admin']), (req, res) => {
+  clientMetrics.reset();
+  res.status(204).end();
+});
+
+export default router;
@@ -10,10 +10,25 @@ import {
   OrderStatusHistory
 } from '../models/index.mjs';
 import auth from '../middleware/auth.mjs';
+import idempotent from '../middleware/idempotency.mjs';
 import sequelize from '../config/database.mjs';
+import { emitOrderUpdate, emitOrdersUpdate } from '../services/orderEvents.mjs';
+import {
+  parseFields,
+  parseInclude,
+  projectFields,
+  toCompactOrders,
+  toOrderDetails
+} from '../utils/orderProjection.mjs';
 
 const router = express.Router();
 
+const USER_ORDER_FIELDS = ['status', 'total_fiat_amount', 'created_at', 'updated_at', 'items', 'merchantStore', 'orderPlacer'];
+const ORDER_DETAIL_INCLUDES = ['history', 'qrStatus', 'viewerRole'];
+const QR_STATUS_ATTRIBUTES = ['qr_status', 'qr_verification_count', 'qr_last_verified_at'];
+const ORDER_DETAIL_FIELDS = [...USER_ORDER_FIELDS, 'shipping_address', 'payment_method', 'payment_status',
+  'user_id', 'store_id', 'statusHistory'];
+
 // Create new order
 router.post('/', auth(), async (req, res) => {
   const transaction = await sequelize.transaction();
@@ -183,7 +198,7 @@ router.post('/', auth(), async (req, res) => {
 router.get('/', auth(['admin']), async (req, res) => {
   try {
     const orders = await Order.findAll({
-      attributes: ['id', 'status', 'total_fiat_amount', 'created_at', 'updated_at'],
+      attributes: ['id', 'status', 'version', 'total_fiat_amount', 'created_at', 'updated_at'],
       include: [
         {
           model: OrderItem,
@@ -222,7 +237,7 @@ router.get('/store', auth(['seller']), async (req, res) => {
       where: {
         store_id: req.user.ownedStore.id
       },
-      attributes: ['id', 'status', 'total_fiat_amount', 'created_at', 'updated_at'],
+      attributes: ['id', 'status', 'version', 'total_fiat_amount', 'created_at', 'updated_at'],
       include: [
         {
           model: OrderItem,
@@ -247,7 +262,12 @@ router.get('/store', auth(['seller']), async (req, res) => {
       ],
       order: [['created_at', 'DESC']]
     });
-    res.json(orders);
+
+    const fields = parseFields(req.query.fields, USER_ORDER_FIELDS);
+    if (req.query.view === 'compact') {
+      return res.json(toCompactOrders(orders, fields));
+    }
+    res.json(fields ? orders.map(order => projectFields(order.toJSON(), fields)) : orders);
   } catch (error) {
     console.error('Error fetching store orders:', error);
     res.status(500).json({ error: 'Failed to fetch orders' });
@@ -259,7 +279,7 @@ router.get('/user', auth(), async (req, res) => {
   try {
     const orders = await Order.findAll({
       where: { user_id: req.user.id },
-      attributes: ['id', 'status', 'total_fiat_amount', 'created_at', 'updated_at'],
+      attributes: ['id', 'status', 'version', 'total_fiat_amount', 'created_at', 'updated_at'],
       include: [
         {
           model: OrderItem,
@@ -284,7 +304,12 @@ router.get('/user', auth(), async (req, res) => {
       ],
       order: [['created_at', 'DESC']]
     });
-    res.json(orders);
+
+    const fields = parseFields(req.query.fields, USER_ORDER_FIELDS);
+    if (req.query.view === 'compact') {
+      return res.json(toCompactOrders(orders, fields));
+    }
+    res.json(fields ? orders.map(order => projectFields(order.toJSON(), fields)) : orders);
   } catch (error) {
     console.error('Error fetching user orders:', error);
     res.status(500).json({ error: 'Failed to fetch orders' });
@@ -294,9 +319,13 @@ router.get('/user', auth(), async (req, res) => {
 // Get single order
 router.get('/:id', auth(), async (req, res) => {
   try {
+    const include = parseInclude(req.query.include, ORDER_DETAIL_INCLUDES);
     const order = await Order.findOne({
       where: { id: req.params.id },
-      attributes: ['id', 'status', 'total_fiat_amount', 'created_at', 'updated_at', 'shipping_address', 'payment_method', 'payment_status', 'user_id', 'store_id'],
+      attributes: [
+        'id', 'status', 'version', 'total_fiat_amount', 'created_at', 'updated_at', 'shipping_address', 'payment_method', 'payment_status', 'user_id', 'store_id',
+        ...(include?.has('qrStatus') ? QR_STATUS_ATTRIBUTES : [])
+      ],
       include: [
         {
           model: OrderItem,
@@ -357,7 +386,11 @@ router.get('/:id', auth(), async (req, res) => {
       });
     }
 
-    res.json(order);
+    const fields = parseFields(req.query.fields, ORDER_DETAIL_FIELDS);
+    if (include) {
+      return res.json(toOrderDetails(order, { include, fields, user: req.user }));
+    }
+    res.json(fields ? projectFields(order.toJSON(), fields) : order);
   } catch (error) {
     console.error('Error fetching order:', error);
     res.status(500).json({ error: 'Failed to fetch order' });
@@ -403,7 +436,7 @@ router.get('/:id/status-history', auth(), async (req, res) => {
 });
 
 // Update order status
-router.patch('/:id/status', auth(['seller', 'admin']), async (req, res) => {
+router.patch('/:id/status', auth(['seller', 'admin']), idempotent(), async (req, res) => {
   const transaction = await sequelize.transaction();
   
   try {
@@ -418,6 +451,9 @@ router.patch('/:id/status', auth(['seller', 'admin']), async (req, res) => {
           include: [{ model: Product, as: 'product' }]
         }
       ],
+      // The row lock serializes concurrent changes, so the versioned save below cannot
+      // fail on a stale version
+      lock: { level: transaction.LOCK.UPDATE, of: Order },
       transaction
     });
 
@@ -461,7 +497,10 @@ router.patch('/:id/status', auth(['seller', 'admin']), async (req, res) => {
         if (product) {
           // Ensure we have enough stock to reactivate
           if (product.stock < item.quantity) {
-            throw new Error(`Insufficient stock for product: ${product.name}`);
+            // Retrying cannot help, so not a 409, which clients retry
+            const error = new Error(`Insufficient stock for product: ${product.name}`);
+            error.status = 422;
+            throw error;
           }
           
           await product.update({
@@ -484,6 +523,10 @@ router.patch('/:id/status', auth(['seller', 'admin']), async (req, res) => {
     
     await transaction.commit();
 
+    emitOrderUpdate(order).catch(error => {
+      console.error('Error emitting order update:', error);
+    });
+
     // Fetch fresh order data with status history
     const updatedOrder = await Order.findOne({
       where: { id: req.params.id },
@@ -506,8 +549,138 @@ router.patch('/:id/status', auth(['seller', 'admin']), async (req, res) => {
   } catch (error) {
     await transaction.rollback();
     console.error('Error updating order status:', error);
-    res.status(500).json({
-      error: 'Internal server error',
+    res.status(error.status || 500).json({
+      error: error.status ? error.message : 'Internal server error',
+      message: error.message
+    });
+  }
+});
+
+const MAX_STATUS_BATCH_SIZE = 200;
+const UUID_PATTERN = /^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$/i;
+
+// Cancelling returns items to inventory and reactivating takes them out again. Quantities
+// are summed per product first, so each product row is locked and written once no matter
+// how many orders in the batch contain it.
+const applyBatchStockChanges = async (orders, status, transaction) => {
+  const sign = status === 'cancelled' ? 1 : -1;
+  const affected = orders.filter(order =>
+    status === 'cancelled' ? order.status !== 'cancelled' : order.status === 'cancelled');
+  if (!affected.length) {
+    return;
+  }
+
+  const items = await OrderItem.findAll({
+    where: { order_id: affected.map(order => order.id) },
+    attributes: ['product_id', 'quantity'],
+    transaction
+  });
+  const quantities = new Map();
+  for (const item of items) {
+    quantities.set(item.product_id, (quantities.get(item.product_id) || 0) + item.quantity);
+  }
+
+  const products = await Product.findAll({
+    where: { id: [...quantities.keys()] },
+    lock: transaction.LOCK.UPDATE,
+    transaction
+  });
+  for (const product of products) {
+    const stock = product.stock + sign * quantities.get(product.id);
+    if (stock < 0) {
+      // A business-rule failure; 409 is kept for an idempotent replay in progress
+      const error = new Error(`Insufficient stock for product: ${product.name}`);
+      error.status = 422;
+      throw error;
+    }
+    await product.update({ stock }, { transaction });
+  }
+};
+
+// Update the status of many orders at once. Orders that are missing or belong to another
+// store are reported in `failed`; the rest change in one transaction with a single
+// history insert and a single UPDATE. `orders` lists every order now in the requested
+// status, with its version.
+router.put('/status/batch', auth(['seller', 'admin']), idempotent(), async (req, res) => {
+  const { status, orderIds } = req.body;
+  if (!Order.rawAttributes.status.values.includes(status)) {
+    return res.status(400).json({ error: 'Invalid status' });
+  }
+  if (!Array.isArray(orderIds) || orderIds.length === 0 || orderIds.length > MAX_STATUS_BATCH_SIZE) {
+    return res.status(400).json({
+      error: `orderIds must be a non-empty array of at most ${MAX_STATUS_BATCH_SIZE} ids`
+    });
+  }
+  const ids = [...new Set(orderIds.map(String))];
+
+  const transaction = await sequelize.transaction();
+  try {
+    // Malformed ids would make Postgres reject the whole query; they fall out as not found
+    const orders = await Order.findAll({
+      where: { id: ids.filter(id => UUID_PATTERN.test(id)) },
+      attributes: ['id', 'status', 'version', 'user_id', 'store_id'],
+      lock: transaction.LOCK.UPDATE,
+      transaction
+    });
+    const ordersById = new Map(orders.map(order => [order.id, order]));
+
+    const failed = [];
+    const unchanged = [];
+    const changing = [];
+    for (const id of ids) {
+      const order = ordersById.get(id);
+      if (!order) {
+        failed.push({ id, error: 'Order not found' });
+      } else if (req.user.role === 'seller' && order.store_id !== req.user.ownedStore?.id) {
+        failed.push({ id, error: 'Not authorized to update this order' });
+      } else if (order.status === status) {
+        unchanged.push(order);
+      } else {
+        changing.push(order);
+      }
+    }
+
+    if (changing.length) {
+      await applyBatchStockChanges(changing, status, transaction);
+      await OrderStatusHistory.bulkCreate(changing.map(order => ({
+        order_id: order.id,
+        from_status: order.status,
+        to_status: status,
+        changed_by: req.user.id,
+        notes: `Status changed from ${order.status} to ${status}`
+      })), { transaction });
+      // Rows are locked above, so version + 1 is exactly what each order ends up with
+      await Order.update(
+        { status, version: sequelize.literal('version + 1') },
+        { where: { id: changing.map(order => order.id) }, transaction }
+      );
+    }
+
+    await transaction.commit();
+
+    const updated = changing.map(order => ({
+      id: order.id,
+      status,
+      version: order.version + 1,
+      user_id: order.user_id,
+      store_id: order.store_id
+    }));
+    if (updated.length) {
+      emitOrdersUpdate(updated, status).catch(error => {
+        console.error('Error emitting orders update:', error);
+      });
+    }
+
+    res.json({
+      status,
+      orders: [...updated, ...unchanged].map(({ id, version }) => ({ id, status, version })),
+      failed
+    });
+  } catch (error) {
+    await transaction.rollback();
+    console.error('Error updating order statuses:', error);
+    res.status(error.status || 500).json({
+      error: error.status ? error.message : 'Internal server error',
       message: error.message
     });
   }
@@ -533,6 +706,7 @@ router.post('/:id/undo-status', auth(['seller', 'admin']), async (req, res) => {
           limit: null
         }
       ],
+      lock: { level: transaction.LOCK.UPDATE, of: Order },
       transaction
     });
 
@@ -616,6 +790,10 @@ router.post('/:id/undo-status', auth(['seller', 'admin']), async (req, res) => {
     
     await transaction.commit();
 
+    emitOrderUpdate(order).catch(error => {
+      console.error('Error emitting order update:', error);
+    });
+
     // Fetch fresh order data with status history
     const updatedOrder = await Order.findOne({
       where: { id: req.params.id },
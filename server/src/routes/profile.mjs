@@ -1,6 +1,7 @@
 import express from 'express';
 import auth from '../middleware/auth.mjs';
 import { User, Store } from '../models/index.mjs';
+import websocketService from '../services/websocket.mjs';
 
 const router = express.Router();
 
@@ -147,6 +148,10 @@ router.put('/', auth(), async (req, res) => {
     });
 
     const updatedUserData = updatedUser.toJSON();
+    websocketService.emitProfileUpdate(updatedUserData.id, {
+      role: updatedUserData.role,
+      storeId: updatedUserData.ownedStore?.id
+    });
     res.json({
       id: updatedUserData.id,
       email: updatedUserData.email,
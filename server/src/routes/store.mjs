@@ -1,6 +1,7 @@
 import express from 'express';
 import { Store } from '../models/index.mjs';
 import auth, { requireSeller } from '../middleware/auth.mjs';
+import websocketService from '../services/websocket.mjs';
 
 const router = express.Router();
 
@@ -115,6 +116,7 @@ router.put('/', requireSeller, async (req, res) => {
       attributes: { exclude: ['payment_details', 'private_key'] }
     });
 
+    websocketService.emitProfileUpdate(req.user.id, { role: req.user.role, storeId: store.id });
     console.log('Sending updated store:', updatedStore.toJSON());
     res.json(updatedStore);
   } catch (error) {
@@ -151,6 +153,7 @@ router.put('/setup', auth, async (req, res) => {
       attributes: { exclude: ['payment_details', 'private_key'] }
     });
 
+    websocketService.emitProfileUpdate(req.user.id, { role: req.user.role, storeId: store.id });
     console.log('Sending updated store after setup:', updatedStore.toJSON());
     res.json(updatedStore);
   } catch (error) {
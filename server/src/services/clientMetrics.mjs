@@ -0,0 +1,180 @@
+// In-memory aggregation of client performance batches.
+// Histograms arrive as sparse buckets keyed by bucket lower bound, so batches from
+// many devices merge exactly and percentiles are only computed when read.
+
+const MAX_SERIES = 2000;
+// Bucket grid of the app's Histogram: values below 32 are exact, then every power of
+// two up to 2^32 is split into 16 sub-buckets. Keep in sync with Histogram.java.
+const SUB_BUCKET_BITS = 5;
+const SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+const MAX_MAGNITUDE = 32;
+const MAX_BUCKETS_PER_HISTOGRAM = SUB_BUCKET_COUNT + (MAX_MAGNITUDE - SUB_BUCKET_BITS) * (SUB_BUCKET_COUNT / 2);
+const MAX_NAME_LENGTH = 100;
+const VALID_DEVICE_CLASSES = new Set(['low', 'mid', 'high']);
+
+class ClientMetricsService {
+    constructor() {
+        this.counters = new Map();
+        this.histograms = new Map();
+        this.windowStartedAt = Date.now();
+    }
+
+    static seriesKey(name, deviceClass) {
+        return `${name}|${deviceClass}`;
+    }
+
+    static isValidName(name) {
+        return typeof name === 'string' && name.length > 0 && name.length <= MAX_NAME_LENGTH;
+    }
+
+    static isCount(value) {
+        return Number.isSafeInteger(value) && value >= 0;
+    }
+
+    static isNonNegative(value) {
+        return Number.isFinite(value) && value >= 0;
+    }
+
+    // True for the lower bound of one of the client histogram's buckets. Anything else
+    // would add a new Map key per distinct value.
+    static isBucketValue(value) {
+        if (!Number.isSafeInteger(value) || value < 0) return false;
+        if (value < SUB_BUCKET_COUNT) return true;
+        if (value >= 2 ** MAX_MAGNITUDE) return false;
+        const shift = Math.floor(Math.log2(value)) - (SUB_BUCKET_BITS - 1);
+        return value % 2 ** shift === 0;
+    }
+
+    validateBatch(batch) {
+        if (!batch || typeof batch !== 'object') {
+            return 'Batch body is required';
+        }
+        if (!VALID_DEVICE_CLASSES.has(batch.deviceClass)) {
+            return 'Invalid deviceClass';
+        }
+        if (batch.counters && typeof batch.counters !== 'object') {
+            return 'counters must be an object';
+        }
+        for (const value of Object.values(batch.counters || {})) {
+            if (!ClientMetricsService.isCount(value)) {
+                return 'Counter values must be non-negative integers';
+            }
+        }
+        if (batch.histograms && !Array.isArray(batch.histograms)) {
+            return 'histograms must be an array';
+        }
+        for (const histogram of batch.histograms || []) {
+            if (!ClientMetricsService.isValidName(histogram?.name)) {
+                return 'Invalid histogram name';
+            }
+            const { bucketValues, bucketCounts } = histogram;
+            if (!Array.isArray(bucketValues) || !Array.isArray(bucketCounts)
+                || bucketValues.length !== bucketCounts.length
+                || bucketValues.length > MAX_BUCKETS_PER_HISTOGRAM) {
+                return `Invalid buckets for ${histogram.name}`;
+            }
+            if (!bucketValues.every(ClientMetricsService.isBucketValue)
+                || !bucketCounts.every(ClientMetricsService.isCount)) {
+                return `Invalid buckets for ${histogram.name}`;
+            }
+            if (!ClientMetricsService.isCount(histogram.count)
+                || !ClientMetricsService.isNonNegative(histogram.sum)
+                || !ClientMetricsService.isNonNegative(histogram.max)) {
+                return `Invalid totals for ${histogram.name}`;
+            }
+        }
+        return null;
+    }
+
+    ingest(batch) {
+        const { deviceClass } = batch;
+
+        for (const [name, value] of Object.entries(batch.counters || {})) {
+            if (!ClientMetricsService.isValidName(name) || !ClientMetricsService.isCount(value)) continue;
+            const key = ClientMetricsService.seriesKey(name, deviceClass);
+            if (!this.counters.has(key) && this.seriesCount() >= MAX_SERIES) continue;
+            this.counters.set(key, (this.counters.get(key) || 0) + value);
+        }
+
+        for (const histogram of batch.histograms || []) {
+            const key = ClientMetricsService.seriesKey(histogram.name, deviceClass);
+            let series = this.histograms.get(key);
+            if (!series) {
+                if (this.seriesCount() >= MAX_SERIES) continue;
+                series = {
+                    name: histogram.name,
+                    deviceClass,
+                    unit: histogram.unit,
+                    count: 0,
+                    sum: 0,
+                    max: 0,
+                    buckets: new Map()
+                };
+                this.histograms.set(key, series);
+            }
+            series.count += histogram.count;
+            series.sum += histogram.sum;
+            series.max = Math.max(series.max, histogram.max);
+            histogram.bucketValues.forEach((bucketValue, i) => {
+                // Only reachable with grid values, but the bound must not depend on that
+                if (!series.buckets.has(bucketValue) && series.buckets.size >= MAX_BUCKETS_PER_HISTOGRAM) return;
+                series.buckets.set(bucketValue, (series.buckets.get(bucketValue) || 0) + histogram.bucketCounts[i]);
+            });
+        }
+    }
+
+    seriesCount() {
+        return this.counters.size + this.histograms.size;
+    }
+
+    static percentile(sortedBuckets, total, max, p) {
+        if (total === 0) return 0;
+        const target = Math.max(1, Math.ceil(total * p / 100));
+        let seen = 0;
+        for (const [value, count] of sortedBuckets) {
+            seen += count;
+            if (seen >= target) return Math.min(value, max);
+        }
+        return max;
+    }
+
+    getSummary() {
+        const histograms = Array.from(this.histograms.values()).map(series => {
+            const sorted = Array.from(series.buckets.entries()).sort((a, b) => a[0] - b[0]);
+            return {
+                name: series.name,
+                deviceClass: series.deviceClass,
+                unit: series.unit,
+                count: series.count,
+                mean: series.count ? series.sum / series.count : 0,
+                max: series.max,
+                p50: ClientMetricsService.percentile(sorted, series.count, series.max, 50),
+                p95: ClientMetricsService.percentile(sorted, series.count, series.max, 95),
+                p99: ClientMetricsService.percentile(sorted, series.count, series.max, 99)
+            };
+        });
+
+        const counters = Array.from(this.counters.entries()).map(([key, value]) => {
+            const [name, deviceClass] = key.split('|');
+            return { name, deviceClass, value };
+        });
+
+        return { since: new Date(this.windowStartedAt).toISOString(), counters, histograms };
+    }
+
+    reset() {
+        this.counters.clear();
+        this.histograms.clear();
+        this.windowStartedAt = Date.now();
+    }
+
+    // Get singleton instance
+    static getInstance() {
+        if (!ClientMetricsService.instance) {
+            ClientMetricsService.instance = new ClientMetricsService();
+        }
+        return ClientMetricsService.instance;
+    }
+}
+
+export default ClientMetricsService.getInstance();
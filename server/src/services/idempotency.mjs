@@ -0,0 +1,76 @@
+// Remembers the outcome of requests sent with an Idempotency-Key header, so a client
+// replaying a mutation after a lost response gets the original result instead of
+// applying the change twice. Entries are kept in memory for a day, which covers how
+// long a device can reasonably hold a change in its outbox.
+
+const TTL_MS = 24 * 60 * 60 * 1000;
+const MAX_ENTRIES = 10000;
+const MAX_KEY_LENGTH = 100;
+
+class IdempotencyService {
+    constructor() {
+        // Insertion-ordered, so the oldest entries are evicted first
+        this.entries = new Map();
+    }
+
+    isValidKey(key) {
+        return typeof key === 'string' && key.length > 0 && key.length <= MAX_KEY_LENGTH;
+    }
+
+    static scopedKey(userId, key) {
+        return `${userId}:${key}`;
+    }
+
+    get(userId, key) {
+        const scoped = IdempotencyService.scopedKey(userId, key);
+        const entry = this.entries.get(scoped);
+        if (entry && entry.expiresAt <= Date.now()) {
+            this.entries.delete(scoped);
+            return null;
+        }
+        return entry || null;
+    }
+
+    // Claims a key before the handler runs; a second request with the same key while
+    // the first is still running sees the pending entry
+    begin(userId, key, fingerprint) {
+        this.evictExpired();
+        this.entries.set(IdempotencyService.scopedKey(userId, key), {
+            fingerprint,
+            pending: true,
+            expiresAt: Date.now() + TTL_MS
+        });
+    }
+
+    complete(userId, key, statusCode, body) {
+        const entry = this.entries.get(IdempotencyService.scopedKey(userId, key));
+        if (entry) {
+            entry.pending = false;
+            entry.statusCode = statusCode;
+            entry.body = body;
+        }
+    }
+
+    release(userId, key) {
+        this.entries.delete(IdempotencyService.scopedKey(userId, key));
+    }
+
+    evictExpired() {
+        const now = Date.now();
+        for (const [scoped, entry] of this.entries) {
+            if (entry.expiresAt > now && this.entries.size < MAX_ENTRIES) {
+                break;
+            }
+            this.entries.delete(scoped);
+        }
+    }
+
+    static getInstance() {
+        if (!IdempotencyService.instance) {
+            IdempotencyService.instance = new IdempotencyService();
+        }
+        return IdempotencyService.instance;
+    }
+}
+
+export default IdempotencyService.getInstance();
@@ -0,0 +1,35 @@
+import { Store } from '../models/index.mjs';
+import websocketService from './websocket.mjs';
+
+// Echoes a status change to the buyer's and the seller's devices. Clients drop echoes
+// whose version they have already applied, so the device that made the change does
+// not redraw twice.
+export const emitOrderUpdate = async (order) => {
+  const store = await Store.findByPk(order.store_id, { attributes: ['user_id'] });
+  websocketService.emitToUsers([order.user_id, store?.user_id], 'order_update', {
+    orderId: order.id,
+    status: order.status,
+    version: order.version
+  });
+};
+
+// Sends one orders_update event per affected user instead of one event per order
+export const emitOrdersUpdate = async (orders, status) => {
+  const storeIds = [...new Set(orders.map(order => order.store_id))];
+  const stores = await Store.findAll({ where: { id: storeIds }, attributes: ['id', 'user_id'] });
+  const ownerByStore = new Map(stores.map(store => [store.id, store.user_id]));
+
+  const ordersByUser = new Map();
+  const addFor = (userId, order) => {
+    if (!userId) return;
+    if (!ordersByUser.has(userId)) ordersByUser.set(userId, []);
+    ordersByUser.get(userId).push({ orderId: order.id, version: order.version });
+  };
+  for (const order of orders) {
+    addFor(order.user_id, order);
+    addFor(ownerByStore.get(order.store_id), order);
+  }
+  for (const [userId, userOrders] of ordersByUser) {
+    websocketService.emitToUsers([userId], 'orders_update', { status, orders: userOrders });
+  }
+};
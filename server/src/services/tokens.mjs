@@ -0,0 +1,143 @@
+// Issues access tokens together with long-lived refresh tokens. The access token is the
+// short-lived JWT the auth middleware checks; the refresh token is an opaque random
+// string that can be exchanged once for a new pair, so an expired session is renewed
+// without sending the password again.
+
+import crypto from 'crypto';
+import jwt from 'jsonwebtoken';
+import { Op } from 'sequelize';
+import sequelize from '../config/database.mjs';
+import { User, RefreshToken } from '../models/index.mjs';
+
+const REFRESH_TOKEN_TTL_MS = 30 * 24 * 60 * 60 * 1000;
+// A client that lost the response to a refresh may send the same token again right
+// away; within this window that is treated as a retry rather than a stolen token
+const REUSE_GRACE_MS = 15 * 1000;
+
+const hashToken = (token) => crypto.createHash('sha256').update(token).digest('hex');
+
+const invalidRefreshToken = (message) => {
+  const error = new Error(message);
+  error.status = 401;
+  error.code = 'ERR_INVALID_REFRESH_TOKEN';
+  return error;
+};
+
+class TokenService {
+  static getInstance() {
+    if (!TokenService.instance) {
+      TokenService.instance = new TokenService();
+    }
+    return TokenService.instance;
+  }
+
+  // Seconds until the access token expires, so clients can refresh ahead of time
+  static expiresIn(accessToken) {
+    const { exp } = jwt.decode(accessToken) || {};
+    return exp ? Math.max(0, exp - Math.floor(Date.now() / 1000)) : null;
+  }
+
+  async issue(user, { transaction } = {}) {
+    const refreshToken = crypto.randomBytes(32).toString('base64url');
+    const record = await RefreshToken.create({
+      user_id: user.id,
+      token_hash: hashToken(refreshToken),
+      expires_at: new Date(Date.now() + REFRESH_TOKEN_TTL_MS)
+    }, { transaction });
+
+    const token = user.generateAuthToken();
+    return {
+      token,
+      refreshToken,
+      expiresIn: TokenService.expiresIn(token),
+      record
+    };
+  }
+
+  // Exchanges a refresh token for a new access and refresh token. The old refresh token
+  // stops working. Presenting one that was already exchanged means it leaked or was
+  // replayed, so every session of that user is revoked, unless it was exchanged less
+  // than REUSE_GRACE_MS ago and its successor is unused. Then the successor is rotated
+  // in its place, so the retry gets a working pair and the lost one stops working.
+  async rotate(refreshToken) {
+    if (typeof refreshToken !== 'string' || !refreshToken) {
+      throw invalidRefreshToken('Refresh token is required');
+    }
+
+    const transaction = await sequelize.transaction();
+    try {
+      let current = await RefreshToken.findOne({
+        where: { token_hash: hashToken(refreshToken) },
+        lock: transaction.LOCK.UPDATE,
+        transaction
+      });
+
+      if (!current) {
+        throw invalidRefreshToken('Invalid refresh token');
+      }
+      if (current.replaced_by && Date.now() - current.revoked_at < REUSE_GRACE_MS) {
+        const successor = await RefreshToken.findByPk(current.replaced_by, {
+          lock: transaction.LOCK.UPDATE,
+          transaction
+        });
+        if (successor && successor.isActive()) {
+          current = successor;
+        }
+      }
+      if (current.replaced_by) {
+        await this.revokeAllForUser(current.user_id, { transaction });
+        await transaction.commit();
+        console.warn(`Refresh token reuse detected for user ${current.user_id}; sessions revoked`);
+        throw invalidRefreshToken('Refresh token already used');
+      }
+      if (!current.isActive()) {
+        throw invalidRefreshToken('Refresh token expired');
+      }
+
+      const user = await User.findByPk(current.user_id, { transaction });
+      if (!user || user.status === 'suspended') {
+        throw invalidRefreshToken('User is not allowed to refresh');
+      }
+
+      const issued = await this.issue(user, { transaction });
+      await current.update({
+        revoked_at: new Date(),
+        replaced_by: issued.record.id
+      }, { transaction });
+      await transaction.commit();
+
+      return { user, token: issued.token, refreshToken: issued.refreshToken, expiresIn: issued.expiresIn };
+    } catch (error) {
+      if (!transaction.finished) {
+        await transaction.rollback();
+      }
+      throw error;
+    }
+  }
+
+  async revoke(refreshToken) {
+    if (typeof refreshToken !== 'string' || !refreshToken) {
+      return;
+    }
+    await RefreshToken.update(
+      { revoked_at: new Date() },
+      { where: { token_hash: hashToken(refreshToken), revoked_at: null } }
+    );
+  }
+
+  async revokeAllForUser(userId, { transaction } = {}) {
+    await RefreshToken.update(
+      { revoked_at: new Date() },
+      { where: { user_id: userId, revoked_at: null }, transaction }
+    );
+  }
+
+  // Expired and rotated tokens are only kept for reuse detection; drop them after their TTL
+  async deleteExpired() {
+    return RefreshToken.destroy({
+      where: { expires_at: { [Op.lt]: new Date() } }
+    });
+  }
+}
+
+export default TokenService.getInstance();
@@ -0,0 +1,163 @@
+import crypto from 'crypto';
+import { jest } from '@jest/globals';
+
+// In-memory stand-ins for the models, enough for what TokenService queries
+const rows = [];
+let nextId = 1;
+const users = new Map();
+
+class FakeRefreshToken {
+  constructor(values) {
+    Object.assign(this, { id: `rt-${nextId++}`, revoked_at: null, replaced_by: null }, values);
+  }
+
+  isActive() {
+    return !this.revoked_at && this.expires_at > new Date();
+  }
+
+  async update(values) {
+    Object.assign(this, values);
+    return this;
+  }
+
+  static async create(values) {
+    const row = new FakeRefreshToken(values);
+    rows.push(row);
+    return row;
+  }
+
+  static async findOne({ where }) {
+    return rows.find(row => row.token_hash === where.token_hash) || null;
+  }
+
+  static async findByPk(id) {
+    return rows.find(row => row.id === id) || null;
+  }
+
+  static async update(values, { where }) {
+    const matching = rows.filter(row => Object.entries(where).every(([key, value]) => row[key] === value));
+    matching.forEach(row => Object.assign(row, values));
+    return [matching.length];
+  }
+}
+
+const FakeUser = {
+  findByPk: async (id) => users.get(id) || null
+};
+
+const fakeSequelize = {
+  transaction: async () => ({
+    LOCK: { UPDATE: 'UPDATE' },
+    finished: undefined,
+    async commit() { this.finished = 'commit'; },
+    async rollback() { this.finished = 'rollback'; }
+  })
+};
+
+jest.unstable_mockModule('../models/index.mjs', () => ({
+  User: FakeUser,
+  RefreshToken: FakeRefreshToken
+}));
+jest.unstable_mockModule('../config/database.mjs', () => ({ default: fakeSequelize }));
+
+const { default: tokenService } = await import('./tokens.mjs');
+
+const hashToken = (token) => crypto.createHash('sha256').update(token).digest('hex');
+const rowFor = (refreshToken) => rows.find(row => row.token_hash === hashToken(refreshToken));
+
+const addUser = (id, status = 'active') => {
+  let issued = 0;
+  const user = { id, status, generateAuthToken: () => `access-${id}-${++issued}` };
+  users.set(id, user);
+  return user;
+};
+
+describe('TokenService.rotate', () => {
+  let user;
+  let realNow;
+
+  beforeEach(() => {
+    rows.length = 0;
+    users.clear();
+    user = addUser('user-1');
+    realNow = Date.now;
+  });
+
+  afterEach(() => {
+    Date.now = realNow;
+  });
+
+  const advance = (ms) => {
+    const now = Date.now();
+    Date.now = () => now + ms;
+  };
+
+  test('exchanges a refresh token for a new pair and retires the old one', async () => {
+    const first = await tokenService.issue(user);
+    const rotated = await tokenService.rotate(first.refreshToken);
+
+    expect(rotated.user).toBe(user);
+    expect(rotated.token).toBe('access-user-1-2');
+    expect(rotated.refreshToken).not.toBe(first.refreshToken);
+    expect(rowFor(first.refreshToken).replaced_by).toBe(rowFor(rotated.refreshToken).id);
+    expect(rowFor(rotated.refreshToken).isActive()).toBe(true);
+  });
+
+  test('rejects unknown, missing and expired tokens', async () => {
+    await expect(tokenService.rotate('not-a-token')).rejects.toMatchObject({ status: 401, code: 'ERR_INVALID_REFRESH_TOKEN' });
+    await expect(tokenService.rotate('')).rejects.toMatchObject({ status: 401 });
+
+    const issued = await tokenService.issue(user);
+    rowFor(issued.refreshToken).expires_at = new Date(Date.now() - 1000);
+    await expect(tokenService.rotate(issued.refreshToken)).rejects.toMatchObject({ message: 'Refresh token expired' });
+  });
+
+  test('rejects tokens of suspended users', async () => {
+    const issued = await tokenService.issue(user);
+    user.status = 'suspended';
+    await expect(tokenService.rotate(issued.refreshToken)).rejects.toMatchObject({ status: 401 });
+  });
+
+  test('treats an immediate replay as a retry and rotates the successor instead', async () => {
+    const first = await tokenService.issue(user);
+    const lost = await tokenService.rotate(first.refreshToken);
+    advance(5 * 1000);
+
+    const retried = await tokenService.rotate(first.refreshToken);
+
+    expect(rowFor(retried.refreshToken).isActive()).toBe(true);
+    // The pair whose response never arrived is retired in favour of the retry's
+    expect(rowFor(lost.refreshToken).replaced_by).toBe(rowFor(retried.refreshToken).id);
+    expect(rows.filter(row => row.isActive()).length).toBe(1);
+  });
+
+  test('revokes every session when a used token comes back after the grace window', async () => {
+    const other = await tokenService.issue(user);
+    const first = await tokenService.issue(user);
+    const second = await tokenService.rotate(first.refreshToken);
+    advance(60 * 1000);
+
+    await expect(tokenService.rotate(first.refreshToken)).rejects.toMatchObject({ message: 'Refresh token already used' });
+    expect(rowFor(second.refreshToken).isActive()).toBe(false);
+    expect(rowFor(other.refreshToken).isActive()).toBe(false);
+  });
+
+  test('revokes every session when the successor was already used', async () => {
+    const first = await tokenService.issue(user);
+    const second = await tokenService.rotate(first.refreshToken);
+    const third = await tokenService.rotate(second.refreshToken);
+
+    await expect(tokenService.rotate(first.refreshToken)).rejects.toMatchObject({ message: 'Refresh token already used' });
+    expect(rowFor(third.refreshToken).isActive()).toBe(false);
+  });
+
+  test('leaves other users alone when revoking after reuse', async () => {
+    const bystander = await tokenService.issue(addUser('user-2'));
+    const first = await tokenService.issue(user);
+    await tokenService.rotate(first.refreshToken);
+    advance(60 * 1000);
+
+    await expect(tokenService.rotate(first.refreshToken)).rejects.toMatchObject({ status: 401 });
+    expect(rowFor(bystander.refreshToken).isActive()).toBe(true);
+  });
+});
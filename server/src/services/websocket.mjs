@@ -1,4 +1,3 @@
-import { Server } from 'socket.io';
 import jwt from 'jsonwebtoken';
 
 class WebSocketService {
@@ -7,7 +6,17 @@ class WebSocketService {
         this.connectedClients = new Map();
     }
 
-    initialize(httpServer) {
+    // socket.io is loaded on demand so the API still starts if its install is broken;
+    // emits are no-ops until initialization succeeds
+    async initialize(httpServer) {
+        let Server;
+        try {
+            ({ Server } = await import('socket.io'));
+        } catch (error) {
+            console.warn('Real-time updates disabled, socket.io is not available:', error.message);
+            return;
+        }
+
         this.io = new Server(httpServer, {
             cors: {
                 origin: process.env.NODE_ENV === 'development'
@@ -32,11 +41,13 @@ class WebSocketService {
                 }
 
                 const decoded = jwt.verify(token, process.env.JWT_SECRET);
-                socket.userId = decoded.userId;
+                // Auth tokens carry the user id as `id`
+                const userId = decoded.id ?? decoded.userId;
+                socket.userId = userId;
                 socket.userRole = decoded.role;
                 
                 this.connectedClients.set(socket.id, {
-                    userId: decoded.userId,
+                    userId,
                     role: decoded.role
                 });
                 
@@ -76,6 +87,24 @@ class WebSocketService {
         });
     }
 
+    // Emit to every connected device of the given users
+    emitToUsers(userIds, event, data) {
+        if (!this.io) return;
+
+        const targets = new Set(userIds.filter(Boolean).map(String));
+        for (const [socketId, client] of this.connectedClients) {
+            if (targets.has(String(client.userId))) {
+                this.io.to(socketId).emit(event, data);
+            }
+        }
+    }
+
+    // Tells a user's devices that their cached profile is out of date. Carries the
+    // fields clients derive permissions from, so they can update without a refetch.
+    emitProfileUpdate(userId, { role, storeId = null }) {
+        this.emitToUsers([userId], 'profile_update', { role, storeId });
+    }
+
     // Broadcast to all authenticated clients
     broadcast(event, data, role = null) {
         if (!this.io) return;
@@ -0,0 +1,142 @@
+// Minimal CBOR (RFC 8949) encoder for API responses.
+// It follows JSON.stringify semantics so both formats carry the same data: toJSON()
+// is honoured (Sequelize instances, Dates), undefined object members are dropped, and
+// non-finite numbers become null. Integers use the shortest encoding and other numbers
+// become float64.
+
+const MAJOR_UNSIGNED = 0;
+const MAJOR_NEGATIVE = 1;
+const MAJOR_TEXT = 3;
+const MAJOR_ARRAY = 4;
+const MAJOR_MAP = 5;
+
+const SIMPLE_FALSE = 0xf4;
+const SIMPLE_TRUE = 0xf5;
+const SIMPLE_NULL = 0xf6;
+const FLOAT64 = 0xfb;
+
+class CborWriter {
+  constructor(initialSize = 8192) {
+    this.buffer = Buffer.allocUnsafe(initialSize);
+    this.offset = 0;
+  }
+
+  ensure(bytes) {
+    if (this.offset + bytes <= this.buffer.length) return;
+    const next = Buffer.allocUnsafe(Math.max(this.buffer.length * 2, this.offset + bytes));
+    this.buffer.copy(next, 0, 0, this.offset);
+    this.buffer = next;
+  }
+
+  writeByte(value) {
+    this.ensure(1);
+    this.buffer[this.offset++] = value;
+  }
+
+  writeHead(major, length) {
+    const prefix = major << 5;
+    if (length < 24) {
+      this.writeByte(prefix | length);
+    } else if (length < 0x100) {
+      this.ensure(2);
+      this.buffer[this.offset++] = prefix | 24;
+      this.buffer[this.offset++] = length;
+    } else if (length < 0x10000) {
+      this.ensure(3);
+      this.buffer[this.offset++] = prefix | 25;
+      this.buffer.writeUInt16BE(length, this.offset);
+      this.offset += 2;
+    } else if (length < 0x100000000) {
+      this.ensure(5);
+      this.buffer[this.offset++] = prefix | 26;
+      this.buffer.writeUInt32BE(length, this.offset);
+      this.offset += 4;
+    } else {
+      this.ensure(9);
+      this.buffer[this.offset++] = prefix | 27;
+      this.buffer.writeBigUInt64BE(BigInt(length), this.offset);
+      this.offset += 8;
+    }
+  }
+
+  writeNumber(value) {
+    if (!Number.isFinite(value)) {
+      this.writeByte(SIMPLE_NULL);
+    } else if (Number.isSafeInteger(value)) {
+      if (value >= 0) {
+        this.writeHead(MAJOR_UNSIGNED, value);
+      } else {
+        this.writeHead(MAJOR_NEGATIVE, -1 - value);
+      }
+    } else {
+      this.ensure(9);
+      this.buffer[this.offset++] = FLOAT64;
+      this.buffer.writeDoubleBE(value, this.offset);
+      this.offset += 8;
+    }
+  }
+
+  writeString(value) {
+    const length = Buffer.byteLength(value, 'utf8');
+    this.writeHead(MAJOR_TEXT, length);
+    this.ensure(length);
+    this.offset += this.buffer.write(value, this.offset, length, 'utf8');
+  }
+
+  writeValue(value) {
+    if (value === null || value === undefined) {
+      this.writeByte(SIMPLE_NULL);
+      return;
+    }
+    if (typeof value.toJSON === 'function') {
+      value = value.toJSON();
+      if (value === null || value === undefined) {
+        this.writeByte(SIMPLE_NULL);
+        return;
+      }
+    }
+
+    switch (typeof value) {
+      case 'string':
+        this.writeString(value);
+        return;
+      case 'number':
+        this.writeNumber(value);
+        return;
+      case 'boolean':
+        this.writeByte(value ? SIMPLE_TRUE : SIMPLE_FALSE);
+        return;
+      case 'bigint':
+        this.writeString(value.toString());
+        return;
+      default:
+        break;
+    }
+
+    if (Array.isArray(value)) {
+      this.writeHead(MAJOR_ARRAY, value.length);
+      for (const item of value) {
+        this.writeValue(item === undefined || typeof item === 'function' ? null : item);
+      }
+      return;
+    }
+
+    const entries = Object.entries(value)
+      .filter(([, member]) => member !== undefined && typeof member !== 'function');
+    this.writeHead(MAJOR_MAP, entries.length);
+    for (const [key, member] of entries) {
+      this.writeString(key);
+      this.writeValue(member);
+    }
+  }
+
+  toBuffer() {
+    return this.buffer.subarray(0, this.offset);
+  }
+}
+
+export const encodeCbor = (value) => {
+  const writer = new CborWriter();
+  writer.writeValue(value);
+  return writer.toBuffer();
+};
@@ -0,0 +1,108 @@
+import { encodeCbor } from './cbor.mjs';
+
+// Just enough of a decoder to read back what encodeCbor writes
+const decodeCbor = (buffer) => {
+  let offset = 0;
+
+  const readLength = (info) => {
+    if (info < 24) return info;
+    if (info === 24) return buffer[offset++];
+    if (info === 25) { const value = buffer.readUInt16BE(offset); offset += 2; return value; }
+    if (info === 26) { const value = buffer.readUInt32BE(offset); offset += 4; return value; }
+    if (info === 27) { const value = Number(buffer.readBigUInt64BE(offset)); offset += 8; return value; }
+    throw new Error(`Unexpected length encoding ${info}`);
+  };
+
+  const readValue = () => {
+    const initial = buffer[offset++];
+    const major = initial >> 5;
+    const info = initial & 0x1f;
+    switch (major) {
+      case 0: return readLength(info);
+      case 1: return -1 - readLength(info);
+      case 3: {
+        const length = readLength(info);
+        const value = buffer.toString('utf8', offset, offset + length);
+        offset += length;
+        return value;
+      }
+      case 4: {
+        const length = readLength(info);
+        return Array.from({ length }, () => readValue());
+      }
+      case 5: {
+        const length = readLength(info);
+        const object = {};
+        for (let i = 0; i < length; i++) {
+          const key = readValue();
+          object[key] = readValue();
+        }
+        return object;
+      }
+      case 7:
+        if (initial === 0xf4) return false;
+        if (initial === 0xf5) return true;
+        if (initial === 0xf6) return null;
+        if (initial === 0xfb) { const value = buffer.readDoubleBE(offset); offset += 8; return value; }
+        throw new Error(`Unexpected simple value ${initial}`);
+      default:
+        throw new Error(`Unexpected major type ${major}`);
+    }
+  };
+
+  const value = readValue();
+  if (offset !== buffer.length) throw new Error('Trailing bytes');
+  return value;
+};
+
+// CBOR must carry exactly what the JSON response would
+const roundTrip = (value) => decodeCbor(encodeCbor(value));
+const viaJson = (value) => JSON.parse(JSON.stringify(value));
+
+describe('encodeCbor', () => {
+  test('round-trips integers at every length boundary', () => {
+    const values = [0, 23, 24, 255, 256, 65535, 65536, 4294967295, 4294967296,
+      Number.MAX_SAFE_INTEGER, -1, -24, -25, -256, -257, -65537, Number.MIN_SAFE_INTEGER];
+    for (const value of values) {
+      expect(roundTrip(value)).toBe(value);
+    }
+  });
+
+  test('round-trips floats and turns non-finite numbers into null', () => {
+    expect(roundTrip(1.5)).toBe(1.5);
+    expect(roundTrip(-0.1)).toBe(-0.1);
+    expect(roundTrip(NaN)).toBeNull();
+    expect(roundTrip(Infinity)).toBeNull();
+  });
+
+  test('round-trips strings including multi-byte characters', () => {
+    for (const value of ['', 'a', 'x'.repeat(24), 'y'.repeat(300), 'ünïcødé ✓ 📦']) {
+      expect(roundTrip(value)).toBe(value);
+    }
+  });
+
+  test('matches JSON.stringify for nested documents', () => {
+    const order = {
+      id: '0b7d6f0e-8f0a-4d8c-9c39-2d1f9c1e4a10',
+      status: 'shipped',
+      version: 7,
+      total_fiat_amount: '199.98',
+      paid: true,
+      note: null,
+      skipped: undefined,
+      items: [{ quantity: 2, price: 99.99 }, undefined, () => 1],
+      createdAt: new Date('2024-05-01T12:00:00.000Z'),
+      store: { toJSON: () => ({ id: 's1', name: 'Store' }) }
+    };
+    expect(roundTrip(order)).toEqual(viaJson(order));
+  });
+
+  test('writes bigints as strings', () => {
+    expect(roundTrip({ tokenId: 12345678901234567890n })).toEqual({ tokenId: '12345678901234567890' });
+  });
+
+  test('grows its buffer for large payloads', () => {
+    const orders = Array.from({ length: 2000 }, (_, i) => ({ id: `order-${i}`, total: i * 1.25 }));
+    expect(roundTrip(orders)).toEqual(viaJson(orders));
+  });
+});
@@ -0,0 +1,96 @@
+// Helpers that shrink order payloads for mobile clients.
+//
+// `fields=a,b,c` keeps only the listed top-level attributes (id and version are
+// always kept, since clients reconcile updates by version).
+// `view=compact` lifts the nested merchantStore and orderPlacer objects into
+// `stores` and `users` dictionaries keyed by id, so each appears once per response
+// instead of once per order.
+
+export const parseFields = (fieldsParam, allowedFields) => {
+  if (typeof fieldsParam !== 'string' || !fieldsParam.trim()) {
+    return null;
+  }
+  const requested = fieldsParam
+    .split(',')
+    .map(field => field.trim())
+    .filter(field => allowedFields.includes(field));
+  return new Set(['id', 'version', ...requested]);
+};
+
+export const parseInclude = (includeParam, allowedIncludes) => {
+  if (typeof includeParam !== 'string' || !includeParam.trim()) {
+    return null;
+  }
+  const requested = includeParam
+    .split(',')
+    .map(include => include.trim())
+    .filter(include => allowedIncludes.includes(include));
+  return requested.length ? new Set(requested) : null;
+};
+
+export const projectFields = (plain, fields) => {
+  if (!fields) {
+    return plain;
+  }
+  return Object.fromEntries(Object.entries(plain).filter(([key]) => fields.has(key)));
+};
+
+export const toCompactOrders = (orders, fields = null) => {
+  const stores = {};
+  const users = {};
+
+  const includeStores = !fields || fields.has('merchantStore');
+  const includeUsers = !fields || fields.has('orderPlacer');
+
+  const compactOrders = orders.map(order => {
+    const { merchantStore, orderPlacer, ...rest } = order.toJSON();
+    if (merchantStore && includeStores) {
+      stores[merchantStore.id] = merchantStore;
+      rest.store_id = merchantStore.id;
+    }
+    if (orderPlacer && includeUsers) {
+      users[orderPlacer.id] = orderPlacer;
+      rest.user_id = orderPlacer.id;
+    }
+    return projectFields(rest, fields && new Set([...fields, 'store_id', 'user_id']));
+  });
+
+  return { orders: compactOrders, stores, users };
+};
+
+// Composite body for GET /api/orders/:id?include=...
+// The order is nested under `order`; each requested include becomes a sibling, so a
+// details screen gets everything it needs in one round trip.
+export const toOrderDetails = (order, { include, fields, user }) => {
+  const {
+    statusHistory,
+    qr_status: qrStatus,
+    qr_verification_count: verificationCount,
+    qr_last_verified_at: lastVerifiedAt,
+    ...orderJson
+  } = order.toJSON();
+
+  const details = { order: projectFields(orderJson, fields) };
+
+  if (include.has('history')) {
+    details.history = (statusHistory || [])
+      .slice()
+      .sort((a, b) => new Date(a.created_at) - new Date(b.created_at))
+      .map(entry => ({ status: entry.to_status, time: entry.created_at, notes: entry.notes }));
+  }
+
+  if (include.has('qrStatus')) {
+    details.qrStatus = { status: qrStatus, verificationCount, lastVerifiedAt };
+  }
+
+  if (include.has('viewerRole')) {
+    const ownsStore = Boolean(user.ownedStore) && user.ownedStore.id === order.store_id;
+    details.viewer = {
+      role: user.role,
+      isSeller: user.role === 'seller' && Boolean(user.ownedStore),
+      canUpdateStatus: user.role === 'admin' || (user.role === 'seller' && ownsStore)
+    };
+  }
+
+  return details;
+};